@@ -0,0 +1,221 @@
+package com.example.todoapp.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Cold-start benchmark of the packaged application in each startup mode.
+ *
+ * Starts the application as a child process, polls {@code GET /} until it answers 200,
+ * and records the time from process start to that first successful response and the
+ * resident set size of the process at that moment. Every mode is started
+ * {@code startup.runs} times; each run writes its console output to
+ * {@code target/startup-reports/<mode>-<run>.log}, and the summary is printed and written
+ * to {@code target/startup-reports/startup-<timestamp>.txt}.
+ *
+ * Modes, each skipped when its artifact has not been built:
+ * <ul>
+ *   <li>{@code jvm}: the executable jar ({@code mvn package});</li>
+ *   <li>{@code aot}: the same jar with {@code -Dspring.aot.enabled=true} ({@code mvn -Paot package});</li>
+ *   <li>{@code cds}: the unpacked jar with its AppCDS archive ({@code mvn -Pcds package});</li>
+ *   <li>{@code native}: the native executable ({@code mvn -Pnative native:compile}).</li>
+ * </ul>
+ * The application connects to the database it is configured for (DB_URL, DB_USERNAME and
+ * DB_PASSWORD, or .env); arguments after the class name are passed on to it.
+ *
+ * Run with: {@code mvn -Pjmh test-compile exec:exec@startup-benchmark -Dstartup.modes=jvm,cds}
+ */
+public final class StartupBenchmark {
+
+    /**
+     * How long a single start may take before the run counts as failed.
+     */
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+
+    /**
+     * Pause between two polls of {@code GET /}.
+     */
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private final Path target = Path.of(System.getProperty("startup.target", "target"));
+    private final String finalName = System.getProperty("startup.final-name", "todoapp-0.0.1-SNAPSHOT");
+    private final String artifactId = System.getProperty("startup.artifact-id", "todoapp");
+    private final Path reports = target.resolve("startup-reports");
+    private final List<String> appArgs;
+
+    private StartupBenchmark(List<String> appArgs) {
+        this.appArgs = appArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = Arrays.stream(System.getProperty("startup.modes", "jvm,aot,cds,native").split(","))
+                .map(String::trim)
+                .filter(mode -> !mode.isEmpty())
+                .toList();
+        int runs = Integer.getInteger("startup.runs", 5);
+        new StartupBenchmark(List.of(args)).run(modes, runs);
+    }
+
+    private void run(List<String> modes, int runs) throws Exception {
+        Files.createDirectories(reports);
+        StringWriter summary = new StringWriter();
+        PrintWriter out = new PrintWriter(summary);
+        out.printf("%-8s %5s %10s %10s %10s %10s%n", "mode", "runs", "p50 (ms)", "min (ms)", "max (ms)", "RSS (MB)");
+        for (String mode : modes) {
+            List<String> command = command(mode);
+            if (command == null) {
+                out.printf("%-8s skipped, not built%n", mode);
+                continue;
+            }
+            List<Long> millis = new ArrayList<>();
+            List<Long> rssKilobytes = new ArrayList<>();
+            int failed = 0;
+            for (int run = 1; run <= runs; run++) {
+                long[] result = start(mode, run, command);
+                if (result == null) {
+                    failed++;
+                } else {
+                    millis.add(result[0]);
+                    rssKilobytes.add(result[1]);
+                }
+            }
+            if (millis.isEmpty()) {
+                out.printf("%-8s %5d failed, see %s-*.log%n", mode, runs, mode);
+                continue;
+            }
+            out.printf("%-8s %5d %10d %10d %10d %10.1f%s%n", mode, millis.size(), median(millis),
+                    millis.stream().mapToLong(Long::longValue).min().orElseThrow(),
+                    millis.stream().mapToLong(Long::longValue).max().orElseThrow(),
+                    median(rssKilobytes) / 1024.0,
+                    failed > 0 ? "  (" + failed + " failed)" : "");
+        }
+        out.flush();
+        System.out.print(summary);
+        Path file = reports.resolve("startup-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.writeString(file, summary.toString());
+        System.out.println("Summary written to " + file);
+    }
+
+    /**
+     * Returns the command starting the given mode, or null if its artifact is missing.
+     */
+    private List<String> command(String mode) throws IOException {
+        Path jar = target.resolve(finalName + ".jar");
+        Path cdsDirectory = target.resolve("cds");
+        Path executable = target.resolve(artifactId);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return switch (mode) {
+            case "jvm" -> Files.exists(jar) ? List.of(java, "-jar", jar.toAbsolutePath().toString()) : null;
+            case "aot" -> Files.exists(jar) && hasAotInitializer(jar)
+                    ? List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toAbsolutePath().toString())
+                    : null;
+            case "cds" -> Files.exists(cdsDirectory.resolve("application.jsa"))
+                    ? List.of(java, "-XX:SharedArchiveFile=application.jsa", "-jar", finalName + "-cds.jar")
+                    : null;
+            case "native" -> Files.isExecutable(executable) ? List.of(executable.toAbsolutePath().toString()) : null;
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + mode);
+        };
+    }
+
+    /**
+     * Starts the application once and returns the milliseconds until the first successful
+     * {@code GET /} and the resident set size in KB at that moment, or null if it did not start.
+     */
+    private long[] start(String mode, int run, List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        Path env = Path.of(".env").toAbsolutePath();
+        if (Files.exists(env)) {
+            arguments.add("--spring.config.import=optional:file:" + env + "[.properties]");
+        }
+        arguments.addAll(appArgs);
+
+        ProcessBuilder builder = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(reports.resolve(mode + "-" + run + ".log").toFile());
+        if (mode.equals("cds")) builder.directory(target.resolve("cds").toFile());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long started = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long deadline = started + START_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                try {
+                    if (HTTP.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                        return new long[] {millis, rssKilobytes(process.pid())};
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            return null;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Reads the resident set size of a process from /proc, or from ps where there is none.
+     */
+    private static long rssKilobytes(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return output.isEmpty() ? 0 : Long.parseLong(output);
+    }
+
+    private static boolean hasAotInitializer(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.stream().anyMatch(entry -> entry.getName().endsWith("__ApplicationContextInitializer.class"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.TodoService;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Application context and seeded to-do table shared by all benchmark iterations of a trial.
+ *
+ * The table is filled with {@code rows} items created over the past year, every second
+ * one completed a few hours after creation, and the daily rollup is rebuilt from them.
+ * By default an in-memory H2 database is used; with {@code -p database=postgresql} the
+ * connection is read from the BENCH_DB_URL, BENCH_DB_USERNAME and BENCH_DB_PASSWORD
+ * environment variables. The schema is cleaned and migrated again, so never point it
+ * at a database holding real data.
+ *
+ * H2 runs inside the benchmark JVM, so with H2 the {@code -prof gc} allocation figures
+ * include the database engine's own allocations.
+ */
+@State(Scope.Benchmark)
+public class TodoDataSet {
+
+    /**
+     * Number of seeded to-do items.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * Database to run against: "h2" or "postgresql".
+     */
+    @Param({"h2"})
+    public String database;
+
+    /**
+     * Whether the read cache is enabled; off by default so every call reaches the database.
+     */
+    @Param({"false"})
+    public boolean cache;
+
+    /**
+     * Number of rows inserted per JDBC batch while seeding.
+     */
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    /**
+     * Days over which the seeded items are spread.
+     */
+    private static final int SEED_DAYS = 365;
+
+    ConfigurableApplicationContext context;
+    TodoService todoService;
+    TodoRepository todoRepository;
+
+    /**
+     * Start of a 30-day analytics range starting at a non-midnight instant.
+     */
+    LocalDateTime rangeStart;
+
+    /**
+     * End of the 30-day analytics range.
+     */
+    LocalDateTime rangeEnd;
+
+    /**
+     * Starts the application without a web server and seeds the table between the baseline
+     * and the later migrations, so that V1_1 moves the ID sequence past the seeded IDs.
+     */
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments());
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+
+        Flyway flyway = context.getBean(Flyway.class);
+        flyway.clean();
+        Flyway.configure().configuration(flyway.getConfiguration()).target("1").load().migrate();
+        seed(context.getBean(JdbcTemplate.class));
+        flyway.migrate();
+        context.getBean(DailyStatsService.class).rebuild();
+
+        LocalDateTime now = LocalDateTime.now();
+        rangeStart = now.minusDays(60).withHour(9);
+        rangeEnd = rangeStart.plusDays(30).withHour(17);
+    }
+
+    /**
+     * Closes the application context.
+     */
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Returns the ID of a random seeded item.
+     *
+     * @return an ID between 1 and {@code rows}
+     */
+    public long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    /**
+     * Builds the overrides as command-line arguments, which take precedence over application.properties.
+     */
+    private String[] arguments() {
+        Map<String, Object> properties = new HashMap<>();
+        if ("postgresql".equals(database)) {
+            properties.put("spring.datasource.url", System.getenv("BENCH_DB_URL"));
+            properties.put("spring.datasource.username", System.getenv("BENCH_DB_USERNAME"));
+            properties.put("spring.datasource.password", System.getenv("BENCH_DB_PASSWORD"));
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        }
+        properties.put("spring.flyway.clean-disabled", "false");
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("todo.cache.enabled", cache);
+        // Keep the seeded rows in place and the instance alone while measuring
+        properties.put("todo.archive.enabled", "false");
+        properties.put("todo.change-log.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Inserts the data set with plain JDBC batches and explicit IDs 1..rows.
+     */
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        long spreadMinutes = SEED_DAYS * 24L * 60;
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int id = 1; id <= rows; id++) {
+            LocalDateTime createdAt = now.minusMinutes(spreadMinutes * id / rows);
+            boolean completed = id % 2 == 0;
+            batch.add(new Object[]{
+                    (long) id,
+                    "Task " + id,
+                    completed ? Todo.Status.COMPLETED.name() : Todo.Status.PENDING.name(),
+                    Timestamp.valueOf(createdAt),
+                    completed ? Timestamp.valueOf(earliest(createdAt.plusHours(id % 48), now)) : null
+            });
+            if (batch.size() == SEED_BATCH_SIZE || id == rows) {
+                jdbcTemplate.batchUpdate(
+                        "insert into todo (id, name, status, created_at, completed_at, version) values (?, ?, ?, ?, ?, 0)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoState;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.TodoSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the repository queries underneath the service hot paths.
+ *
+ * The direct range counts are the baseline the rollup-backed service counts are
+ * compared against, and the entity page is the baseline for the projection page
+ * the list view reads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TodoRepositoryBenchmark {
+
+    @Benchmark
+    public Optional<Todo> findById(TodoDataSet data) {
+        return data.todoRepository.findById(data.randomId());
+    }
+
+    @Benchmark
+    public Optional<TodoState> findStateById(TodoDataSet data) {
+        return data.todoRepository.findStateById(data.randomId());
+    }
+
+    @Benchmark
+    public long countByCreatedAtBetween(TodoDataSet data) {
+        return data.todoRepository.countByCreatedAtBetween(data.rangeStart, data.rangeEnd);
+    }
+
+    @Benchmark
+    public long countByCompletedAtBetween(TodoDataSet data) {
+        return data.todoRepository.countByCompletedAtBetween(data.rangeStart, data.rangeEnd);
+    }
+
+    @Benchmark
+    public Window<Todo> findPageAsEntities(TodoDataSet data) {
+        return data.todoRepository.findAllBy(ScrollPosition.keyset(), TodoSort.NEWEST.toSort(), Limit.of(50), Todo.class);
+    }
+
+    @Benchmark
+    public Window<TodoSummary> findPageAsSummaries(TodoDataSet data) {
+        return data.todoRepository.findAllBy(ScrollPosition.keyset(), TodoSort.NEWEST.toSort(), Limit.of(50),
+                TodoSummary.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.service.TodoPage;
+import com.example.todoapp.service.TodoSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the TodoService operations behind the web endpoints.
+ *
+ * Reports the average time per call; run with the default {@code -prof gc} to also
+ * see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TodoServiceBenchmark {
+
+    @Benchmark
+    public Todo createTodo(TodoDataSet data) {
+        return data.todoService.createTodo("Benchmark task");
+    }
+
+    @Benchmark
+    public Optional<Todo.Status> toggleStatus(TodoDataSet data) {
+        return data.todoService.toggleStatus(data.randomId());
+    }
+
+    /**
+     * Loads every row; expect this to scale linearly with the data set.
+     */
+    @Benchmark
+    @Warmup(iterations = 1, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public List<Todo> getAllTodos(TodoDataSet data) {
+        return data.todoService.getAllTodos();
+    }
+
+    @Benchmark
+    public TodoPage getTodoPage(TodoDataSet data) {
+        return data.todoService.getTodoPage(TodoSort.NEWEST, 50, null, null);
+    }
+
+    @Benchmark
+    public long countCreatedInRange(TodoDataSet data) {
+        return data.todoService.countCreatedInRange(data.rangeStart, data.rangeEnd);
+    }
+
+    @Benchmark
+    public long countCompletedInRange(TodoDataSet data) {
+        return data.todoService.countCompletedInRange(data.rangeStart, data.rangeEnd);
+    }
+}
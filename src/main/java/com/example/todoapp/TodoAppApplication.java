@@ -1,15 +1,19 @@
 package com.example.todoapp;
 
+import com.example.todoapp.config.TodoRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Entry point for the To-do Application.
  *
  * This class bootstraps the Spring Boot application using SpringApplication.
  * It enables component scanning, autoconfiguration, and Spring Boot support via @SpringBootApplication.
+ * The native-image hints that the AOT engine cannot infer are registered by {@link TodoRuntimeHints}.
  */
 @SpringBootApplication
+@ImportRuntimeHints(TodoRuntimeHints.class)
 public class TodoAppApplication {
     public static void main(String[] args) {
         SpringApplication.run(TodoAppApplication.class, args);
@@ -0,0 +1,152 @@
+package com.example.todoapp.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to the observed latency, in the manner of TCP congestion
+ * control (additive increase, multiplicative decrease).
+ *
+ * A request is admitted while fewer requests than the limit are in flight. When it
+ * finishes, its latency is compared with the baseline, a slow moving average of recent
+ * latencies: a request slower than {@code tolerance} times the baseline, or one that
+ * failed, signals queueing behind the limit and cuts the limit by the backoff ratio; a
+ * faster one raises it by one request per limit's worth of samples, but only while at
+ * least half the limit is in use, so an idle endpoint does not grow a limit it never
+ * tested. Requests that were already in flight when the limit was cut do not cut it again,
+ * so one burst of slow responses backs off once rather than once per response.
+ *
+ * The limit stays between the configured minimum and maximum.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    /**
+     * Number of samples over which the latency baseline moves.
+     */
+    static final int BASELINE_WINDOW = 100;
+
+    /**
+     * Lowest value the limit is cut to.
+     */
+    private final int minLimit;
+
+    /**
+     * Highest value the limit grows to.
+     */
+    private final int maxLimit;
+
+    /**
+     * Factor of the baseline above which a latency counts as congestion.
+     */
+    private final double tolerance;
+
+    /**
+     * Factor the limit is multiplied by on congestion.
+     */
+    private final double backoffRatio;
+
+    /**
+     * Number of admitted requests that have not completed yet.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Current limit; fractional so that the additive increase can be spread over a window.
+     */
+    private volatile double limit;
+
+    /**
+     * Moving average of the latency in nanoseconds, 0 until the first sample.
+     */
+    private double baselineNanos;
+
+    /**
+     * Whether the limit has been cut yet.
+     */
+    private boolean backedOff;
+
+    /**
+     * Time of the last backoff, in {@link System#nanoTime()} terms.
+     */
+    private long lastBackoffNanos;
+
+    /**
+     * @param initialLimit the limit before any latency is observed
+     * @param minLimit the lowest the limit may fall
+     * @param maxLimit the highest the limit may grow
+     * @param tolerance the factor of the baseline latency above which a request counts as congested, above 1
+     * @param backoffRatio the factor the limit is multiplied by on congestion, between 0 and 1
+     * @throws IllegalArgumentException if the bounds or factors are out of range
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: initial " + initialLimit
+                    + ", min " + minLimit + ", max " + maxLimit);
+        }
+        if (tolerance <= 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid tolerance " + tolerance + " or backoff ratio " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer requests than the limit are in flight.
+     * Every admitted request must be followed by exactly one {@link #release}.
+     *
+     * @return whether the request was admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Ends an admitted request and adjusts the limit to its latency.
+     *
+     * @param startNanos when the request was admitted, from {@link System#nanoTime()}
+     * @param endNanos when it finished, from {@link System#nanoTime()}
+     * @param failed whether it failed with a server error
+     */
+    public void release(long startNanos, long endNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long latencyNanos = Math.max(1, endNanos - startNanos);
+        synchronized (this) {
+            boolean congested = failed || (baselineNanos > 0 && latencyNanos > tolerance * baselineNanos);
+            if (!failed) {
+                baselineNanos = baselineNanos == 0
+                        ? latencyNanos
+                        : baselineNanos + (latencyNanos - baselineNanos) / BASELINE_WINDOW;
+            }
+            if (congested) {
+                if (!backedOff || startNanos - lastBackoffNanos >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    backedOff = true;
+                    lastBackoffNanos = endNanos;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    /**
+     * @return the number of requests currently admitted
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the current limit in whole requests
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+}
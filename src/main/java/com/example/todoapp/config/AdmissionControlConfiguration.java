@@ -0,0 +1,61 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.config.AdmissionControlFilter.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+
+/**
+ * Adaptive admission control on the write and analytics endpoints, enabled with
+ * {@code todo.admission.enabled}.
+ *
+ * Each endpoint class is configured under {@code todo.admission.write.*} and
+ * {@code todo.admission.analytics.*} with its initial, minimum and maximum limit; the
+ * tolerance and backoff ratio are shared.
+ *
+ * Servlet runtime only.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.admission.enabled", havingValue = "true")
+public class AdmissionControlConfiguration {
+
+    /**
+     * Runs after {@link PageCacheConfiguration}'s filter, so pages answered from the cache
+     * are never shed, and ahead of the connection-pool limiter, so a shed request does not
+     * wait for a permit first.
+     */
+    private static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    /**
+     * Registers the admission control filter with one adaptive limit for writes and one for analytics.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Value("${todo.admission.write.initial-limit:20}") int writeInitialLimit,
+            @Value("${todo.admission.write.min-limit:5}") int writeMinLimit,
+            @Value("${todo.admission.write.max-limit:200}") int writeMaxLimit,
+            @Value("${todo.admission.analytics.initial-limit:4}") int analyticsInitialLimit,
+            @Value("${todo.admission.analytics.min-limit:2}") int analyticsMinLimit,
+            @Value("${todo.admission.analytics.max-limit:20}") int analyticsMaxLimit,
+            @Value("${todo.admission.tolerance:2.0}") double tolerance,
+            @Value("${todo.admission.backoff-ratio:0.9}") double backoffRatio,
+            MeterRegistry meterRegistry) {
+        Map<EndpointClass, AdaptiveConcurrencyLimit> limits = Map.of(
+                EndpointClass.WRITE, new AdaptiveConcurrencyLimit(
+                        writeInitialLimit, writeMinLimit, writeMaxLimit, tolerance, backoffRatio),
+                EndpointClass.ANALYTICS, new AdaptiveConcurrencyLimit(
+                        analyticsInitialLimit, analyticsMinLimit, analyticsMaxLimit, tolerance, backoffRatio));
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limits, meterRegistry));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
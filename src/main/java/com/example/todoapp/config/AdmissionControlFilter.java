@@ -0,0 +1,116 @@
+package com.example.todoapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admission control for the expensive TodoController endpoints.
+ *
+ * Each endpoint class has its own {@link AdaptiveConcurrencyLimit}: the single-item writes
+ * ({@code POST /add}, {@code /toggle/{id}} and {@code /delete/{id}}) and the analytics
+ * pages ({@code GET /analytics} and {@code /analytics/histogram}). A request over its
+ * class's limit is answered at once with 503 Service Unavailable and a Retry-After header
+ * instead of queueing for a JDBC connection, so a burst of writes or analytics cannot
+ * starve the list page and the other requests, which are not limited.
+ *
+ * Publishes per class, tagged {@code endpoint}, the gauges {@code todo.admission.in.flight}
+ * and {@code todo.admission.limit} and the counter {@code todo.admission.rejected}.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * The endpoint classes with a budget of their own.
+     */
+    public enum EndpointClass {
+        WRITE, ANALYTICS
+    }
+
+    /**
+     * Adaptive concurrency limit of every endpoint class.
+     */
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits;
+
+    /**
+     * Number of requests shed, per endpoint class.
+     */
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+
+    /**
+     * @param limits the limit of every endpoint class
+     * @param meterRegistry the registry the admission metrics are published to
+     */
+    public AdmissionControlFilter(Map<EndpointClass, AdaptiveConcurrencyLimit> limits, MeterRegistry meterRegistry) {
+        this.limits = new EnumMap<>(limits);
+        this.limits.forEach((endpointClass, limit) -> {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("todo.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Admitted requests in flight")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder("todo.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            rejected.put(endpointClass, Counter.builder("todo.admission.rejected")
+                    .description("Requests rejected because their endpoint class was at its concurrency limit")
+                    .tag("endpoint", tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    /**
+     * Runs the request within its class's limit, or rejects it with 503 if the limit is reached.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimit limit = endpointClass == null ? null : limits.get(endpointClass);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "The server is busy, please try again.");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            limit.release(start, System.nanoTime(), failed);
+        }
+    }
+
+    /**
+     * Returns the endpoint class of a request, or null if it is not limited.
+     */
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (request.getMethod()) {
+            case "POST" -> path.equals("/add") || path.startsWith("/toggle/") || path.startsWith("/delete/")
+                    ? EndpointClass.WRITE
+                    : null;
+            case "GET" -> path.equals("/analytics") || path.equals("/analytics/histogram")
+                    ? EndpointClass.ANALYTICS
+                    : null;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Instrumentation of the request, service and database hot paths.
+ *
+ * Adds timers for {@code @Timed} service methods, per-request SQL statement counts,
+ * view render times and a connection-pool saturation gauge on top of the meters
+ * Spring Boot already binds (http.server.requests, hikaricp.*, and hibernate.* when
+ * Hibernate statistics are on). Everything is scraped from /actuator/prometheus.
+ *
+ * {@code todo.metrics.high-cardinality} (off by default) adds percentile histogram
+ * buckets to the request, service, render and query-count meters and keeps the
+ * "exception" tag. Off, each of these meters is a handful of series, cheap enough
+ * to leave on at full load.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Tag dropped from all meters unless high-cardinality metrics are on.
+     */
+    private static final String EXCEPTION_TAG = "exception";
+
+    /**
+     * Times every public method of classes annotated with {@code @Timed}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Counts the SQL statements Hibernate prepares on each request thread.
+     */
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    /**
+     * Registers the query counter as Hibernate's statement inspector.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    /**
+     * Adds the interceptor recording statement counts and view render times.
+     */
+    @Bean
+    public WebMvcConfigurer requestMetricsConfigurer(MeterRegistry meterRegistry, QueryCounter queryCounter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, queryCounter));
+            }
+        };
+    }
+
+    /**
+     * Publishes {@code todo.db.pool.saturation}, the share of pooled connections in use.
+     * With read replicas this is the primary's pool; the replica pools report hikaricp.* only.
+     */
+    @Bean
+    public MeterBinder connectionPoolSaturation(ObjectProvider<HikariDataSource> dataSource) {
+        return registry -> {
+            HikariDataSource hikari = dataSource.getIfUnique();
+            if (hikari == null) return;
+            Gauge.builder("todo.db.pool.saturation", hikari, ds -> {
+                        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+                        return pool == null ? 0 : (double) pool.getActiveConnections() / ds.getMaximumPoolSize();
+                    })
+                    .description("Active JDBC connections divided by the pool size")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Applies the high-cardinality switch.
+     */
+    @Bean
+    public MeterFilter cardinalityFilter(@Value("${todo.metrics.high-cardinality:false}") boolean highCardinality) {
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (highCardinality || id.getTag(EXCEPTION_TAG) == null) return id;
+                List<Tag> tags = id.getTags().stream().filter(tag -> !EXCEPTION_TAG.equals(tag.getKey())).toList();
+                return id.replaceTags(tags);
+            }
+
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                boolean hotPath = id.getName().startsWith("todo.") || id.getName().equals("http.server.requests");
+                boolean distribution = id.getType() == Meter.Type.TIMER || id.getType() == Meter.Type.DISTRIBUTION_SUMMARY;
+                if (!highCardinality || !hotPath || !distribution) return config;
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.service.TodoVersionStamp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Response caching of the rendered pages.
+ *
+ * Registers {@link RenderedPageFilter} for the paths in {@code todo.page-cache.paths},
+ * ordered ahead of the request limiter and Spring MVC so that 304 answers and kept pages
+ * need neither a connection-pool permit nor a database connection. Enabled with
+ * {@code todo.page-cache.enabled}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.page-cache.enabled", havingValue = "true")
+public class PageCacheConfiguration {
+
+    /**
+     * Runs right after the encoding and observation filters Spring Boot registers.
+     */
+    private static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Bean
+    public FilterRegistrationBean<RenderedPageFilter> renderedPageFilter(
+            TodoVersionStamp versionStamp,
+            @Value("${todo.page-cache.paths:/,/analytics}") Set<String> paths,
+            @Value("${todo.page-cache.max-memory:16MB}") DataSize maxMemory,
+            @Value("${todo.page-cache.ttl:10m}") Duration ttl,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minCompressSize,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RenderedPageFilter> registration = new FilterRegistrationBean<>(
+                new RenderedPageFilter(versionStamp, paths, maxMemory, ttl, minCompressSize, meterRegistry));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
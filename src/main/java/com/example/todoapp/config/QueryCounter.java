@@ -0,0 +1,42 @@
+package com.example.todoapp.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's statement inspector; {@link RequestMetricsInterceptor}
+ * resets the count when a request starts and records it when the request completes.
+ * Counting is a thread-local increment, cheap enough to leave on under full load.
+ * Statements run on other threads, such as the write pipeline's writer, are not
+ * attributed to a request.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Counts the statement and returns it unchanged.
+     */
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Resets the count of the current thread.
+     */
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Returns the number of statements prepared on the current thread since the last reset.
+     *
+     * @return the statement count
+     */
+    public int count() {
+        return COUNT.get()[0];
+    }
+}
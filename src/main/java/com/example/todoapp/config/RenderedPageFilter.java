@@ -0,0 +1,220 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.service.TodoVersionStamp;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP-level cache of the rendered list and analytics pages.
+ *
+ * Every response is tagged with a strong ETag built from the {@link TodoVersionStamp},
+ * the request's path and query and the current date (the analytics page's default range
+ * starts at a day boundary). The stamp is read before the page is built, so a tag never
+ * claims a newer table than the page shows. A conditional GET whose If-None-Match still
+ * matches is answered with 304 Not Modified before the request reaches Spring MVC, without
+ * touching the database or the template engine. Other requests are served from the
+ * rendered bytes kept for the current stamp, or rendered once and kept.
+ *
+ * Bodies of at least the minimum compression size are gzipped once when they are kept,
+ * and served compressed to clients that accept it, with their own ETag. Tomcat's
+ * {@code server.compression} never compresses a response carrying a strong ETag, so it
+ * stays in charge of all other responses only.
+ *
+ * Requests pinned to the primary by {@link ReplicaStickinessFilter} pass through untouched,
+ * as a kept page may predate the client's own change on another instance.
+ *
+ * The hit, miss and eviction statistics are published as the Micrometer cache metrics of
+ * the cache "todoRenderedPages", and 304 answers as the counter {@code todo.page.not.modified}.
+ */
+public class RenderedPageFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private static final Pattern ZERO_QUALITY = Pattern.compile("q=0(\\.0*)?");
+
+    /**
+     * A rendered page, kept uncompressed and, when large enough, gzipped.
+     */
+    private record RenderedPage(String contentType, byte[] body, byte[] gzipped) {
+
+        int weight() {
+            return body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+
+    private final TodoVersionStamp versionStamp;
+
+    /**
+     * Paths, relative to the context path, whose GET responses are cached.
+     */
+    private final Set<String> paths;
+
+    /**
+     * Smallest body that is kept gzipped as well.
+     */
+    private final long minCompressSize;
+
+    /**
+     * Rendered pages by stamp, date, path and query.
+     */
+    private final Cache<String, RenderedPage> pages;
+
+    /**
+     * Number of conditional requests answered with 304 Not Modified.
+     */
+    private final Counter notModified;
+
+    public RenderedPageFilter(TodoVersionStamp versionStamp, Set<String> paths, DataSize maxMemory,
+                              Duration ttl, DataSize minCompressSize, MeterRegistry meterRegistry) {
+        this.versionStamp = versionStamp;
+        this.paths = Set.copyOf(paths);
+        this.minCompressSize = minCompressSize.toBytes();
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String key, RenderedPage page) -> page.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "todoRenderedPages");
+        this.notModified = Counter.builder("todo.page.not.modified")
+                .description("Conditional page requests answered with 304 Not Modified")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Leaves everything but GET requests for the cached paths alone, as well as requests
+     * pinned to the primary.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !paths.contains(pathOf(request))
+                || ReplicaRoutingDataSource.isPinnedToPrimary();
+    }
+
+    /**
+     * Answers with 304, the kept page, or a freshly rendered page that is then kept.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String stamp = versionStamp.current();
+        String variant = LocalDate.now() + " " + pathOf(request) + "?" + (request.getQueryString() == null ? "" : request.getQueryString());
+        String etag = etag(stamp, variant, false);
+        String gzipEtag = etag(stamp, variant, true);
+
+        String matched = matchingEtag(request, etag, gzipEtag);
+        if (matched != null) {
+            setCacheHeaders(response, matched);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            notModified.increment();
+            return;
+        }
+
+        String key = stamp + " " + variant;
+        RenderedPage page = pages.getIfPresent(key);
+        if (page == null) {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK || request.isAsyncStarted()) {
+                wrapper.copyBodyToResponse();
+                return;
+            }
+            byte[] body = wrapper.getContentAsByteArray();
+            page = new RenderedPage(wrapper.getContentType(), body, body.length >= minCompressSize ? gzip(body) : null);
+            pages.put(key, page);
+        }
+
+        boolean compressed = page.gzipped() != null && acceptsGzip(request);
+        byte[] body = compressed ? page.gzipped() : page.body();
+        setCacheHeaders(response, compressed ? gzipEtag : etag);
+        if (compressed) response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        if (page.contentType() != null) response.setContentType(page.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Makes clients revalidate on every use and keeps caches from mixing the two encodings.
+     */
+    private static void setCacheHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Returns the ETag of the stamp and variant, in the gzipped or the uncompressed encoding.
+     */
+    private static String etag(String stamp, String variant, boolean gzipped) {
+        CRC32 crc = new CRC32();
+        crc.update(variant.getBytes(StandardCharsets.UTF_8));
+        return "\"" + stamp + "-" + Long.toHexString(crc.getValue()) + (gzipped ? "-" + GZIP : "") + "\"";
+    }
+
+    /**
+     * Returns the current ETag listed in If-None-Match, or null if none is. Uses the weak
+     * comparison RFC 9110 prescribes for If-None-Match, so tags weakened by a proxy still match.
+     */
+    private static String matchingEtag(HttpServletRequest request, String etag, String gzipEtag) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(etag)) return etag;
+                if (tag.equals(gzipEtag)) return gzipEtag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether Accept-Encoding lists gzip without ruling it out with q=0.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.split(";");
+                if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                    return parts.length < 2 || !ZERO_QUALITY.matcher(parts[1].trim()).matches();
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.todoapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-replica routing, enabled with {@code todo.replicas.enabled} and the JDBC URLs in
+ * {@code todo.replicas.urls}.
+ *
+ * Replaces Spring Boot's single pool with the primary pool (configured from spring.datasource.*
+ * as before), one pool per replica, and {@link ReplicaRoutingDataSource} behind a lazy
+ * connection proxy as the application's DataSource. Hibernate is switched to release its
+ * connection after every transaction: with open-in-view it would otherwise keep the first
+ * connection of a request, replica or not, for all later transactions of that request.
+ * {@link ReplicaStickinessFilter} runs ahead of the page cache, so a page rendered for a
+ * client that has just posted reads the primary.
+ *
+ * Servlet runtime only; the reactive runtime keeps a single primary.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaRoutingConfiguration {
+
+    /**
+     * Runs before {@link PageCacheConfiguration}'s filter.
+     */
+    private static final int STICKINESS_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 5;
+
+    /**
+     * Pool of the primary database, configured from spring.datasource.*.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Routes read-only transactions over one pool per URL in {@code todo.replicas.urls}.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${todo.replicas.urls}") List<String> urls,
+            @Value("${todo.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${todo.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${todo.replicas.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+            @Value("${todo.replicas.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${todo.replicas.max-lag:2s}") Duration maxLag,
+            @Value("${todo.replicas.health-check-interval:5s}") Duration healthCheckInterval,
+            MeterRegistry meterRegistry) {
+        List<Map.Entry<String, DataSource>> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(Map.entry(replica.getPoolName(), replica));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, healthCheckInterval,
+                connectTimeout, meterRegistry);
+    }
+
+    /**
+     * The application's DataSource: defers taking a connection until the first statement,
+     * when the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Lets every transaction take its own routed connection.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaStickinessFilter> replicaStickinessFilter(
+            @Value("${todo.replicas.max-lag:2s}") Duration maxLag) {
+        FilterRegistrationBean<ReplicaStickinessFilter> registration =
+                new FilterRegistrationBean<>(new ReplicaStickinessFilter(maxLag));
+        registration.setOrder(STICKINESS_FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.service.TodoChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource sending read-only transactions to read replicas and everything else to the primary.
+ *
+ * A connection is taken from a replica, in round-robin order, only when all of these hold:
+ * <ul>
+ *   <li>the current transaction is read-only ({@code @Transactional(readOnly = true)});</li>
+ *   <li>the thread is not pinned to the primary by {@link #pinToPrimary()};</li>
+ *   <li>no change has committed on this instance within the maximum replication lag, so the
+ *       read cache and page cache never fill up with rows from before that change;</li>
+ *   <li>the replica passed its last health check.</li>
+ * </ul>
+ * Everything else, including reads outside a transaction, Flyway and the startup jobs,
+ * uses the primary. A replica whose connection fails is taken out of rotation at once and
+ * the read falls back to the primary; a background check validates every replica each
+ * health-check interval and puts it back once it answers again.
+ *
+ * The routing decision needs the transaction's read-only flag, which Spring sets only after
+ * Hibernate has asked for a connection, so this DataSource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ *
+ * Publishes the gauge {@code todo.db.replicas.healthy} and the counter
+ * {@code todo.db.replica.failovers}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    /**
+     * Set while the current thread must read from the primary.
+     */
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    /**
+     * A replica and the outcome of its last check.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    /**
+     * Round-robin position over the replicas.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * How long after a committed change reads stay on the primary.
+     */
+    private final long maxLagNanos;
+
+    /**
+     * Time of the last change committed on this instance.
+     */
+    private volatile long lastChangeNanos;
+
+    /**
+     * Seconds a replica has to answer a health check.
+     */
+    private final int validationTimeoutSeconds;
+
+    private final ScheduledExecutorService healthChecks;
+
+    /**
+     * Number of replica connections that failed and were served by the primary instead.
+     */
+    private final Counter failovers;
+
+    /**
+     * @param primary the primary database, used for writes and as the fallback
+     * @param replicas the replicas by name, in round-robin order
+     * @param maxLag how far the replicas may trail the primary
+     * @param healthCheckInterval how often every replica is validated
+     * @param validationTimeout how long a replica has to answer a health check
+     * @param meterRegistry registry for the routing meters
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<Map.Entry<String, DataSource>> replicas, Duration maxLag,
+                                    Duration healthCheckInterval, Duration validationTimeout,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(entry -> new Replica(entry.getKey(), entry.getValue())).toList();
+        this.maxLagNanos = maxLag.toNanos();
+        this.lastChangeNanos = System.nanoTime() - maxLagNanos;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+
+        Gauge.builder("todo.db.replicas.healthy", this.replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .description("Read replicas that passed their last health check")
+                .register(meterRegistry);
+        this.failovers = Counter.builder("todo.db.replica.failovers")
+                .description("Replica connections that failed and were served by the primary")
+                .register(meterRegistry);
+
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends every read of the current thread to the primary until {@link #unpin()} is called.
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Lets the reads of the current thread use the replicas again.
+     */
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Returns whether the current thread reads from the primary, so that the caches in front
+     * of the database, which may hold rows from before the client's own change, are skipped.
+     */
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Keeps reads on the primary for the maximum lag once a change has committed. Changes
+     * made outside a transaction count immediately.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoChangeEvent event) {
+        lastChangeNanos = System.nanoTime();
+    }
+
+    /**
+     * Validates every replica, taking failed ones out of rotation and returning recovered ones.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is healthy again", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("Read replica {} failed its health check, reading from the primary", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Returns the replica the next connection should come from, or null for the primary.
+     */
+    private Replica selectReplica() {
+        if (replicas.isEmpty()
+                || isPinnedToPrimary()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || System.nanoTime() - lastChangeNanos < maxLagNanos) {
+            return null;
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.healthy) return replica;
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        failovers.increment();
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} is unavailable, reading from the primary: {}", replica.name, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the health checks and closes the replica pools.
+     */
+    @PreDestroy
+    public void close() {
+        healthChecks.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close read replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.todoapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes stickiness for the replica routing.
+ *
+ * A mutating request (anything but GET, HEAD and OPTIONS) reads from the primary throughout
+ * and answers with the cookie {@value #COOKIE}, holding the time until which the client's
+ * requests keep reading from the primary. The redirect after a form post and the page
+ * script's follow-up requests therefore show the client's own change, even when they reach
+ * an instance that has not seen it: while a request is pinned, the rendered-page cache and
+ * the read cache are bypassed too, since they may hold rows from before the change. Requests
+ * without a current cookie are routed and cached normally.
+ */
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    /**
+     * Cookie holding the epoch millisecond until which reads stay on the primary.
+     */
+    public static final String COOKIE = "todo-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    /**
+     * How long after a mutation the client keeps reading from the primary.
+     */
+    private final Duration window;
+
+    public ReplicaStickinessFilter(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Pins mutations and requests with a current cookie to the primary, and sets the cookie
+     * on mutations.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        boolean mutation = !SAFE_METHODS.contains(request.getMethod());
+        if (mutation) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()))
+                    .path("/")
+                    .maxAge(Duration.ofSeconds(Math.max(1, (window.toMillis() + 999) / 1000)))
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        } else if (!hasCurrentCookie(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private static boolean hasCurrentCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return false;
+        for (Cookie cookie : cookies) {
+            if (!COOKIE.equals(cookie.getName())) continue;
+            try {
+                return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
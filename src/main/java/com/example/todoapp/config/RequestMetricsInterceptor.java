@@ -0,0 +1,83 @@
+package com.example.todoapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-request SQL statement counts and Thymeleaf view render times.
+ *
+ * The statement count is published as the distribution summary {@code todo.http.queries}
+ * tagged with the matched URI pattern. The time between the handler returning a view and
+ * the request completing, which is the view rendering, is published as the timer
+ * {@code todo.view.render} tagged with the view name. Redirects are not timed.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    /**
+     * Request attribute holding the nano time at which the view started rendering.
+     */
+    private static final String RENDER_START = RequestMetricsInterceptor.class.getName() + ".renderStart";
+    /**
+     * Request attribute holding the name of the rendered view.
+     */
+    private static final String VIEW_NAME = RequestMetricsInterceptor.class.getName() + ".viewName";
+
+    /**
+     * Registry the meters are recorded in.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Statement counter of the current thread.
+     */
+    private final QueryCounter queryCounter;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry, QueryCounter queryCounter) {
+        this.meterRegistry = meterRegistry;
+        this.queryCounter = queryCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null
+                || modelAndView.getViewName().startsWith("redirect:")) {
+            return;
+        }
+        request.setAttribute(VIEW_NAME, modelAndView.getViewName());
+        request.setAttribute(RENDER_START, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(RENDER_START);
+        if (start != null) {
+            Timer.builder("todo.view.render")
+                    .description("Time to render a Thymeleaf view")
+                    .tag("view", (String) request.getAttribute(VIEW_NAME))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("todo.http.queries")
+                .description("SQL statements executed per request")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(queryCounter.count());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.todoapp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on the scheduled background jobs, currently the archiver of old completed items.
+ *
+ * Enabled with {@code todo.archive.enabled=true}; without it, archiving only happens
+ * when {@link com.example.todoapp.service.TodoArchiver#archive()} is called directly.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "todo.archive.enabled", havingValue = "true")
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,58 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.ArchivePage;
+import com.example.todoapp.service.CompletionLatency;
+import com.example.todoapp.service.TodoPage;
+import com.example.todoapp.service.TodoSearchResult;
+import com.example.todoapp.service.TodoSort;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image ({@code mvn -Pnative native:compile}).
+ *
+ * Covers what the AOT engine cannot find on its own:
+ * <ul>
+ *   <li>the Flyway scripts in the common and vendor subdirectories of {@code db/migration},
+ *       which the configured locations point to; Spring Boot only registers its default
+ *       location;</li>
+ *   <li>the Thymeleaf templates;</li>
+ *   <li>the types the templates' expressions read, including plain methods such as
+ *       {@code TodoSort.toParam()} and {@code TodoSearchResult.hasNext()};</li>
+ *   <li>{@link Todo}, which export and import serialize with the ObjectMapper outside any
+ *       controller signature. Jackson binds it through its no-argument constructor and
+ *       setters; the Lombok builder is plain generated code and needs no hint.</li>
+ * </ul>
+ */
+public class TodoRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * Types whose public methods the templates call.
+     */
+    static final List<Class<?>> VIEW_TYPES = List.of(TodoPage.class, TodoSummary.class, TodoSearchResult.class,
+            ArchivePage.class, ArchivedTodo.class, CompletionLatency.class, TodoSort.class, Todo.Status.class);
+
+    /**
+     * Types serialized by Jackson outside controller signatures.
+     */
+    static final List<Class<?>> JSON_TYPES = List.of(Todo.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources()
+                .registerPattern("db/migration/*/*.sql")
+                .registerPattern("templates/*.html");
+        for (Class<?> type : VIEW_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JSON_TYPES.toArray(Class<?>[]::new));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.todoapp.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many requests are handled at once to the size of the JDBC connection pool.
+ *
+ * With virtual threads ({@code spring.threads.virtual.enabled=true}) Tomcat no longer
+ * caps concurrency at its worker pool, so every request would reach the database and
+ * queue inside the connection pool until it times out. Because open-in-view keeps a
+ * connection for the whole request, this filter admits at most one request per pooled
+ * connection and lets the rest wait on a fair semaphore for up to
+ * {@code acquire-timeout-ms}; requests that still get no permit are answered with
+ * 503 Service Unavailable and a Retry-After header. Actuator endpoints are not limited.
+ *
+ * Enabled with {@code todo.request-limiter.enabled}, which follows the virtual-thread
+ * switch by default. Publishes the gauge {@code todo.request.limiter.waiting} and the
+ * counter {@code todo.request.limiter.rejected}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.request-limiter.enabled", havingValue = "true")
+public class ConnectionPoolLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * One permit per pooled JDBC connection.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum time a request waits for a permit.
+     */
+    private final long acquireTimeoutMillis;
+
+    /**
+     * Number of requests rejected because no permit became free in time.
+     */
+    private final Counter rejected;
+
+    public ConnectionPoolLimitFilter(
+            @Value("${todo.request-limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${todo.request-limiter.acquire-timeout-ms:1000}") long acquireTimeoutMillis,
+            MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+
+        Gauge.builder("todo.request.limiter.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a connection-pool permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("todo.request.limiter.rejected")
+                .description("Requests rejected because the connection pool stayed saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the request while holding a permit, or rejects it with 503 if none frees up in time.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "The server is busy, please try again.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Leaves the actuator endpoints unlimited so that health checks answer under load.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.BulkResult;
+import com.example.todoapp.service.TodoBulkService;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JSON REST API for to-do items.
+ *
+ * Next to reading single items, offers bulk operations on sets of items, each of which
+ * runs as one set-based statement and answers with the number of affected items:
+ *
+ * <pre>
+ * GET    /api/todos/{id}
+ * POST   /api/todos/delete      {"ids": [1, 2, 3]}
+ * POST   /api/todos/complete    {"ids": [1, 2, 3]}
+ * POST   /api/todos/reopen      {"ids": [1, 2, 3]}
+ * DELETE /api/todos/completed?before=2024-01-01T00:00:00
+ * </pre>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/todos")
+@RequiredArgsConstructor
+public class TodoApiController {
+
+    /**
+     * IDs of the items a bulk operation applies to.
+     *
+     * @param ids the IDs of the items
+     */
+    public record IdsRequest(List<Long> ids) {
+    }
+
+    /**
+     * The service layer for single items.
+     */
+    private final TodoService todoService;
+
+    /**
+     * The service running the bulk operations.
+     */
+    private final TodoBulkService todoBulkService;
+
+    /**
+     * Reads a single to-do item.
+     *
+     * @param id the ID of the to-do item
+     * @return the item
+     * @throws ResponseStatusException with 404 Not Found if the item does not exist
+     */
+    @GetMapping("/{id}")
+    public TodoSummary get(@PathVariable Long id) {
+        return todoService.getTodoSummary(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Deletes the given to-do items.
+     *
+     * @param request the IDs of the items to delete
+     * @return the number of deleted items
+     */
+    @PostMapping("/delete")
+    public BulkResult deleteAll(@RequestBody IdsRequest request) {
+        return todoBulkService.deleteAll(request.ids());
+    }
+
+    /**
+     * Completes the pending items among the given ones.
+     *
+     * @param request the IDs of the items to complete
+     * @return the number of items that were completed
+     */
+    @PostMapping("/complete")
+    public BulkResult completeAll(@RequestBody IdsRequest request) {
+        return todoBulkService.completeAll(request.ids());
+    }
+
+    /**
+     * Reopens the completed items among the given ones.
+     *
+     * @param request the IDs of the items to reopen
+     * @return the number of items that were reopened
+     */
+    @PostMapping("/reopen")
+    public BulkResult reopenAll(@RequestBody IdsRequest request) {
+        return todoBulkService.reopenAll(request.ids());
+    }
+
+    /**
+     * Deletes every item that was completed before the given time.
+     *
+     * @param before the first completion time to keep
+     * @return the number of deleted items
+     */
+    @DeleteMapping("/completed")
+    public BulkResult deleteCompletedBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        return todoBulkService.deleteCompletedBefore(before);
+    }
+
+    /**
+     * Reports an empty or oversized ID set as 400 Bad Request.
+     *
+     * @param e the rejection raised by the bulk service
+     * @return a short plain-text explanation
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidRequest(IllegalArgumentException e) {
+        return e.getMessage();
+    }
+}
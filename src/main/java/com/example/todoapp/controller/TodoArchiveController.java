@@ -0,0 +1,58 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.service.ArchivePage;
+import com.example.todoapp.service.TodoArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Web controller for browsing the archive of old completed to-do items.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class TodoArchiveController {
+
+    /**
+     * The service reading the archive.
+     */
+    private final TodoArchiveService todoArchiveService;
+
+    /**
+     * Number of items shown per page when the request does not specify a size.
+     */
+    @Value("${todo.page.size:50}")
+    private int defaultPageSize;
+
+    /**
+     * Upper bound for the requested page size.
+     */
+    @Value("${todo.page.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Displays one page of the archive, newest first. Pages are read with keyset
+     * pagination on the ID, so deep pages cost the same as the first one.
+     *
+     * @param after optional cursor to show the page after
+     * @param size  optional page size, capped at the configured maximum
+     * @param model the model to pass data to the Thymeleaf template
+     * @return the name of the view to render ("archive")
+     */
+    @GetMapping("/archive")
+    public String archive(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            Model model
+    ) {
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        ArchivePage page = todoArchiveService.getArchivePage(after, pageSize);
+        model.addAttribute("page", page);
+        return "archive";
+    }
+}
@@ -1,24 +1,58 @@
 package com.example.todoapp.controller;
 
 import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.HistogramBucket;
+import com.example.todoapp.service.HistogramGranularity;
+import com.example.todoapp.service.HistogramService;
+import com.example.todoapp.service.ImportResult;
+import com.example.todoapp.service.TodoExportService;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.service.TodoPage;
+import com.example.todoapp.service.TodoSearchResult;
+import com.example.todoapp.service.TodoSearchService;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import com.example.todoapp.service.TodoWritePipeline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Web controller for handling HTTP requests related to to-do items.
  *
- * Provides endpoints for displaying the task list, adding, deleting, toggling status,
- * and viewing basic analytics.
+ * Provides endpoints for displaying and searching the task list, adding, deleting,
+ * toggling status, and viewing basic analytics and a bucketed histogram.
+ *
+ * Mutations answer with a redirect to the main page. Requests carrying the
+ * {@code X-Todo-Fragment} header, as sent by the page script, instead receive only the
+ * changed row, and other open pages learn about the change from the {@code /events} stream.
+ *
+ * Servlet runtime only; the reactive runtime ({@code -Preactive}) serves the same pages
+ * from {@code ReactiveTodoController}.
  */
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class TodoController {
 
@@ -27,24 +61,140 @@ public class TodoController {
      */
     private final TodoService todoService;
 
+    /**
+     * The service responsible for streaming exports of all to-do items.
+     */
+    private final TodoExportService todoExportService;
+
+    /**
+     * The service responsible for bulk imports of to-do items.
+     */
+    private final TodoImportService todoImportService;
+
+    /**
+     * The service computing the bucketed analytics histogram.
+     */
+    private final HistogramService histogramService;
+
+    /**
+     * The service answering name searches.
+     */
+    private final TodoSearchService todoSearchService;
+
+    /**
+     * The group-commit write pipeline, present only when todo.write-pipeline.enabled=true.
+     * Without it, mutations go straight to the service.
+     */
+    private final Optional<TodoWritePipeline> writePipeline;
+
+    /**
+     * The live update stream, present only when todo.live-updates.enabled=true.
+     */
+    private final Optional<TodoLiveUpdates> liveUpdates;
+
     /**
      * Redirects the page to default index page after every action.
      */
     private static final String WEB_PAGE_REDIRECT = "redirect:/";
 
     /**
-     * Displays the main to-do list page.
+     * Request header asking a mutation to answer with the changed row instead of a redirect.
+     */
+    private static final String FRAGMENT_HEADER = "X-Todo-Fragment";
+
+    /**
+     * View rendering only the row of the item in the "todo" model attribute.
+     */
+    private static final String ROW_VIEW = TodoLiveUpdates.ROW_TEMPLATE + " :: " + TodoLiveUpdates.ROW_FRAGMENT;
+
+    /**
+     * Number of items shown per page when the request does not specify a size.
+     */
+    @Value("${todo.page.size:50}")
+    private int defaultPageSize;
+
+    /**
+     * Number of search results shown per page when the request does not specify a size.
+     */
+    @Value("${todo.search.page-size:20}")
+    private int searchPageSize;
+
+    /**
+     * Upper bound for the requested page size.
+     */
+    @Value("${todo.page.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Displays one page of the main to-do list.
+     * Pages are read with keyset pagination on (createdAt, id), so deep pages
+     * cost the same as the first one.
      *
-     * @param model the model to pass data to the Thymeleaf template
+     * @param sort   optional sort order: "newest" (default), "oldest" or "pending-first"
+     * @param size   optional page size, capped at the configured maximum
+     * @param after  optional cursor to show the page after
+     * @param before optional cursor to show the page before
+     * @param model  the model to pass data to the Thymeleaf template
      * @return the name of the view to render ("index")
      */
     @GetMapping("/")
-    public String index(Model model) {
-        List<Todo> todos = todoService.getAllTodos();
-        model.addAttribute("todos", todos);
+    public String index(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            Model model
+    ) {
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        TodoPage page;
+        try {
+            page = todoService.getTodoPage(TodoSort.fromParam(sort), pageSize, after, before);
+        } catch (IllegalArgumentException e) {
+            page = todoService.getTodoPage(TodoSort.fromParam(sort), pageSize, null, null);
+        }
+        model.addAttribute("todos", page.getTodos());
+        model.addAttribute("page", page);
+        model.addAttribute("liveUpdates", liveUpdates.isPresent());
+        return "index";
+    }
+
+    /**
+     * Displays one page of the to-do items whose name matches the search text, best match first.
+     * Every whitespace-separated term must match, as a prefix of a word or, from three
+     * characters on, anywhere in the name.
+     *
+     * @param q     the search text
+     * @param page  optional zero-based page number
+     * @param size  optional page size, capped at the configured maximum
+     * @param model the model to pass data to the Thymeleaf template
+     * @return the name of the view to render ("index")
+     */
+    @GetMapping("/search")
+    public String search(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            Model model
+    ) {
+        int pageSize = size == null || size < 1 ? searchPageSize : Math.min(size, maxPageSize);
+        TodoSearchResult result = todoSearchService.search(q, Math.max(page, 0), pageSize);
+        model.addAttribute("todos", result.getTodos());
+        model.addAttribute("search", result);
+        model.addAttribute("liveUpdates", liveUpdates.isPresent());
         return "index";
     }
 
+    /**
+     * Opens a Server-Sent Events stream of the changes committed from now on.
+     * Created and updated items arrive as their rendered row, deleted items as their ID.
+     *
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return liveUpdates.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)).subscribe();
+    }
+
     /**
      * Handles submission of a new to-do item via a POST request.
      *
@@ -53,10 +203,24 @@ public class TodoController {
      */
     @PostMapping("/add")
     public String addTodo(@RequestParam String name) {
-        todoService.createTodo(name);
+        create(name);
         return WEB_PAGE_REDIRECT;
     }
 
+    /**
+     * Handles submission of a new to-do item by the page script.
+     *
+     * @param name  the name of the new to-do item
+     * @param model the model to pass the new item to the row fragment
+     * @return the row fragment of the new item
+     */
+    @PostMapping(value = "/add", headers = FRAGMENT_HEADER)
+    public String addTodoRow(@RequestParam String name, Model model) {
+        Todo saved = create(name);
+        model.addAttribute("todo", new TodoSummary(saved.getId(), saved.getName(), saved.getStatus(), saved.getCreatedAt()));
+        return ROW_VIEW;
+    }
+
     /**
      * Handles deletion of a to-do item by its ID.
      *
@@ -65,10 +229,22 @@ public class TodoController {
      */
     @PostMapping("/delete/{id}")
     public String deleteTodo(@PathVariable Long id) {
-        todoService.deleteTodo(id);
+        delete(id);
         return WEB_PAGE_REDIRECT;
     }
 
+    /**
+     * Handles deletion of a to-do item by the page script.
+     *
+     * @param id the ID of the to-do item to delete
+     * @return an empty 204 No Content response
+     */
+    @PostMapping(value = "/delete/{id}", headers = FRAGMENT_HEADER)
+    public ResponseEntity<Void> deleteTodoRow(@PathVariable Long id) {
+        delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Handles toggling the completion status of a to-do item.
      * If the task is completed, it is marked as pending, and vice versa.
@@ -78,13 +254,59 @@ public class TodoController {
      */
     @PostMapping("/toggle/{id}")
     public String toggleTodo(@PathVariable Long id) {
-        todoService.toggleStatus(id);
+        toggle(id);
         return WEB_PAGE_REDIRECT;
     }
 
     /**
-     * Displays analytics for to-do item creation and completion counts within a specified date range.
-     * If no range is provided, defaults to the past 7 days.
+     * Handles toggling the completion status of a to-do item by the page script.
+     *
+     * @param id    the ID of the to-do item to toggle
+     * @param model the model to pass the updated item to the row fragment
+     * @return the row fragment of the updated item
+     * @throws ResponseStatusException with 404 Not Found if the item does not exist
+     */
+    @PostMapping(value = "/toggle/{id}", headers = FRAGMENT_HEADER)
+    public String toggleTodoRow(@PathVariable Long id, Model model) {
+        toggle(id);
+        model.addAttribute("todo", todoService.getTodoSummary(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+        return ROW_VIEW;
+    }
+
+    /**
+     * Creates an item through the write pipeline when it is enabled, otherwise directly.
+     */
+    private Todo create(String name) {
+        return writePipeline.isPresent() ? writePipeline.get().createTodo(name) : todoService.createTodo(name);
+    }
+
+    /**
+     * Deletes an item through the write pipeline when it is enabled, otherwise directly.
+     */
+    private void delete(Long id) {
+        if (writePipeline.isPresent()) {
+            writePipeline.get().deleteTodo(id);
+        } else {
+            todoService.deleteTodo(id);
+        }
+    }
+
+    /**
+     * Toggles an item through the write pipeline when it is enabled, otherwise directly.
+     */
+    private void toggle(Long id) {
+        if (writePipeline.isPresent()) {
+            writePipeline.get().toggleStatus(id);
+        } else {
+            todoService.toggleStatus(id);
+        }
+    }
+
+    /**
+     * Displays analytics for to-do item creation and completion counts within a specified date range,
+     * next to the number of items still pending and the time the items completed in the range took
+     * from creation to completion. If no range is provided, defaults to the past 7 days.
      *
      * @param start optional start date for analytics (default: 7 days ago)
      * @param end   optional end date for analytics (default: now)
@@ -102,9 +324,110 @@ public class TodoController {
 
         model.addAttribute("createdCount", todoService.countCreatedInRange(start, end));
         model.addAttribute("completedCount", todoService.countCompletedInRange(start, end));
+        model.addAttribute("pendingCount", todoService.countPending());
+        model.addAttribute("latency", todoService.getCompletionLatency(start, end));
         model.addAttribute("start", start);
         model.addAttribute("end", end);
 
         return "analytics";
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns created and completed counts per hour, day or week as JSON, for charting.
+     * Uses the same default range as the analytics page.
+     *
+     * @param start       optional start of the range (default: 7 days ago)
+     * @param end         optional end of the range, exclusive (default: now)
+     * @param granularity optional bucket width: "hour", "day" (default) or "week"
+     * @return the buckets in chronological order
+     */
+    @GetMapping("/analytics/histogram")
+    @ResponseBody
+    public List<HistogramBucket> histogram(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String granularity
+    ) {
+        if (start == null) start = LocalDateTime.now().minusDays(7).truncatedTo(ChronoUnit.DAYS);
+        if (end == null) end = LocalDateTime.now();
+        try {
+            return histogramService.histogram(HistogramGranularity.fromParam(granularity), start, end);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams every to-do item, archived ones included, as a file download in NDJSON or
+     * CSV format. Rows are written to the response as they are read, so memory use stays
+     * flat regardless of how many items exist.
+     *
+     * @param format   optional export format, "ndjson" (default) or "csv"
+     * @param response the HTTP response the export is written to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        TodoExportService.Format exportFormat = "csv".equalsIgnoreCase(format)
+                ? TodoExportService.Format.CSV
+                : TodoExportService.Format.NDJSON;
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"todos." + exportFormat.getExtension() + "\"");
+        todoExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Bulk-imports to-do items from the request body.
+     * A "text/csv" body is read as CSV with a header row; anything else as a JSON
+     * array or newline-delimited JSON. Rows are inserted in JDBC batches and
+     * committed in chunks.
+     *
+     * @param request the HTTP request whose body is streamed into the import
+     * @return the number of imported rows and the achieved throughput
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ImportResult importTodos(HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        TodoImportService.Format format = contentType != null && contentType.toLowerCase().contains("csv")
+                ? TodoImportService.Format.CSV
+                : TodoImportService.Format.JSON;
+        try {
+            return todoImportService.importTodos(format, request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reports a conflicting concurrent update of the same to-do item as 409 Conflict
+     * instead of letting one of the writes silently win.
+     *
+     * @param e the optimistic locking failure
+     * @return a short plain-text explanation
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public String handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return "The task was changed by another request, please reload and try again.";
+    }
+
+    /**
+     * Reports a saturated or unacknowledged write pipeline as 503 Service Unavailable.
+     *
+     * @param e the rejection raised by the write pipeline
+     * @return a short plain-text explanation
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public String handleRejectedWrite(RejectedExecutionException e) {
+        return "The server is busy, please try again.";
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.TodoChangeEvent;
+import com.example.todoapp.service.TodoService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Pushes committed changes of the to-do list to open pages over Server-Sent Events.
+ *
+ * Enabled with {@code todo.live-updates.enabled=true}. Every {@link TodoChangeEvent} is
+ * turned into one message after its transaction commits: created and updated items are
+ * sent as their rendered {@code todo-row} fragment of the index template, deleted items
+ * as their ID, and bulk imports as a request to reload. Each message is rendered once and
+ * written to every subscriber, so the cost of a change does not depend on the size of the
+ * list. Messages are written by a single sender thread, which keeps slow subscribers from
+ * delaying the committing request; when its queue is full, messages are dropped.
+ *
+ * Publishes the gauge {@code todo.live.subscribers} and the counters
+ * {@code todo.live.messages} and {@code todo.live.dropped}.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "todo.live-updates.enabled", havingValue = "true")
+public class TodoLiveUpdates {
+
+    /**
+     * Name of the template holding the row fragment.
+     */
+    static final String ROW_TEMPLATE = "index";
+
+    /**
+     * Name of the fragment rendering a single row of the list.
+     */
+    static final String ROW_FRAGMENT = "todo-row";
+
+    /**
+     * Maximum number of messages waiting for the sender thread.
+     */
+    private static final int SEND_QUEUE_CAPACITY = 10_000;
+
+    /**
+     * Line breaks with their surrounding indentation; an SSE data field must not contain line breaks.
+     */
+    private static final Pattern LINE_BREAKS = Pattern.compile("\\s*\\R\\s*");
+
+    /**
+     * Service reading the changed rows.
+     */
+    private final TodoService todoService;
+
+    /**
+     * Template engine rendering the row fragment.
+     */
+    private final ITemplateEngine templateEngine;
+
+    /**
+     * The open event streams.
+     */
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Maximum number of open event streams.
+     */
+    private final int maxSubscribers;
+
+    /**
+     * Time after which an event stream is closed; browsers reconnect on their own.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * Single thread writing messages to the subscribers.
+     */
+    private final ThreadPoolExecutor sender;
+
+    /**
+     * Number of messages written to subscribers.
+     */
+    private final Counter messages;
+
+    /**
+     * Number of changes dropped because the sender queue was full.
+     */
+    private final Counter dropped;
+
+    public TodoLiveUpdates(TodoService todoService,
+                           ITemplateEngine templateEngine,
+                           @Value("${todo.live-updates.max-subscribers:1000}") int maxSubscribers,
+                           @Value("${todo.live-updates.timeout:30m}") Duration timeout,
+                           MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.templateEngine = templateEngine;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(SEND_QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "todo-live-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("todo.live.subscribers", subscribers, Set::size)
+                .description("Number of open live update streams")
+                .register(meterRegistry);
+        this.messages = Counter.builder("todo.live.messages")
+                .description("Live update messages written to subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.live.dropped")
+                .description("Changes not pushed because the live update queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a new event stream that receives every change committed from now on.
+     *
+     * @return the event stream
+     * @throws RejectedExecutionException if the maximum number of streams is open
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many open live update streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    /**
+     * Queues a committed change for the subscribers. Changes made outside a
+     * transaction are queued immediately.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoChangeEvent event) {
+        if (subscribers.isEmpty()) return;
+        try {
+            sender.execute(() -> broadcast(event));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Live update queue is full, dropping {} of item {}", event.getKind(), event.getId());
+        }
+    }
+
+    /**
+     * Renders a single row of the list as it appears in the index template.
+     *
+     * @param todo the item to render
+     * @return the row markup on a single line
+     */
+    String renderRow(TodoSummary todo) {
+        Context context = new Context();
+        context.setVariable("todo", todo);
+        String html = templateEngine.process(ROW_TEMPLATE, Set.of(ROW_FRAGMENT), context);
+        return LINE_BREAKS.matcher(html.strip()).replaceAll(" ");
+    }
+
+    /**
+     * Writes one change to every subscriber, dropping the streams that fail.
+     */
+    private void broadcast(TodoChangeEvent event) {
+        Set<ResponseBodyEmitter.DataWithMediaType> message;
+        try {
+            message = toMessage(event).build();
+        } catch (RuntimeException e) {
+            log.warn("Could not render live update for {} of item {}", event.getKind(), event.getId(), e);
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(message);
+                messages.increment();
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    /**
+     * Builds the event stream message for a change. An item that is already gone when
+     * its creation or update is sent is announced as deleted.
+     */
+    private SseEmitter.SseEventBuilder toMessage(TodoChangeEvent event) {
+        return switch (event.getKind()) {
+            case CREATED, UPDATED -> todoService.getTodoSummary(event.getId())
+                    .map(todo -> SseEmitter.event().name(event.getKind() == TodoChangeEvent.Kind.CREATED
+                            ? "created" : "updated").data(renderRow(todo)))
+                    .orElseGet(() -> SseEmitter.event().name("deleted").data(event.getId()));
+            case DELETED -> SseEmitter.event().name("deleted").data(event.getId());
+            case RELOADED -> SseEmitter.event().name("reload").data("");
+        };
+    }
+
+    /**
+     * Closes the open event streams and stops the sender thread.
+     */
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+}
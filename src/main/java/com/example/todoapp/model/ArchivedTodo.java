@@ -0,0 +1,52 @@
+package com.example.todoapp.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed to-do item that was moved out of the primary table by the archiver.
+ *
+ * Mapped to the 'todo_archive' table, which keeps only what an old item still needs:
+ * its ID, name and timestamps. Archived items are never modified.
+ */
+@Entity
+@Table(name = "todo_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTodo {
+
+    /**
+     * The ID the item had in the primary table.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * The name or title of the to-do item.
+     */
+    private String name;
+
+    /**
+     * The timestamp when the to-do item was created.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * The timestamp when the to-do item was completed.
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * The timestamp when the item was moved to the archive.
+     */
+    private LocalDateTime archivedAt;
+}
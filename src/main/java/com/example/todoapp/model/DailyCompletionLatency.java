@@ -0,0 +1,36 @@
+package com.example.todoapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day sketch of completion latencies for to-do analytics.
+ *
+ * Each row holds the encoded LatencySketch of the time from creation to completion of the
+ * items completed on a given calendar day that are still completed. The rows are maintained
+ * incrementally next to the DailyTodoStats counters, so latency percentiles over whole days
+ * merge one small sketch per day instead of reading the items.
+ */
+@Entity
+@Table(name = "daily_completion_latency")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyCompletionLatency {
+
+    /**
+     * The calendar day of completion this row aggregates.
+     */
+    @Id
+    @Column(name = "stat_day")
+    private LocalDate day;
+
+    /**
+     * The encoded sketch of the latencies completed on this day.
+     */
+    @Column(nullable = false)
+    private byte[] sketch;
+}
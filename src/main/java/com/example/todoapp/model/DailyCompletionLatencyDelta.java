@@ -0,0 +1,43 @@
+package com.example.todoapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * A change to the completion latency sketch of one day, not yet folded into its
+ * DailyCompletionLatency row.
+ *
+ * Every transaction that completes, reopens or deletes items inserts one row per affected
+ * day holding the encoded LatencySketch of its change, which may have negative counts.
+ * Rows are never updated, so concurrent writers never wait for each other; reads merge
+ * them with the day sketches until a compaction folds them in and deletes them.
+ */
+@Entity
+@Table(name = "daily_completion_latency_delta")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyCompletionLatencyDelta {
+
+    /**
+     * Position of the change, assigned by the database on insert.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    /**
+     * The calendar day of completion the change applies to.
+     */
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate day;
+
+    /**
+     * The encoded sketch of the change.
+     */
+    @Column(nullable = false)
+    private byte[] sketch;
+}
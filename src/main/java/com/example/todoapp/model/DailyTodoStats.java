@@ -0,0 +1,39 @@
+package com.example.todoapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated per-day counters for to-do analytics.
+ *
+ * Each row holds how many existing to-do items were created and completed on a
+ * given calendar day. The rows are maintained incrementally by the service layer,
+ * so whole-day ranges can be answered without scanning the to-do table.
+ */
+@Entity
+@Table(name = "daily_todo_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyTodoStats {
+
+    /**
+     * The calendar day this row aggregates.
+     */
+    @Id
+    @Column(name = "stat_day")
+    private LocalDate day;
+
+    /**
+     * Number of to-do items created on this day that still exist.
+     */
+    private long createdCount;
+
+    /**
+     * Number of to-do items completed on this day that are still completed.
+     */
+    private long completedCount;
+}
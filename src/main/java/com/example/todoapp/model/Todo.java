@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
  *
  * This entity is mapped to the 'to-do' table in the database.
  * It tracks basic metadata about a task such as name, creation/completion timestamps, and its current status.
+ * The table and its indexes are created by the Flyway migrations in {@code db/migration}.
  */
 @Entity
 @Data
@@ -18,12 +19,19 @@ import java.time.LocalDateTime;
 @Builder
 public class Todo {
 
+    /**
+     * Number of IDs reserved per round trip to the ID sequence.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * The unique identifier for the to-do item.
-     * It is auto-generated using the database's identity strategy.
+     * It is generated from the pooled 'todo_seq' sequence, which hands out blocks of
+     * IDs so that Hibernate can batch inserts (IDENTITY would disable JDBC batching).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = Todo.ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -33,7 +41,9 @@ public class Todo {
 
     /**
      * The timestamp when the to-do item was created.
+     * Never null: it is part of the keyset the list is paginated on.
      */
+    @Column(nullable = false)
     private LocalDateTime createdAt;
 
     /**
@@ -49,6 +59,23 @@ public class Todo {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    /**
+     * Optimistic-lock version, incremented by every update.
+     * Concurrent updates based on a stale version fail instead of silently overwriting each other.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    /**
+     * Defaults the creation timestamp when an item is persisted without one,
+     * so that the (createdAt, id) keyset used for pagination is never null.
+     */
+    @PrePersist
+    void defaultCreatedAt() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+    }
+
     /**
      * Enumeration of possible statuses for a to-do item.
      */
@@ -0,0 +1,71 @@
+package com.example.todoapp.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry of the change log: one committed change to one to-do item, or to the whole list.
+ *
+ * Carries the timestamps the read cache needs to invalidate only the affected entries,
+ * so instances applying the change do not have to load the item.
+ */
+@Value
+@Builder
+public class TodoChange {
+
+    /**
+     * What happened to the item.
+     */
+    public enum Kind {
+        /** The item was created. */
+        CREATED,
+        /** The status of the item changed. */
+        UPDATED,
+        /** The item was deleted. */
+        DELETED,
+        /** The item, or the whole list if there is no item, changed in some other way. */
+        RELOADED
+    }
+
+    /**
+     * Position in the log, assigned by the database; null until appended.
+     */
+    Long seq;
+
+    /**
+     * ID of the instance that made the change.
+     */
+    String origin;
+
+    /**
+     * The kind of change.
+     */
+    Kind kind;
+
+    /**
+     * The ID of the changed item, or null if the whole list changed.
+     */
+    Long todoId;
+
+    /**
+     * Creation time of a created or deleted item.
+     */
+    LocalDateTime createdAt;
+
+    /**
+     * Completion time of a deleted item, or of a toggled item after the change.
+     */
+    LocalDateTime completedAt;
+
+    /**
+     * Completion time of a toggled item before the change.
+     */
+    LocalDateTime previousCompletedAt;
+
+    /**
+     * When the change was made.
+     */
+    LocalDateTime changedAt;
+}
@@ -0,0 +1,32 @@
+package com.example.todoapp.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the mutable state of a to-do item.
+ *
+ * Used by the status toggle to read the current state without hydrating
+ * and dirty-checking a full Todo entity.
+ */
+public interface TodoState {
+
+    /**
+     * @return the current status
+     */
+    Todo.Status getStatus();
+
+    /**
+     * @return the creation timestamp, used for the completion latency
+     */
+    LocalDateTime getCreatedAt();
+
+    /**
+     * @return the current completion timestamp, or null if pending
+     */
+    LocalDateTime getCompletedAt();
+
+    /**
+     * @return the current optimistic-lock version
+     */
+    long getVersion();
+}
@@ -0,0 +1,37 @@
+package com.example.todoapp.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a to-do item as shown in the list view.
+ *
+ * Selected directly into this immutable value by the list query, so rows never become
+ * managed entities: nothing is added to the persistence context, no dirty-checking
+ * snapshot is kept and nothing is flushed. Carries the (status, createdAt, id) key
+ * needed to continue the keyset pagination.
+ */
+@Value
+public class TodoSummary {
+
+    /**
+     * The unique identifier of the to-do item.
+     */
+    Long id;
+
+    /**
+     * The name or title of the to-do item.
+     */
+    String name;
+
+    /**
+     * The current status of the to-do item.
+     */
+    Todo.Status status;
+
+    /**
+     * The timestamp when the to-do item was created.
+     */
+    LocalDateTime createdAt;
+}
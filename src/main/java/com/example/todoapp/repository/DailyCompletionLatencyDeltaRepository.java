@@ -0,0 +1,50 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.DailyCompletionLatencyDelta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+/**
+ * Repository interface for the DailyCompletionLatencyDelta changes.
+ *
+ * Writers only insert; the compaction locks the oldest changes, skipping those another
+ * compaction holds, and deletes them once they are folded into the day sketches.
+ */
+@Repository
+public interface DailyCompletionLatencyDeltaRepository extends JpaRepository<DailyCompletionLatencyDelta, Long> {
+
+    /**
+     * Locks up to {@code limit} of the oldest changes, skipping changes that another
+     * transaction holds locked, so that concurrent compactions fold disjoint changes.
+     *
+     * @param limit the maximum number of changes to lock
+     * @return the locked changes, oldest first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select d from DailyCompletionLatencyDelta d order by d.seq")
+    List<DailyCompletionLatencyDelta> lockOldest(Limit limit);
+
+    /**
+     * Deletes the given changes in a single DELETE statement.
+     *
+     * @param seqs the positions of the changes
+     * @return the number of deleted changes
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from DailyCompletionLatencyDelta d where d.seq in :seqs")
+    int deleteAllBySeqIn(@Param("seqs") Collection<Long> seqs);
+}
@@ -0,0 +1,49 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.DailyCompletionLatency;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing the DailyCompletionLatency sketches.
+ *
+ * Sketches are rewritten under a row lock by the compaction only, which folds the
+ * {@link DailyCompletionLatencyDeltaRepository changes} appended by the writers into them.
+ * They are read for a range together with the pending changes, as plain bytes, so that
+ * analytics never need to load the rows as entities.
+ */
+@Repository
+public interface DailyCompletionLatencyRepository extends JpaRepository<DailyCompletionLatency, LocalDate> {
+
+    /**
+     * Reads the sketch of a day and locks its row for the rest of the transaction, so that
+     * two compactions folding changes of the same day queue up.
+     *
+     * @param day the day whose sketch should be changed
+     * @return the row, or empty if the day has no row yet
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from DailyCompletionLatency l where l.day = :day")
+    Optional<DailyCompletionLatency> lockByDay(@Param("day") LocalDate day);
+
+    /**
+     * Reads the encoded sketches of all days in the half-open range [from, to), followed by
+     * the changes to them not yet folded in. Both tables are read in one statement, so a
+     * compaction committing in between can neither hide nor double a change.
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return the encoded sketches and changes of the days that have any completions
+     */
+    @Query("select l.sketch from DailyCompletionLatency l where l.day >= :from and l.day < :to "
+            + "union all select d.sketch from DailyCompletionLatencyDelta d where d.day >= :from and d.day < :to")
+    List<byte[]> findSketchesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,125 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.service.LatencySketch;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Flyway migration V8: fills the daily rollup and the completion latency sketches of a
+ * database that has to-do items but no rollup yet, such as one of the original release.
+ *
+ * Runs with the other migrations, under Flyway's lock and before the web server accepts
+ * requests, so no concurrent change can be lost between reading the items and writing the
+ * rollup, and only one of several starting instances runs it. The counters are filled with
+ * one grouped INSERT ... SELECT over the to-do table and its archive; the sketches, which
+ * need {@link LatencySketch}'s encoding, are built from the completion timestamps in Java.
+ * Tables that already hold rows are left alone. Spring Boot hands every JavaMigration bean
+ * to Flyway.
+ */
+@Component
+public class DailyRollupBackfillMigration implements JavaMigration {
+
+    /**
+     * Sketches written per batch insert.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("8");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill daily rollup";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    /**
+     * Fills whichever of the counters and the sketches is still empty.
+     */
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (isEmpty(connection, "daily_todo_stats")) {
+            backfillCounters(connection);
+        }
+        if (isEmpty(connection, "daily_completion_latency") && isEmpty(connection, "daily_completion_latency_delta")) {
+            backfillSketches(connection);
+        }
+    }
+
+    /**
+     * Counts the creations and completions of both tiers per day in one statement.
+     */
+    private static void backfillCounters(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into daily_todo_stats (stat_day, created_count, completed_count) "
+                    + "select stat_day, sum(created), sum(completed) from ("
+                    + "select cast(created_at as date) as stat_day, 1 as created, 0 as completed from todo "
+                    + "where created_at is not null "
+                    + "union all select cast(completed_at as date), 0, 1 from todo where completed_at is not null "
+                    + "union all select cast(created_at as date), 1, 0 from todo_archive where created_at is not null "
+                    + "union all select cast(completed_at as date), 0, 1 from todo_archive"
+                    + ") events group by stat_day");
+        }
+    }
+
+    /**
+     * Builds one sketch per day of completion from the items of both tiers and inserts them.
+     */
+    private static void backfillSketches(Connection connection) throws SQLException {
+        Map<LocalDate, LatencySketch> sketches = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select created_at, completed_at from todo "
+                     + "where created_at is not null and completed_at is not null "
+                     + "union all select created_at, completed_at from todo_archive where created_at is not null")) {
+            while (rows.next()) {
+                LocalDateTime createdAt = rows.getObject(1, LocalDateTime.class);
+                LocalDateTime completedAt = rows.getObject(2, LocalDateTime.class);
+                sketches.computeIfAbsent(completedAt.toLocalDate(), day -> new LatencySketch())
+                        .add(createdAt, completedAt);
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into daily_completion_latency (stat_day, sketch) values (?, ?)")) {
+            int batched = 0;
+            for (Map.Entry<LocalDate, LatencySketch> day : sketches.entrySet()) {
+                insert.setDate(1, Date.valueOf(day.getKey()));
+                insert.setBytes(2, day.getValue().toBytes());
+                insert.addBatch();
+                if (++batched % BATCH_SIZE == 0) insert.executeBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static boolean isEmpty(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("select 1 from " + table + " limit 1")) {
+            return !rows.next();
+        }
+    }
+}
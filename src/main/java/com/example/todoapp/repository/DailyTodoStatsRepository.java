@@ -0,0 +1,65 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.DailyTodoStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for managing the DailyTodoStats rollup.
+ *
+ * Provides in-place counter adjustments and range sums so that analytics
+ * never need to load individual rows.
+ */
+@Repository
+public interface DailyTodoStatsRepository extends JpaRepository<DailyTodoStats, LocalDate> {
+
+    /**
+     * Adds the given deltas to the counters of a single day in one UPDATE statement.
+     *
+     * @param day the day whose counters should be adjusted
+     * @param created the delta to apply to the created counter
+     * @param completed the delta to apply to the completed counter
+     * @return the number of rows updated (0 if the day has no row yet)
+     */
+    @Modifying
+    @Query("update DailyTodoStats s set s.createdCount = s.createdCount + :created, "
+            + "s.completedCount = s.completedCount + :completed where s.day = :day")
+    int adjust(@Param("day") LocalDate day, @Param("created") long created, @Param("completed") long completed);
+
+    /**
+     * Sums the created counters for all days in the half-open range [from, to).
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return the total number of items created in the range
+     */
+    @Query("select coalesce(sum(s.createdCount), 0) from DailyTodoStats s where s.day >= :from and s.day < :to")
+    long sumCreated(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Sums the completed counters for all days in the half-open range [from, to).
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return the total number of items completed in the range
+     */
+    @Query("select coalesce(sum(s.completedCount), 0) from DailyTodoStats s where s.day >= :from and s.day < :to")
+    long sumCompleted(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Reads the counters of all days in the half-open range [from, to) as plain values,
+     * without loading the rollup rows as entities.
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return rows of [LocalDate day, Long created, Long completed] for the days that have any activity
+     */
+    @Query("select s.day, s.createdCount, s.completedCount from DailyTodoStats s where s.day >= :from and s.day < :to")
+    List<Object[]> findCountsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,85 @@
+package com.example.todoapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Refuses to start the application when the to-do table lacks an index the queries rely on.
+ *
+ * The schema is owned by the Flyway scripts in {@code db/migration}. Flyway rejects edited
+ * scripts and Hibernate ({@code ddl-auto=validate}) rejects missing tables and columns, but
+ * neither notices a dropped or renamed index, which only shows up later as sequential scans.
+ * This check runs right after the migrations and fails startup if one of the indexes created
+ * by them is missing.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class SchemaDriftCheck implements InitializingBean {
+
+    /**
+     * Table whose indexes are checked.
+     */
+    static final String TABLE = "todo";
+
+    /**
+     * Indexes the migrations create on the to-do table.
+     */
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_todo_created_at_id",
+            "idx_todo_status_created_at_id",
+            "idx_todo_completed_at",
+            "idx_todo_pending_created_at"
+    );
+
+    /**
+     * Data source whose schema is checked.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Compares the indexes of the to-do table with the required ones.
+     *
+     * @throws IllegalStateException if a required index is missing
+     */
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        Set<String> missing = new TreeSet<>(REQUIRED_INDEXES);
+        missing.removeAll(indexes());
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Schema drift: table '" + TABLE + "' is missing the indexes " + missing
+                    + ". Restore them with a new migration instead of changing the schema by hand.");
+        }
+    }
+
+    /**
+     * Reads the lower-cased names of all indexes on the to-do table.
+     */
+    private Set<String> indexes() throws SQLException {
+        Set<String> indexes = new TreeSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+            try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    table, false, true)) {
+                while (rows.next()) {
+                    String name = rows.getString("INDEX_NAME");
+                    if (name != null) indexes.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.ArchivedTodo;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Repository interface for the archive of old completed to-do items.
+ *
+ * Fills the archive from the primary table with a single INSERT ... SELECT, pages
+ * through it by ID, offers the same counts as {@link TodoRepository} so that
+ * analytics can add up both tiers, and the same set-based deletes so that bulk
+ * deletes reach archived items too.
+ */
+@Repository
+public interface TodoArchiveRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    /**
+     * Copies the given to-do items into the archive in one INSERT ... SELECT statement.
+     *
+     * @param ids the IDs of the items to copy
+     * @param archivedAt the archive timestamp to record
+     * @return the number of copied items
+     */
+    @Modifying
+    @Query("insert into ArchivedTodo (id, name, createdAt, completedAt, archivedAt) "
+            + "select t.id, t.name, t.createdAt, t.completedAt, cast(:archivedAt as LocalDateTime) from Todo t "
+            + "where t.id in :ids")
+    int copyFromTodos(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Locks the archived items among the given ones for the rest of the transaction.
+     *
+     * @param ids the IDs to look up
+     * @return the IDs of the archived items, in ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from ArchivedTodo a where a.id in :ids order by a.id")
+    List<Long> lockIdsIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks up to {@code limit} of the archived items completed before the given instant
+     * for the rest of the transaction.
+     *
+     * @param before the first completion timestamp to exclude
+     * @param limit the maximum number of items to lock
+     * @return the IDs of the locked items, in ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from ArchivedTodo a where a.completedAt < :before order by a.id")
+    List<Long> lockCompletedIdsBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * Deletes the given archived items in a single DELETE statement.
+     *
+     * @param ids the IDs of the items
+     * @return the number of deleted items
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ArchivedTodo a where a.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the archived items with an ID below the given one, newest first.
+     *
+     * @param id the exclusive upper bound of the IDs
+     * @param limit the maximum number of items to return
+     * @return the items in descending ID order
+     */
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    List<ArchivedTodo> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    /**
+     * Returns the latest completion timestamp in the archive.
+     *
+     * @return the latest completion timestamp, or null if the archive is empty
+     */
+    @Query("select max(a.completedAt) from ArchivedTodo a")
+    LocalDateTime findMaxCompletedAt();
+
+    /**
+     * Counts the archived items created between the specified timestamps (inclusive).
+     *
+     * @param start the start of the creation date range
+     * @param end the end of the creation date range
+     * @return the number of archived items created within the given range
+     */
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Counts the archived items completed between the specified timestamps (inclusive).
+     *
+     * @param start the start of the completion date range
+     * @param end the end of the completion date range
+     * @return the number of archived items completed within the given range
+     */
+    long countByCompletedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Counts the archived items created in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the number of archived items created within the given range
+     */
+    @Query("select count(a) from ArchivedTodo a where a.createdAt >= :start and a.createdAt < :end")
+    long countCreatedBetweenExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Counts the archived items completed in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the number of archived items completed within the given range
+     */
+    @Query("select count(a) from ArchivedTodo a where a.completedAt >= :start and a.completedAt < :end")
+    long countCompletedBetweenExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Reads the creation and completion timestamps of the archived items completed in the
+     * half-open range [start, end), used for the completion latency of partial days.
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return rows of [LocalDateTime createdAt, LocalDateTime completedAt]
+     */
+    @Query("select a.createdAt, a.completedAt from ArchivedTodo a where a.completedAt >= :start and a.completedAt < :end")
+    List<Object[]> findCompletionTimesBetweenExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Reads the creation and completion timestamps of the archived items completed in the
+     * inclusive range [start, end], used for the completion latency of partial days.
+     *
+     * @param start the first instant to include
+     * @param end the last instant to include
+     * @return rows of [LocalDateTime createdAt, LocalDateTime completedAt]
+     */
+    @Query("select a.createdAt, a.completedAt from ArchivedTodo a where a.completedAt between :start and :end")
+    List<Object[]> findCompletionTimesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Streams the creation and completion timestamps of every archived item through a
+     * forward-only cursor, used to rebuild the completion latency sketches. Must be
+     * consumed inside a transaction and closed afterwards.
+     *
+     * @return a lazily populated stream of [LocalDateTime createdAt, LocalDateTime completedAt] rows
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.createdAt, a.completedAt from ArchivedTodo a")
+    Stream<Object[]> streamCompletionTimes();
+
+    /**
+     * Streams every archived item in ID order through a forward-only cursor, used by the
+     * export. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a lazily populated stream of archived items
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from ArchivedTodo a order by a.id")
+    Stream<ArchivedTodo> streamAllByOrderById();
+
+    /**
+     * Aggregates archived creation counts per calendar day, used to rebuild the daily rollup.
+     *
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(a.createdAt as LocalDate), count(a) from ArchivedTodo a "
+            + "where a.createdAt is not null group by cast(a.createdAt as LocalDate)")
+    List<Object[]> countCreatedPerDay();
+
+    /**
+     * Aggregates archived completion counts per calendar day, used to rebuild the daily rollup.
+     *
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(a.completedAt as LocalDate), count(a) from ArchivedTodo a "
+            + "group by cast(a.completedAt as LocalDate)")
+    List<Object[]> countCompletedPerDay();
+
+    /**
+     * Aggregates the creation counts of the given archived items per calendar day, used to
+     * update the daily rollup before the items are deleted.
+     *
+     * @param ids the IDs of the items
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(a.createdAt as LocalDate), count(a) from ArchivedTodo a "
+            + "where a.id in :ids and a.createdAt is not null group by cast(a.createdAt as LocalDate)")
+    List<Object[]> countCreatedPerDayIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Aggregates the completion counts of the given archived items per calendar day, used
+     * to update the daily rollup before the items are deleted.
+     *
+     * @param ids the IDs of the items
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(a.completedAt as LocalDate), count(a) from ArchivedTodo a "
+            + "where a.id in :ids group by cast(a.completedAt as LocalDate)")
+    List<Object[]> countCompletedPerDayIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the creation and completion timestamps of the given archived items, used to
+     * update the completion latency before the items are deleted.
+     *
+     * @param ids the IDs of the items
+     * @return rows of [LocalDateTime createdAt, LocalDateTime completedAt]
+     */
+    @Query("select a.createdAt, a.completedAt from ArchivedTodo a where a.id in :ids")
+    List<Object[]> findCompletionTimesIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Aggregates archived creation counts per hour in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return rows of [LocalDate day, Integer hour, Long count]
+     */
+    @Query("select cast(a.createdAt as LocalDate), hour(a.createdAt), count(a) from ArchivedTodo a "
+            + "where a.createdAt >= :start and a.createdAt < :end "
+            + "group by cast(a.createdAt as LocalDate), hour(a.createdAt)")
+    List<Object[]> countCreatedPerHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Aggregates archived completion counts per hour in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return rows of [LocalDate day, Integer hour, Long count]
+     */
+    @Query("select cast(a.completedAt as LocalDate), hour(a.completedAt), count(a) from ArchivedTodo a "
+            + "where a.completedAt >= :start and a.completedAt < :end "
+            + "group by cast(a.completedAt as LocalDate), hour(a.completedAt)")
+    List<Object[]> countCompletedPerHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
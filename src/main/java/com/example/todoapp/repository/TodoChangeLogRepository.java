@@ -0,0 +1,95 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.TodoChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to the change log table 'todo_change_log'.
+ *
+ * The log is append-only and read in sequence order, so plain statements are used
+ * instead of an entity: appends are batched, and reads never touch the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoChangeLogRepository {
+
+    private static final RowMapper<TodoChange> ROW_MAPPER = (rs, rowNum) -> TodoChange.builder()
+            .seq(rs.getLong("seq"))
+            .origin(rs.getString("origin"))
+            .kind(TodoChange.Kind.valueOf(rs.getString("kind")))
+            .todoId(rs.getObject("todo_id", Long.class))
+            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+            .completedAt(toLocalDateTime(rs.getTimestamp("completed_at")))
+            .previousCompletedAt(toLocalDateTime(rs.getTimestamp("previous_completed_at")))
+            .changedAt(toLocalDateTime(rs.getTimestamp("changed_at")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends the given changes in one batch. Their sequence numbers are assigned by the
+     * database when the rows are inserted.
+     *
+     * @param changes the changes to append
+     */
+    public void append(List<TodoChange> changes) {
+        if (changes.isEmpty()) return;
+        jdbcTemplate.batchUpdate("insert into todo_change_log "
+                        + "(origin, kind, todo_id, created_at, completed_at, previous_completed_at, changed_at) "
+                        + "values (?, ?, ?, ?, ?, ?, ?)",
+                changes, changes.size(), (ps, change) -> {
+                    ps.setString(1, change.getOrigin());
+                    ps.setString(2, change.getKind().name());
+                    ps.setObject(3, change.getTodoId());
+                    ps.setTimestamp(4, toTimestamp(change.getCreatedAt()));
+                    ps.setTimestamp(5, toTimestamp(change.getCompletedAt()));
+                    ps.setTimestamp(6, toTimestamp(change.getPreviousCompletedAt()));
+                    ps.setTimestamp(7, toTimestamp(change.getChangedAt()));
+                });
+    }
+
+    /**
+     * Returns the changes after the given position, in sequence order.
+     *
+     * @param seq the last position already read
+     * @param limit the maximum number of changes to return
+     * @return up to {@code limit} changes
+     */
+    public List<TodoChange> findAfter(long seq, int limit) {
+        return jdbcTemplate.query("select * from todo_change_log where seq > ? order by seq limit ?",
+                ROW_MAPPER, seq, limit);
+    }
+
+    /**
+     * @return the highest sequence number in the log, or 0 if the log is empty
+     */
+    public long maxSeq() {
+        Long max = jdbcTemplate.queryForObject("select max(seq) from todo_change_log", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * Deletes the changes made before the given time.
+     *
+     * @param changedAt the first change time to keep
+     * @return the number of deleted changes
+     */
+    public int deleteChangedBefore(LocalDateTime changedAt) {
+        return jdbcTemplate.update("delete from todo_change_log where changed_at < ?", Timestamp.valueOf(changedAt));
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -1,21 +1,171 @@
 package com.example.todoapp.repository;
 
 import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoState;
+import com.example.todoapp.model.TodoSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
 
 /**
  * Repository interface for managing To-do entity.
  *
  * Extends JpaRepository to provide basic CRUD operations
- * and includes custom query methods for date-range filtering.
+ * and includes custom query methods for date-range filtering and counting.
  */
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
 
+    /**
+     * Reads the status, completion timestamp and version of a to-do item as a projection.
+     *
+     * @param id the ID of the to-do item
+     * @return the current state, or empty if the item does not exist
+     */
+    Optional<TodoState> findStateById(Long id);
+
+    /**
+     * Flips the status of a to-do item in a single conditional UPDATE statement.
+     * The new status and completion timestamp are computed from the row itself with
+     * CASE expressions, the version is incremented, and the update only applies if the
+     * row still has the expected version.
+     *
+     * @param id the ID of the to-do item
+     * @param version the version the caller read; the update is skipped if it changed
+     * @param now the completion timestamp to set when the item becomes completed
+     * @param completed the COMPLETED status
+     * @param pending the PENDING status
+     * @return 1 if the item was toggled, 0 if it is missing or was modified concurrently
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set "
+            + "t.completedAt = case when t.status = :completed then null else :now end, "
+            + "t.status = case when t.status = :completed then :pending else :completed end, "
+            + "t.version = t.version + 1 "
+            + "where t.id = :id and t.version = :version")
+    int toggleStatus(@Param("id") Long id, @Param("version") long version, @Param("now") LocalDateTime now,
+                     @Param("completed") Todo.Status completed, @Param("pending") Todo.Status pending);
+
+    /**
+     * Locks the given to-do items for the rest of the transaction, in ID order so that
+     * concurrent bulk operations on overlapping sets do not deadlock.
+     *
+     * @param ids the IDs of the items
+     * @return the IDs of the items that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Todo t where t.id in :ids order by t.id")
+    List<Long> lockIdsIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks up to {@code limit} of the to-do items completed before the given instant for
+     * the rest of the transaction.
+     *
+     * @param before the first completion timestamp to exclude
+     * @param limit the maximum number of items to lock
+     * @return the IDs of the locked items, in ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Todo t where t.status = com.example.todoapp.model.Todo$Status.COMPLETED "
+            + "and t.completedAt < :before order by t.id")
+    List<Long> lockCompletedIdsBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * Locks up to {@code limit} of the to-do items completed before the given instant,
+     * skipping items that another transaction holds locked, so that the archiver never
+     * waits for user requests.
+     *
+     * @param before the first completion timestamp to exclude
+     * @param limit the maximum number of items to lock
+     * @return the IDs of the locked items, in ID order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select t.id from Todo t where t.status = com.example.todoapp.model.Todo$Status.COMPLETED "
+            + "and t.completedAt < :before order by t.id")
+    List<Long> lockArchivableIds(@Param("before") LocalDateTime before, Limit limit);
+
+    /**
+     * Deletes the given to-do items in a single DELETE statement.
+     *
+     * @param ids the IDs of the items
+     * @return the number of deleted items
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Completes the pending items among the given ones in a single UPDATE statement,
+     * incrementing their versions. Items that are already completed keep their completion time.
+     *
+     * @param ids the IDs of the items
+     * @param now the completion timestamp to set
+     * @param completed the COMPLETED status
+     * @param pending the PENDING status
+     * @return the number of items that were completed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.status = :completed, t.completedAt = :now, t.version = t.version + 1 "
+            + "where t.id in :ids and t.status = :pending")
+    int completeAllByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                          @Param("completed") Todo.Status completed, @Param("pending") Todo.Status pending);
+
+    /**
+     * Reopens the completed items among the given ones in a single UPDATE statement,
+     * clearing their completion time and incrementing their versions.
+     *
+     * @param ids the IDs of the items
+     * @param completed the COMPLETED status
+     * @param pending the PENDING status
+     * @return the number of items that were reopened
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.status = :pending, t.completedAt = null, t.version = t.version + 1 "
+            + "where t.id in :ids and t.status = :completed")
+    int reopenAllByIdIn(@Param("ids") Collection<Long> ids,
+                        @Param("completed") Todo.Status completed, @Param("pending") Todo.Status pending);
+
+    /**
+     * Reads one window of to-do items using keyset pagination.
+     * The query seeks directly to the scroll position instead of using OFFSET,
+     * so every page costs the same regardless of how deep it is.
+     *
+     * Rows are returned as the requested type: {@code Todo.class} loads managed entities,
+     * while a projection such as {@link TodoSummary} selects only its own columns and is
+     * never attached to the persistence context. The type must expose the sort keys.
+     *
+     * @param position the keyset position to continue from (or an initial position)
+     * @param sort a total sort order whose properties match the position keys
+     * @param limit the maximum number of items to return
+     * @param type the entity or projection type of the returned rows
+     * @param <T> the row type
+     * @return the window of items, which knows whether more rows follow
+     */
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    <T> Window<T> findAllBy(ScrollPosition position, Sort sort, Limit limit, Class<T> type);
+
     /**
      * Retrieves all to-do items that were created between the specified start and end timestamps.
      *
@@ -33,4 +183,233 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
      * @return a list of To-do items completed within the given range
      */
     List<Todo> findByCompletedAtBetween(LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    /**
+     * Counts the to-do items created between the specified timestamps (inclusive) in the database.
+     *
+     * @param start the start of the creation date range
+     * @param end the end of the creation date range
+     * @return the number of To-do items created within the given range
+     */
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Counts the to-do items completed between the specified timestamps (inclusive) in the database.
+     *
+     * @param start the start of the completion date range
+     * @param end the end of the completion date range
+     * @return the number of To-do items completed within the given range
+     */
+    long countByCompletedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Counts the to-do items created in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the number of To-do items created within the given range
+     */
+    @Query("select count(t) from Todo t where t.createdAt >= :start and t.createdAt < :end")
+    long countCreatedBetweenExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Counts the to-do items completed in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the number of To-do items completed within the given range
+     */
+    @Query("select count(t) from Todo t where t.completedAt >= :start and t.completedAt < :end")
+    long countCompletedBetweenExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Counts the to-do items that are still pending.
+     * The status is written as a literal rather than a bind parameter so that PostgreSQL
+     * can match the query against the partial index on pending rows.
+     *
+     * @return the number of pending To-do items
+     */
+    @Query("select count(t) from Todo t where t.status = com.example.todoapp.model.Todo$Status.PENDING")
+    long countPending();
+
+    /**
+     * Aggregates creation counts per calendar day, used to rebuild the daily rollup.
+     *
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(t.createdAt as LocalDate), count(t) from Todo t "
+            + "where t.createdAt is not null group by cast(t.createdAt as LocalDate)")
+    List<Object[]> countCreatedPerDay();
+
+    /**
+     * Aggregates completion counts per calendar day, used to rebuild the daily rollup.
+     *
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(t.completedAt as LocalDate), count(t) from Todo t "
+            + "where t.completedAt is not null group by cast(t.completedAt as LocalDate)")
+    List<Object[]> countCompletedPerDay();
+
+    /**
+     * Aggregates the creation counts of the given items per calendar day, used to update
+     * the daily rollup before the items are deleted.
+     *
+     * @param ids the IDs of the items
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(t.createdAt as LocalDate), count(t) from Todo t "
+            + "where t.id in :ids and t.createdAt is not null group by cast(t.createdAt as LocalDate)")
+    List<Object[]> countCreatedPerDayIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Aggregates the completion counts of the given items per calendar day, used to update
+     * the daily rollup before the items are deleted or reopened.
+     *
+     * @param ids the IDs of the items
+     * @return rows of [LocalDate day, Long count]
+     */
+    @Query("select cast(t.completedAt as LocalDate), count(t) from Todo t "
+            + "where t.id in :ids and t.completedAt is not null group by cast(t.completedAt as LocalDate)")
+    List<Object[]> countCompletedPerDayIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the creation and completion timestamps of the to-do items completed in the
+     * half-open range [start, end), used for the completion latency of partial days.
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return rows of [LocalDateTime createdAt, LocalDateTime completedAt]
+     */
+    @Query("select t.createdAt, t.completedAt from Todo t where t.completedAt >= :start and t.completedAt < :end")
+    List<Object[]> findCompletionTimesBetweenExclusive(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Reads the creation and completion timestamps of the to-do items completed in the
+     * inclusive range [start, end], used for the completion latency of partial days.
+     *
+     * @param start the first instant to include
+     * @param end the last instant to include
+     * @return rows of [LocalDateTime createdAt, LocalDateTime completedAt]
+     */
+    @Query("select t.createdAt, t.completedAt from Todo t where t.completedAt between :start and :end")
+    List<Object[]> findCompletionTimesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Reads the creation and completion timestamps of the completed items among the given
+     * ones, used to update the completion latency before the items are deleted or reopened.
+     *
+     * @param ids the IDs of the items
+     * @return rows of [LocalDateTime createdAt, LocalDateTime completedAt]
+     */
+    @Query("select t.createdAt, t.completedAt from Todo t where t.id in :ids and t.completedAt is not null")
+    List<Object[]> findCompletionTimesIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Reads the creation timestamps of the pending items among the given ones, used to
+     * update the rollup before the items are completed.
+     *
+     * @param ids the IDs of the items
+     * @return one creation timestamp per pending item, null for items without one
+     */
+    @Query("select t.createdAt from Todo t where t.id in :ids "
+            + "and t.status = com.example.todoapp.model.Todo$Status.PENDING")
+    List<LocalDateTime> findPendingCreatedAtIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the creation and completion timestamps of every completed to-do item through
+     * a forward-only cursor, used to rebuild the completion latency sketches. Must be
+     * consumed inside a transaction and closed afterwards.
+     *
+     * @return a lazily populated stream of [LocalDateTime createdAt, LocalDateTime completedAt] rows
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select t.createdAt, t.completedAt from Todo t where t.completedAt is not null")
+    Stream<Object[]> streamCompletionTimes();
+
+    /**
+     * Streams every to-do item in ID order through a forward-only cursor.
+     * Rows are fetched from the driver in chunks of the JDBC fetch size and are
+     * loaded read-only, so no dirty-checking snapshots are kept. Must be consumed
+     * inside a transaction and closed afterwards.
+     *
+     * @return a lazily populated stream of all To-do items
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Todo t order by t.id")
+    Stream<Todo> streamAllByOrderById();
+
+    /**
+     * Streams the ID and name of every to-do item in ID order through a forward-only cursor,
+     * used to build the name search index. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a lazily populated stream of [Long id, String name] rows
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select t.id, t.name from Todo t order by t.id")
+    Stream<Object[]> streamNamesByOrderById();
+
+    /**
+     * Reads the given to-do items as the requested type, in no particular order.
+     *
+     * @param ids the IDs of the items
+     * @param type the entity or projection type of the returned rows
+     * @param <T> the row type
+     * @return the items that still exist
+     */
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+
+    /**
+     * Reads a single to-do item as shown in the list view, without loading the entity.
+     *
+     * @param id the ID of the item
+     * @return the item, or empty if it does not exist
+     */
+    Optional<TodoSummary> findSummaryById(Long id);
+
+    /**
+     * Reads one page of the to-do items whose name contains the text, ignoring case.
+     * Needs a full scan; only used while the name search index is unavailable.
+     *
+     * @param text the text to look for
+     * @param pageable the page to read, including its sort order
+     * @param type the entity or projection type of the returned rows
+     * @param <T> the row type
+     * @return the items on the page
+     */
+    <T> List<T> findByNameContainingIgnoreCase(String text, Pageable pageable, Class<T> type);
+
+    /**
+     * Counts the to-do items whose name contains the text, ignoring case.
+     *
+     * @param text the text to look for
+     * @return the number of matching items
+     */
+    long countByNameContainingIgnoreCase(String text);
+
+    /**
+     * Aggregates creation counts per hour in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return rows of [LocalDate day, Integer hour, Long count]
+     */
+    @Query("select cast(t.createdAt as LocalDate), hour(t.createdAt), count(t) from Todo t "
+            + "where t.createdAt >= :start and t.createdAt < :end "
+            + "group by cast(t.createdAt as LocalDate), hour(t.createdAt)")
+    List<Object[]> countCreatedPerHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Aggregates completion counts per hour in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return rows of [LocalDate day, Integer hour, Long count]
+     */
+    @Query("select cast(t.completedAt as LocalDate), hour(t.completedAt), count(t) from Todo t "
+            + "where t.completedAt >= :start and t.completedAt < :end "
+            + "group by cast(t.completedAt as LocalDate), hour(t.completedAt)")
+    List<Object[]> countCompletedPerHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
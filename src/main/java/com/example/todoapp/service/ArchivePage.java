@@ -0,0 +1,28 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.ArchivedTodo;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of the archive, newest first, with the cursor of the page that follows.
+ */
+@Value
+public class ArchivePage {
+
+    /**
+     * The archived items on this page.
+     */
+    List<ArchivedTodo> todos;
+
+    /**
+     * The maximum number of items per page.
+     */
+    int size;
+
+    /**
+     * Cursor of the next page (the last ID on this page), or null on the last page.
+     */
+    Long nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk operation, returned to the caller as JSON.
+ */
+@Value
+public class BulkResult {
+
+    /**
+     * Number of to-do items that were deleted or changed.
+     */
+    long affected;
+}
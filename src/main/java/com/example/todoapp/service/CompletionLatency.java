@@ -0,0 +1,70 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Distribution of the time from creation to completion of the items completed in a range.
+ * The quantiles and the maximum are accurate to within 1%, the mean is exact. All durations
+ * are null when no item was completed in the range.
+ */
+@Value
+public class CompletionLatency {
+
+    /**
+     * Number of items completed in the range that have a creation timestamp.
+     */
+    long count;
+
+    /**
+     * Mean time to completion.
+     */
+    Duration mean;
+
+    /**
+     * Median time to completion.
+     */
+    Duration p50;
+
+    /**
+     * Time within which 90% of the items were completed.
+     */
+    Duration p90;
+
+    /**
+     * Time within which 99% of the items were completed.
+     */
+    Duration p99;
+
+    /**
+     * Longest time to completion.
+     */
+    Duration max;
+
+    /**
+     * Summarizes the latencies counted in a sketch.
+     *
+     * @param sketch the sketch of the latencies in the range
+     * @return the summary
+     */
+    public static CompletionLatency of(LatencySketch sketch) {
+        return new CompletionLatency(Math.max(0, sketch.getCount()), sketch.mean(),
+                sketch.quantile(0.5), sketch.quantile(0.9), sketch.quantile(0.99), sketch.max());
+    }
+
+    /**
+     * Formats a duration in its two largest units for display, such as "2d 3h" or "4m 10s".
+     *
+     * @param duration the duration, may be null
+     * @return the formatted duration, or "–" for null
+     */
+    public String format(Duration duration) {
+        if (duration == null) return "–";
+        long seconds = duration.toSeconds();
+        if (seconds < 60) return seconds + "s";
+        if (seconds < 3600) return seconds / 60 + "m " + seconds % 60 + "s";
+        if (seconds < 86400) return seconds / 3600 + "h " + seconds % 3600 / 60 + "m";
+        return seconds / 86400 + "d " + seconds % 86400 / 3600 + "h";
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todoapp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds the completion latency changes appended by the writers into the day sketches.
+ *
+ * Runs every {@code todo.latency-compaction.interval} and calls
+ * {@link DailyStatsService#compactLatencies} with {@code todo.latency-compaction.batch-size}
+ * until the pending changes are used up, so reads only merge the changes of the last
+ * interval on top of one sketch per day. Every instance runs it; overlapping runs fold
+ * disjoint changes.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "todo.latency-compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class DailyLatencyCompactor {
+
+    private final DailyStatsService dailyStatsService;
+
+    private final Duration interval;
+
+    /**
+     * Maximum number of changes folded per transaction.
+     */
+    private final int batchSize;
+
+    private final ScheduledExecutorService compactor;
+
+    public DailyLatencyCompactor(DailyStatsService dailyStatsService,
+                                 @Value("${todo.latency-compaction.interval:1m}") Duration interval,
+                                 @Value("${todo.latency-compaction.batch-size:1000}") int batchSize) {
+        this.dailyStatsService = dailyStatsService;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-latency-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts compacting once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long millis = interval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compact, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Folds every pending change, batch by batch.
+     *
+     * @return the number of changes folded
+     */
+    public long compact() {
+        long total = 0;
+        try {
+            int count;
+            do {
+                count = dailyStatsService.compactLatencies(batchSize);
+                total += count;
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Compacting the completion latency changes failed", e);
+        }
+        return total;
+    }
+
+    /**
+     * Stops the compaction.
+     */
+    @PreDestroy
+    public void close() {
+        compactor.shutdownNow();
+    }
+}
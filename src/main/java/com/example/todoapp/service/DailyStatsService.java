@@ -0,0 +1,459 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.DailyCompletionLatency;
+import com.example.todoapp.model.DailyCompletionLatencyDelta;
+import com.example.todoapp.model.DailyTodoStats;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.DailyCompletionLatencyDeltaRepository;
+import com.example.todoapp.repository.DailyCompletionLatencyRepository;
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for the per-day analytics rollup.
+ *
+ * Keeps the DailyTodoStats counters in step with to-do mutations and answers
+ * range counts by summing whole days from the rollup and counting only the
+ * partial days at the edges of the range against the to-do table and its archive.
+ * Archiving does not change the rollup, so whole days cover both tiers.
+ *
+ * Next to the counters, every day of completion has a {@link LatencySketch} of the time
+ * from creation to completion of its items (DailyCompletionLatency). Completing an item
+ * adds its latency to the sketch of its completion day; reopening or deleting it removes
+ * the latency again. Each such change is appended as a DailyCompletionLatencyDelta row
+ * per affected day, insert-only, so concurrent completions never queue on the day's sketch
+ * row. Latency percentiles over a range merge the sketches and pending changes of the whole
+ * days and add the items of the partial days at the edges, as for the counts.
+ * {@link #compactLatencies} folds the oldest changes into the day sketches and deletes them.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyStatsService {
+
+    /**
+     * Repository for the per-day counters.
+     */
+    private final DailyTodoStatsRepository statsRepository;
+
+    /**
+     * Repository for the per-day completion latency sketches.
+     */
+    private final DailyCompletionLatencyRepository latencyRepository;
+
+    /**
+     * Repository for the latency changes not yet folded into the sketches.
+     */
+    private final DailyCompletionLatencyDeltaRepository latencyDeltaRepository;
+
+    /**
+     * Repository used for the partial-day edges and for rebuilding the rollup.
+     */
+    private final TodoRepository todoRepository;
+
+    /**
+     * Archive of old completed items, counted at the partial-day edges and when rebuilding.
+     */
+    private final TodoArchiveService archiveService;
+
+    /**
+     * Transaction manager used to create missing day rows in their own transaction.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Records that a to-do item was created at the given time.
+     *
+     * @param createdAt the creation timestamp, ignored if null
+     */
+    @Transactional
+    public void recordCreated(LocalDateTime createdAt) {
+        if (createdAt != null) adjust(createdAt.toLocalDate(), 1, 0);
+    }
+
+    /**
+     * Records that a to-do item was completed at the given time.
+     *
+     * @param createdAt the creation timestamp of the item, if null its latency is not recorded
+     * @param completedAt the completion timestamp, ignored if null
+     */
+    @Transactional
+    public void recordCompleted(LocalDateTime createdAt, LocalDateTime completedAt) {
+        if (completedAt == null) return;
+        adjust(completedAt.toLocalDate(), 0, 1);
+        adjustLatency(completedAt.toLocalDate(), new LatencySketch().add(createdAt, completedAt));
+    }
+
+    /**
+     * Records that a completed to-do item was reopened, removing its earlier completion.
+     *
+     * @param createdAt the creation timestamp of the item
+     * @param completedAt the completion timestamp that is being cleared, ignored if null
+     */
+    @Transactional
+    public void recordReopened(LocalDateTime createdAt, LocalDateTime completedAt) {
+        if (completedAt == null) return;
+        adjust(completedAt.toLocalDate(), 0, -1);
+        adjustLatency(completedAt.toLocalDate(), new LatencySketch().remove(createdAt, completedAt));
+    }
+
+    /**
+     * Records that a to-do item was deleted, removing it from both of its days.
+     *
+     * @param createdAt the creation timestamp of the deleted item, ignored if null
+     * @param completedAt the completion timestamp of the deleted item, ignored if null
+     */
+    @Transactional
+    public void recordDeleted(LocalDateTime createdAt, LocalDateTime completedAt) {
+        if (createdAt != null) adjust(createdAt.toLocalDate(), -1, 0);
+        recordReopened(createdAt, completedAt);
+    }
+
+    /**
+     * Records that the pending items among the given ones are about to be completed at the
+     * same time, with one counter and one sketch update. Must run before the items are
+     * completed, in the same transaction and with the items locked.
+     *
+     * @param ids the IDs of the items
+     * @param completedAt the completion timestamp
+     */
+    @Transactional
+    public void recordCompleting(Collection<Long> ids, LocalDateTime completedAt) {
+        List<LocalDateTime> pending = todoRepository.findPendingCreatedAtIn(ids);
+        if (pending.isEmpty()) return;
+        LatencySketch latencies = new LatencySketch();
+        pending.forEach(createdAt -> latencies.add(createdAt, completedAt));
+        adjust(completedAt.toLocalDate(), 0, pending.size());
+        adjustLatency(completedAt.toLocalDate(), latencies);
+    }
+
+    /**
+     * Records that the given items are about to be deleted, with one grouped count per
+     * counter and one counter update per affected day. Must run before the items are
+     * deleted, in the same transaction and with the items locked.
+     *
+     * @param ids the IDs of the items
+     */
+    @Transactional
+    public void recordDeleting(Collection<Long> ids) {
+        removing(todoRepository.countCreatedPerDayIn(ids), todoRepository.countCompletedPerDayIn(ids),
+                todoRepository.findCompletionTimesIn(ids));
+    }
+
+    /**
+     * Records that the given archived items are about to be deleted, as
+     * {@link #recordDeleting} does for items of the to-do table. Must run before the items
+     * are deleted, in the same transaction and with the items locked.
+     *
+     * @param ids the IDs of the archived items
+     */
+    @Transactional
+    public void recordDeletingArchived(Collection<Long> ids) {
+        removing(archiveService.countCreatedPerDayIn(ids), archiveService.countCompletedPerDayIn(ids),
+                archiveService.findCompletionTimesIn(ids));
+    }
+
+    /**
+     * Records that the completions of the given items are about to be cleared, with one
+     * counter update per affected day. Must run before the items are reopened or deleted,
+     * in the same transaction and with the items locked.
+     *
+     * @param ids the IDs of the items
+     */
+    @Transactional
+    public void recordReopening(Collection<Long> ids) {
+        removing(List.of(), todoRepository.countCompletedPerDayIn(ids), todoRepository.findCompletionTimesIn(ids));
+    }
+
+    /**
+     * Records a batch of newly inserted to-do items with one counter update per affected day.
+     *
+     * @param todos the inserted items
+     */
+    @Transactional
+    public void recordImported(Collection<Todo> todos) {
+        Map<LocalDate, long[]> deltas = new HashMap<>();
+        Map<LocalDate, LatencySketch> latencies = new TreeMap<>();
+        for (Todo todo : todos) {
+            if (todo.getCreatedAt() != null) {
+                deltas.computeIfAbsent(todo.getCreatedAt().toLocalDate(), d -> new long[2])[0]++;
+            }
+            if (todo.getCompletedAt() != null) {
+                deltas.computeIfAbsent(todo.getCompletedAt().toLocalDate(), d -> new long[2])[1]++;
+                latencies.computeIfAbsent(todo.getCompletedAt().toLocalDate(), d -> new LatencySketch())
+                        .add(todo.getCreatedAt(), todo.getCompletedAt());
+            }
+        }
+        deltas.forEach((day, delta) -> adjust(day, delta[0], delta[1]));
+        latencies.forEach(this::adjustLatency);
+    }
+
+    /**
+     * Counts to-do items created in the inclusive range [start, end].
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the number of To-do items created in the given range
+     */
+    @Transactional(readOnly = true)
+    public long countCreated(LocalDateTime start, LocalDateTime end) {
+        LocalDate firstDay = firstWholeDay(start);
+        LocalDate lastDay = end.toLocalDate();
+        if (!firstDay.isBefore(lastDay)) {
+            return countCreatedRows(start, end);
+        }
+        return todoRepository.countCreatedBetweenExclusive(start, firstDay.atStartOfDay())
+                + archiveService.countCreatedBetweenExclusive(start, firstDay.atStartOfDay())
+                + statsRepository.sumCreated(firstDay, lastDay)
+                + countCreatedRows(lastDay.atStartOfDay(), end);
+    }
+
+    /**
+     * Counts to-do items completed in the inclusive range [start, end].
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the number of To-do items completed in the given range
+     */
+    @Transactional(readOnly = true)
+    public long countCompleted(LocalDateTime start, LocalDateTime end) {
+        LocalDate firstDay = firstWholeDay(start);
+        LocalDate lastDay = end.toLocalDate();
+        if (!firstDay.isBefore(lastDay)) {
+            return countCompletedRows(start, end);
+        }
+        return todoRepository.countCompletedBetweenExclusive(start, firstDay.atStartOfDay())
+                + archiveService.countCompletedBetweenExclusive(start, firstDay.atStartOfDay())
+                + statsRepository.sumCompleted(firstDay, lastDay)
+                + countCompletedRows(lastDay.atStartOfDay(), end);
+    }
+
+    /**
+     * Summarizes the time from creation to completion of the items completed in the
+     * inclusive range [start, end]. Whole days merge their sketches; only the items
+     * completed on the partial days at the edges of the range are read.
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the completion latency of the items completed in the given range
+     */
+    @Transactional(readOnly = true)
+    public CompletionLatency getCompletionLatency(LocalDateTime start, LocalDateTime end) {
+        LatencySketch sketch = new LatencySketch();
+        LocalDate firstDay = firstWholeDay(start);
+        LocalDate lastDay = end.toLocalDate();
+        if (!firstDay.isBefore(lastDay)) {
+            addCompletionRows(sketch, start, end);
+            return CompletionLatency.of(sketch);
+        }
+        addRows(sketch, todoRepository.findCompletionTimesBetweenExclusive(start, firstDay.atStartOfDay()));
+        addRows(sketch, archiveService.findCompletionTimesBetweenExclusive(start, firstDay.atStartOfDay()));
+        for (byte[] day : latencyRepository.findSketchesBetween(firstDay, lastDay)) {
+            sketch.merge(LatencySketch.fromBytes(day));
+        }
+        addCompletionRows(sketch, lastDay.atStartOfDay(), end);
+        return CompletionLatency.of(sketch);
+    }
+
+    /**
+     * Rebuilds the whole rollup from the to-do table and its archive using grouped counts,
+     * and the completion latency sketches from the timestamps of the completed items.
+     */
+    @Transactional
+    public void rebuild() {
+        Map<LocalDate, DailyTodoStats> days = new HashMap<>();
+        for (List<Object[]> rows : List.of(todoRepository.countCreatedPerDay(), archiveService.countCreatedPerDay())) {
+            for (Object[] row : rows) {
+                DailyTodoStats day = day(days, (LocalDate) row[0]);
+                day.setCreatedCount(day.getCreatedCount() + (Long) row[1]);
+            }
+        }
+        for (List<Object[]> rows : List.of(todoRepository.countCompletedPerDay(), archiveService.countCompletedPerDay())) {
+            for (Object[] row : rows) {
+                DailyTodoStats day = day(days, (LocalDate) row[0]);
+                day.setCompletedCount(day.getCompletedCount() + (Long) row[1]);
+            }
+        }
+        statsRepository.deleteAllInBatch();
+        statsRepository.saveAll(days.values());
+
+        Map<LocalDate, LatencySketch> latencies = new HashMap<>();
+        try (Stream<Object[]> rows = todoRepository.streamCompletionTimes()) {
+            addLatencies(latencies, rows);
+        }
+        try (Stream<Object[]> rows = archiveService.streamCompletionTimes()) {
+            addLatencies(latencies, rows);
+        }
+        latencyDeltaRepository.deleteAllInBatch();
+        latencyRepository.deleteAllInBatch();
+        latencyRepository.saveAll(latencies.entrySet().stream()
+                .map(day -> new DailyCompletionLatency(day.getKey(), day.getValue().toBytes()))
+                .toList());
+    }
+
+    /**
+     * Folds up to the given number of the oldest completion latency changes into the day
+     * sketches and deletes them, with one sketch update per affected day. Changes another
+     * compaction is folding are skipped, so compactions on several instances can overlap.
+     *
+     * @param limit the maximum number of changes to fold
+     * @return the number of changes folded
+     */
+    @Transactional
+    public int compactLatencies(int limit) {
+        List<DailyCompletionLatencyDelta> deltas = latencyDeltaRepository.lockOldest(Limit.of(limit));
+        if (deltas.isEmpty()) return 0;
+        Map<LocalDate, LatencySketch> changes = new TreeMap<>();
+        for (DailyCompletionLatencyDelta delta : deltas) {
+            changes.computeIfAbsent(delta.getDay(), d -> new LatencySketch())
+                    .merge(LatencySketch.fromBytes(delta.getSketch()));
+        }
+        changes.forEach(this::foldLatency);
+        latencyDeltaRepository.deleteAllBySeqIn(deltas.stream().map(DailyCompletionLatencyDelta::getSeq).toList());
+        return deltas.size();
+    }
+
+    /**
+     * Subtracts grouped [day, count] creation and completion rows from the counters and
+     * [createdAt, completedAt] rows from the latency sketches, one update per affected day.
+     */
+    private void removing(List<Object[]> created, List<Object[]> completed, List<Object[]> completionTimes) {
+        for (Object[] row : created) {
+            adjust((LocalDate) row[0], -(Long) row[1], 0);
+        }
+        for (Object[] row : completed) {
+            adjust((LocalDate) row[0], 0, -(Long) row[1]);
+        }
+        Map<LocalDate, LatencySketch> latencies = new TreeMap<>();
+        for (Object[] row : completionTimes) {
+            latency(latencies, row).remove((LocalDateTime) row[0], (LocalDateTime) row[1]);
+        }
+        latencies.forEach(this::adjustLatency);
+    }
+
+    /**
+     * Applies counter deltas to a day, creating the day row first if it does not exist yet.
+     * The row is inserted in a separate transaction so that two writers racing on a new day
+     * do not poison the caller's transaction with a duplicate-key error.
+     */
+    private void adjust(LocalDate day, long created, long completed) {
+        if (statsRepository.adjust(day, created, completed) > 0) return;
+
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> statsRepository.saveAndFlush(new DailyTodoStats(day, 0, 0)));
+        } catch (DataIntegrityViolationException e) {
+            // Another writer created the row first; the update below applies to it
+        }
+        statsRepository.adjust(day, created, completed);
+    }
+
+    /**
+     * Appends a change to the completion latency sketch of a day.
+     */
+    private void adjustLatency(LocalDate day, LatencySketch change) {
+        if (change.isEmpty()) return;
+        latencyDeltaRepository.save(new DailyCompletionLatencyDelta(null, day, change.toBytes()));
+    }
+
+    /**
+     * Merges changes into the completion latency sketch of a day, creating the day row
+     * first if it does not exist yet, as {@link #adjust} does for the counters. The row is
+     * locked while it is rewritten, so two compactions folding changes of the same day
+     * queue up instead of overwriting each other.
+     */
+    private void foldLatency(LocalDate day, LatencySketch change) {
+        if (change.isEmpty()) return;
+        DailyCompletionLatency row = latencyRepository.lockByDay(day).orElseGet(() -> {
+            TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+            requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            try {
+                requiresNew.executeWithoutResult(status ->
+                        latencyRepository.saveAndFlush(new DailyCompletionLatency(day, new LatencySketch().toBytes())));
+            } catch (DataIntegrityViolationException e) {
+                // Another compaction created the row first; it is locked below
+            }
+            return latencyRepository.lockByDay(day).orElseThrow();
+        });
+        row.setSketch(LatencySketch.fromBytes(row.getSketch()).merge(change).toBytes());
+        latencyRepository.saveAndFlush(row);
+    }
+
+    /**
+     * Adds the latencies of the items of both tiers completed in the inclusive range [start, end].
+     */
+    private void addCompletionRows(LatencySketch sketch, LocalDateTime start, LocalDateTime end) {
+        addRows(sketch, todoRepository.findCompletionTimesBetween(start, end));
+        addRows(sketch, archiveService.findCompletionTimesBetween(start, end));
+    }
+
+    /**
+     * Adds the latencies of [createdAt, completedAt] rows to a sketch.
+     */
+    private static void addRows(LatencySketch sketch, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            sketch.add((LocalDateTime) row[0], (LocalDateTime) row[1]);
+        }
+    }
+
+    /**
+     * Adds the latencies of [createdAt, completedAt] rows to the sketches of their completion days while rebuilding.
+     */
+    private static void addLatencies(Map<LocalDate, LatencySketch> latencies, Stream<Object[]> rows) {
+        rows.filter(row -> row[0] != null)
+                .forEach(row -> latency(latencies, row).add((LocalDateTime) row[0], (LocalDateTime) row[1]));
+    }
+
+    /**
+     * Looks up or creates the latency sketch for the completion day of a [createdAt, completedAt] row.
+     */
+    private static LatencySketch latency(Map<LocalDate, LatencySketch> latencies, Object[] row) {
+        return latencies.computeIfAbsent(((LocalDateTime) row[1]).toLocalDate(), d -> new LatencySketch());
+    }
+
+    /**
+     * Counts the items of both tiers created in the inclusive range [start, end].
+     */
+    private long countCreatedRows(LocalDateTime start, LocalDateTime end) {
+        return todoRepository.countByCreatedAtBetween(start, end) + archiveService.countCreatedBetween(start, end);
+    }
+
+    /**
+     * Counts the items of both tiers completed in the inclusive range [start, end].
+     */
+    private long countCompletedRows(LocalDateTime start, LocalDateTime end) {
+        return todoRepository.countByCompletedAtBetween(start, end) + archiveService.countCompletedBetween(start, end);
+    }
+
+    /**
+     * Returns the first day whose midnight is at or after the given instant.
+     */
+    static LocalDate firstWholeDay(LocalDateTime start) {
+        LocalDate day = start.toLocalDate();
+        return start.equals(day.atStartOfDay()) ? day : day.plusDays(1);
+    }
+
+    /**
+     * Looks up or creates the rollup row for a day while rebuilding.
+     */
+    private static DailyTodoStats day(Map<LocalDate, DailyTodoStats> days, LocalDate day) {
+        return days.computeIfAbsent(day, d -> new DailyTodoStats(d, 0, 0));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Created and completed counts for one time bucket of the analytics histogram.
+ * The bucket covers the half-open interval [start, end).
+ */
+@Value
+public class HistogramBucket {
+
+    /**
+     * The first instant covered by the bucket.
+     */
+    LocalDateTime start;
+
+    /**
+     * The first instant after the bucket.
+     */
+    LocalDateTime end;
+
+    /**
+     * Number of to-do items created in the bucket.
+     */
+    long created;
+
+    /**
+     * Number of to-do items completed in the bucket.
+     */
+    long completed;
+}
@@ -0,0 +1,82 @@
+package com.example.todoapp.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket widths offered by the analytics histogram.
+ *
+ * Buckets are aligned to calendar boundaries: whole hours, days starting at
+ * midnight, and ISO weeks starting on Monday.
+ */
+public enum HistogramGranularity {
+
+    HOUR {
+        @Override
+        public LocalDateTime floor(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.HOURS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusHours(1);
+        }
+    },
+
+    DAY {
+        @Override
+        public LocalDateTime floor(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS);
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusDays(1);
+        }
+    },
+
+    WEEK {
+        @Override
+        public LocalDateTime floor(LocalDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return bucketStart.plusWeeks(1);
+        }
+    };
+
+    /**
+     * Returns the start of the bucket containing the given time.
+     *
+     * @param time any timestamp
+     * @return the start of its bucket
+     */
+    public abstract LocalDateTime floor(LocalDateTime time);
+
+    /**
+     * Returns the start of the bucket following the one starting at the given time.
+     *
+     * @param bucketStart the start of a bucket
+     * @return the start of the next bucket
+     */
+    public abstract LocalDateTime next(LocalDateTime bucketStart);
+
+    /**
+     * Parses a request parameter such as "hour", falling back to DAY.
+     *
+     * @param value the raw parameter value, may be null
+     * @return the matching granularity
+     */
+    public static HistogramGranularity fromParam(String value) {
+        if (value == null || value.isBlank()) return DAY;
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return DAY;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for the time-bucketed analytics histogram.
+ *
+ * Buckets are counted in the database, never by loading entities: day and week
+ * buckets are summed from the per-day rollup, hour buckets are grouped by hour in
+ * the to-do table and its archive. Closed buckets that lie entirely inside the requested range are
+ * served from the read cache, so overlapping queries only recompute the bucket that
+ * is still open and buckets clipped by the range edges.
+ */
+@Service
+@Timed(value = "todo.service", description = "Time spent in a to-do service method")
+@RequiredArgsConstructor
+public class HistogramService {
+
+    /**
+     * Repository used for the hourly groupings and for clipped or open buckets.
+     */
+    private final TodoRepository todoRepository;
+
+    /**
+     * Repository for the per-day counters behind the day and week buckets.
+     */
+    private final DailyTodoStatsRepository statsRepository;
+
+    /**
+     * Read cache holding the closed buckets.
+     */
+    private final TodoReadCache readCache;
+
+    /**
+     * Archive of old completed items, counted next to the to-do table.
+     */
+    private final TodoArchiveService archiveService;
+
+    /**
+     * Upper bound for the number of buckets in one histogram.
+     */
+    @Value("${todo.histogram.max-buckets:1000}")
+    private int maxBuckets;
+
+    /**
+     * Computes created and completed counts per bucket over the half-open range [start, end).
+     * The first and last bucket are clipped to the range.
+     *
+     * @param granularity the bucket width
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the buckets in chronological order, including empty ones
+     * @throws IllegalArgumentException if the range is empty or needs too many buckets
+     */
+    @Transactional(readOnly = true)
+    public List<HistogramBucket> histogram(HistogramGranularity granularity, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("The histogram start must be before its end");
+        }
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime bucket = granularity.floor(start); bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            if (starts.size() == maxBuckets) {
+                throw new IllegalArgumentException("The histogram would have more than " + maxBuckets + " buckets");
+            }
+            starts.add(bucket);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> closed = starts.stream()
+                .filter(bucket -> !bucket.isBefore(start) && !granularity.next(bucket).isAfter(end)
+                        && !granularity.next(bucket).isAfter(now))
+                .toList();
+        Map<LocalDateTime, HistogramBucket> cached = closed.isEmpty()
+                ? Map.of()
+                : readCache.buckets(granularity, closed, missing -> loadClosed(granularity, missing));
+
+        List<HistogramBucket> buckets = new ArrayList<>(starts.size());
+        for (LocalDateTime bucket : starts) {
+            HistogramBucket closedBucket = cached.get(bucket);
+            if (closedBucket != null) {
+                buckets.add(closedBucket);
+            } else {
+                LocalDateTime from = bucket.isBefore(start) ? start : bucket;
+                LocalDateTime next = granularity.next(bucket);
+                LocalDateTime to = next.isAfter(end) ? end : next;
+                buckets.add(new HistogramBucket(from, to,
+                        todoRepository.countCreatedBetweenExclusive(from, to)
+                                + archiveService.countCreatedBetweenExclusive(from, to),
+                        todoRepository.countCompletedBetweenExclusive(from, to)
+                                + archiveService.countCompletedBetweenExclusive(from, to)));
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Counts the given whole buckets with one grouped query per counter, spanning
+     * from the first to the last of them.
+     */
+    private Map<LocalDateTime, HistogramBucket> loadClosed(HistogramGranularity granularity, List<LocalDateTime> starts) {
+        LocalDateTime from = starts.get(0);
+        LocalDateTime to = granularity.next(starts.get(starts.size() - 1));
+        Map<LocalDateTime, long[]> counts = new HashMap<>();
+        if (granularity == HistogramGranularity.HOUR) {
+            for (List<Object[]> rows : List.of(todoRepository.countCreatedPerHour(from, to),
+                    archiveService.countCreatedPerHour(from, to))) {
+                for (Object[] row : rows) {
+                    counts(counts, hour(row))[0] += (Long) row[2];
+                }
+            }
+            for (List<Object[]> rows : List.of(todoRepository.countCompletedPerHour(from, to),
+                    archiveService.countCompletedPerHour(from, to))) {
+                for (Object[] row : rows) {
+                    counts(counts, hour(row))[1] += (Long) row[2];
+                }
+            }
+        } else {
+            for (Object[] row : statsRepository.findCountsBetween(from.toLocalDate(), to.toLocalDate())) {
+                long[] bucket = counts(counts, granularity.floor(((LocalDate) row[0]).atStartOfDay()));
+                bucket[0] += (Long) row[1];
+                bucket[1] += (Long) row[2];
+            }
+        }
+
+        Map<LocalDateTime, HistogramBucket> buckets = new HashMap<>();
+        for (LocalDateTime bucket : starts) {
+            long[] bucketCounts = counts.getOrDefault(bucket, new long[2]);
+            buckets.put(bucket, new HistogramBucket(bucket, granularity.next(bucket), bucketCounts[0], bucketCounts[1]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the start of the hour of a [day, hour, count] row.
+     */
+    private static LocalDateTime hour(Object[] row) {
+        return ((LocalDate) row[0]).atTime(((Number) row[1]).intValue(), 0);
+    }
+
+    /**
+     * Looks up or creates the [created, completed] counters of a bucket.
+     */
+    private static long[] counts(Map<LocalDateTime, long[]> counts, LocalDateTime bucket) {
+        return counts.computeIfAbsent(bucket, b -> new long[2]);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk import, returned to the caller as JSON.
+ */
+@Value
+public class ImportResult {
+
+    /**
+     * Number of rows inserted.
+     */
+    long imported;
+
+    /**
+     * Wall-clock duration of the import in milliseconds.
+     */
+    long millis;
+
+    /**
+     * Achieved insert throughput.
+     */
+    long rowsPerSecond;
+}
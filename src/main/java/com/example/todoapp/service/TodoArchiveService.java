@@ -0,0 +1,157 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for reading the archive of old completed to-do items.
+ *
+ * Analytics add the archive counts from here to those of the primary table. Every
+ * archived item was completed, and therefore created, no later than the archive horizon,
+ * the latest completion in the archive. Ranges starting after the horizon (such as the
+ * default last seven days) skip the archive counts after one index lookup of the horizon.
+ * The horizon is read from the table every time, so it follows the archivers and bulk
+ * deletes of every instance.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoArchiveService {
+
+    /**
+     * Repository for the archived items.
+     */
+    private final TodoArchiveRepository archiveRepository;
+
+    /**
+     * Reads one page of the archive, newest first.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param size the maximum number of items on the page
+     * @return the requested page together with the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    public ArchivePage getArchivePage(Long after, int size) {
+        List<ArchivedTodo> rows = archiveRepository.findByIdLessThanOrderByIdDesc(
+                after == null ? Long.MAX_VALUE : after, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new ArchivePage(rows, size, null);
+        }
+        List<ArchivedTodo> todos = rows.subList(0, size);
+        return new ArchivePage(List.copyOf(todos), size, todos.get(size - 1).getId());
+    }
+
+    /**
+     * Counts archived items created in the inclusive range [start, end].
+     */
+    long countCreatedBetween(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.countByCreatedAtBetween(start, end) : 0;
+    }
+
+    /**
+     * Counts archived items completed in the inclusive range [start, end].
+     */
+    long countCompletedBetween(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.countByCompletedAtBetween(start, end) : 0;
+    }
+
+    /**
+     * Counts archived items created in the half-open range [start, end).
+     */
+    long countCreatedBetweenExclusive(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.countCreatedBetweenExclusive(start, end) : 0;
+    }
+
+    /**
+     * Counts archived items completed in the half-open range [start, end).
+     */
+    long countCompletedBetweenExclusive(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.countCompletedBetweenExclusive(start, end) : 0;
+    }
+
+    /**
+     * Aggregates archived creation counts per hour in [start, end) as [day, hour, count] rows.
+     */
+    List<Object[]> countCreatedPerHour(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.countCreatedPerHour(start, end) : List.of();
+    }
+
+    /**
+     * Aggregates archived completion counts per hour in [start, end) as [day, hour, count] rows.
+     */
+    List<Object[]> countCompletedPerHour(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.countCompletedPerHour(start, end) : List.of();
+    }
+
+    /**
+     * Aggregates all archived creation counts per day as [day, count] rows.
+     */
+    List<Object[]> countCreatedPerDay() {
+        return archiveRepository.countCreatedPerDay();
+    }
+
+    /**
+     * Aggregates all archived completion counts per day as [day, count] rows.
+     */
+    List<Object[]> countCompletedPerDay() {
+        return archiveRepository.countCompletedPerDay();
+    }
+
+    /**
+     * Reads the [createdAt, completedAt] rows of archived items completed in the inclusive range [start, end].
+     */
+    List<Object[]> findCompletionTimesBetween(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.findCompletionTimesBetween(start, end) : List.of();
+    }
+
+    /**
+     * Reads the [createdAt, completedAt] rows of archived items completed in the half-open range [start, end).
+     */
+    List<Object[]> findCompletionTimesBetweenExclusive(LocalDateTime start, LocalDateTime end) {
+        return reaches(start) ? archiveRepository.findCompletionTimesBetweenExclusive(start, end) : List.of();
+    }
+
+    /**
+     * Aggregates the creation counts of the given archived items per day as [day, count] rows.
+     */
+    List<Object[]> countCreatedPerDayIn(Collection<Long> ids) {
+        return archiveRepository.countCreatedPerDayIn(ids);
+    }
+
+    /**
+     * Aggregates the completion counts of the given archived items per day as [day, count] rows.
+     */
+    List<Object[]> countCompletedPerDayIn(Collection<Long> ids) {
+        return archiveRepository.countCompletedPerDayIn(ids);
+    }
+
+    /**
+     * Reads the [createdAt, completedAt] rows of the given archived items.
+     */
+    List<Object[]> findCompletionTimesIn(Collection<Long> ids) {
+        return archiveRepository.findCompletionTimesIn(ids);
+    }
+
+    /**
+     * Streams the [createdAt, completedAt] rows of all archived items.
+     */
+    Stream<Object[]> streamCompletionTimes() {
+        return archiveRepository.streamCompletionTimes();
+    }
+
+    /**
+     * Returns whether a range starting at the given instant can contain archived items.
+     */
+    private boolean reaches(LocalDateTime start) {
+        LocalDateTime horizon = archiveRepository.findMaxCompletedAt();
+        return horizon != null && !horizon.isBefore(start);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves old completed to-do items from the primary table into the archive.
+ *
+ * Runs every {@code todo.archive.interval} when {@code todo.archive.enabled=true}. Items
+ * completed more than {@code todo.archive.min-age} ago are moved in batches of
+ * {@code todo.archive.batch-size}, each in its own short transaction: the batch is
+ * locked with SKIP LOCKED, so rows a request is changing are left for the next run,
+ * copied with one INSERT ... SELECT and deleted with one DELETE. The daily rollup is
+ * left alone, since archived items still count in the analytics; the search index
+ * drops them, as the list and the search only show the primary table.
+ *
+ * Publishes the counter {@code todo.archive.moved}.
+ */
+@Slf4j
+@Service
+public class TodoArchiver {
+
+    /**
+     * Repository of the primary table.
+     */
+    private final TodoRepository todoRepository;
+
+    /**
+     * Repository of the archive.
+     */
+    private final TodoArchiveRepository archiveRepository;
+
+    /**
+     * Read cache, invalidated after every batch.
+     */
+    private final TodoReadCache readCache;
+
+    /**
+     * Name search index, from which archived items are removed.
+     */
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Change log through which the other instances learn of the archived items.
+     */
+    private final TodoChangeLog changeLog;
+
+    /**
+     * Publisher of the {@link TodoChangeEvent} raised after a run that moved items.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Template running each batch in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Minimum time since completion before an item is archived.
+     */
+    private final Duration minAge;
+
+    /**
+     * Maximum number of items moved per transaction.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of items moved to the archive.
+     */
+    private final Counter moved;
+
+    public TodoArchiver(TodoRepository todoRepository,
+                        TodoArchiveRepository archiveRepository,
+                        TodoReadCache readCache,
+                        TodoSearchIndex searchIndex,
+                        TodoChangeLog changeLog,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${todo.archive.min-age:90d}") Duration minAge,
+                        @Value("${todo.archive.batch-size:500}") int batchSize,
+                        MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.readCache = readCache;
+        this.searchIndex = searchIndex;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.moved = Counter.builder("todo.archive.moved")
+                .description("Completed to-do items moved to the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives on the configured schedule.
+     */
+    @Scheduled(initialDelayString = "${todo.archive.initial-delay:PT1M}", fixedDelayString = "${todo.archive.interval:PT1H}")
+    public void scheduledArchive() {
+        try {
+            long count = archive();
+            if (count > 0) log.info("Archived {} completed to-do items", count);
+        } catch (RuntimeException e) {
+            log.warn("Archiving completed to-do items failed", e);
+        }
+    }
+
+    /**
+     * Moves every item completed more than the minimum age ago into the archive, batch by batch.
+     *
+     * @return the number of moved items
+     */
+    public long archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        long total = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> moveBatch(cutoff));
+            total += count;
+        } while (count == batchSize);
+        if (total > 0) {
+            eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.RELOADED, null));
+        }
+        return total;
+    }
+
+    /**
+     * Moves one batch inside the current transaction.
+     */
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = todoRepository.lockArchivableIds(cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) return 0;
+        archiveRepository.copyFromTodos(ids, LocalDateTime.now());
+        todoRepository.deleteAllByIdIn(ids);
+        readCache.invalidateAll();
+        searchIndex.removeAll(ids);
+        changeLog.appendReloaded(ids);
+        moved.increment(ids.size());
+        return ids.size();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Service layer for set-based operations on many to-do items at once.
+ *
+ * Every operation runs in one transaction with a fixed number of statements, independent
+ * of how many items it touches, except for clearing completed items, which runs one such
+ * transaction per batch: the items are changed by a single UPDATE or DELETE,
+ * and the daily rollup is adjusted from grouped counts, with one counter update per
+ * affected day. Deletes and reopens lock the items first, so the counted rows are the
+ * rows that are changed. Deletes reach the archive too, adjusting the rollup for the
+ * archived items they remove; archived items are never reopened or completed, as the
+ * archive only holds completed items. Every public method is timed as
+ * {@code todo.service}, tagged with the method name, and a committed change publishes
+ * one {@link TodoChangeEvent} asking open pages to reload.
+ */
+@Service
+@Timed(value = "todo.service", description = "Time spent in a to-do service method")
+@RequiredArgsConstructor
+public class TodoBulkService {
+
+    /**
+     * Repository running the set-based statements.
+     */
+    private final TodoRepository todoRepository;
+
+    /**
+     * Repository of the archive, from which bulk deletes remove archived items too.
+     */
+    private final TodoArchiveRepository archiveRepository;
+
+    /**
+     * Service maintaining the per-day rollup used by the range counts.
+     */
+    private final DailyStatsService dailyStatsService;
+
+    /**
+     * Bounded cache in front of the read paths, invalidated by every bulk change.
+     */
+    private final TodoReadCache readCache;
+
+    /**
+     * Name search index, updated by bulk deletes.
+     */
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Change log through which the other instances learn of the changed items.
+     */
+    private final TodoChangeLog changeLog;
+
+    /**
+     * Publisher of the {@link TodoChangeEvent} raised by every bulk change.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Transaction manager used to clear completed items one batch per transaction.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Maximum number of IDs accepted by one operation, and the number of items deleted
+     * per transaction when clearing completed items.
+     */
+    @Value("${todo.bulk.max-ids:10000}")
+    private int maxIds;
+
+    /**
+     * Deletes the given to-do items, whether they are in the to-do table or in the archive.
+     * IDs that do not exist are ignored.
+     *
+     * @param ids the IDs of the items to delete
+     * @return the number of deleted items
+     * @throws IllegalArgumentException if no IDs or more than the configured maximum are given
+     */
+    @Transactional
+    public BulkResult deleteAll(Collection<Long> ids) {
+        Set<Long> checked = checked(ids);
+        List<Long> locked = new ArrayList<>(todoRepository.lockIdsIn(checked));
+        List<Long> archived = archiveRepository.lockIdsIn(checked);
+        int deleted = delete(locked) + deleteArchived(archived);
+        locked.addAll(archived);
+        return changed(deleted, locked);
+    }
+
+    /**
+     * Completes the pending items among the given ones, all with the same completion time.
+     * Items that are already completed, archived or do not exist are left alone. The items are locked
+     * first so that the rollup records the completion latency of exactly the completed ones.
+     *
+     * @param ids the IDs of the items to complete
+     * @return the number of items that were completed
+     * @throws IllegalArgumentException if no IDs or more than the configured maximum are given
+     */
+    @Transactional
+    public BulkResult completeAll(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> locked = todoRepository.lockIdsIn(checked(ids));
+        if (locked.isEmpty()) return changed(0, locked);
+        dailyStatsService.recordCompleting(locked, now);
+        return changed(todoRepository.completeAllByIdIn(locked, now, Todo.Status.COMPLETED, Todo.Status.PENDING), locked);
+    }
+
+    /**
+     * Reopens the completed items among the given ones. Items that are already pending,
+     * archived or do not exist are left alone.
+     *
+     * @param ids the IDs of the items to reopen
+     * @return the number of items that were reopened
+     * @throws IllegalArgumentException if no IDs or more than the configured maximum are given
+     */
+    @Transactional
+    public BulkResult reopenAll(Collection<Long> ids) {
+        List<Long> locked = todoRepository.lockIdsIn(checked(ids));
+        if (locked.isEmpty()) return changed(0, locked);
+        dailyStatsService.recordReopening(locked);
+        return changed(todoRepository.reopenAllByIdIn(locked, Todo.Status.COMPLETED, Todo.Status.PENDING), locked);
+    }
+
+    /**
+     * Deletes every item that was completed before the given time, from the to-do table
+     * and then from the archive, in batches of up to the configured maximum number of IDs.
+     * Each batch is locked, deleted and announced in its own transaction, so no transaction
+     * holds more than one batch of row locks; if a batch fails, the batches before it stay
+     * deleted.
+     *
+     * @param before the first completion time to keep
+     * @return the number of deleted items
+     */
+    public BulkResult deleteCompletedBefore(LocalDateTime before) {
+        return new BulkResult(
+                deleteInBatches(() -> todoRepository.lockCompletedIdsBefore(before, Limit.of(maxIds)), this::delete)
+                + deleteInBatches(() -> archiveRepository.lockCompletedIdsBefore(before, Limit.of(maxIds)),
+                        this::deleteArchived));
+    }
+
+    /**
+     * Locks and deletes batches in their own transactions until a batch comes back short.
+     */
+    private long deleteInBatches(Supplier<List<Long>> lockBatch, ToIntFunction<List<Long>> delete) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long deleted = 0;
+        long batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<Long> locked = lockBatch.get();
+                changed(delete.applyAsInt(locked), locked);
+                return (long) locked.size();
+            });
+            deleted += batch;
+        } while (batch == maxIds);
+        return deleted;
+    }
+
+    /**
+     * Deletes locked items, removing them from the rollup and the search index.
+     */
+    private int delete(List<Long> locked) {
+        if (locked.isEmpty()) return 0;
+        dailyStatsService.recordDeleting(locked);
+        int deleted = todoRepository.deleteAllByIdIn(locked);
+        searchIndex.removeAll(List.copyOf(locked));
+        return deleted;
+    }
+
+    /**
+     * Deletes locked archived items, removing them from the rollup.
+     */
+    private int deleteArchived(List<Long> locked) {
+        if (locked.isEmpty()) return 0;
+        dailyStatsService.recordDeletingArchived(locked);
+        return archiveRepository.deleteAllByIdIn(locked);
+    }
+
+    /**
+     * Invalidates the caches, logs the items that may have changed and announces the change
+     * if any item was affected.
+     */
+    private BulkResult changed(int affected, Collection<Long> ids) {
+        if (affected > 0) {
+            readCache.invalidateAll();
+            changeLog.appendReloaded(ids);
+            eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.RELOADED, null));
+        }
+        return new BulkResult(affected);
+    }
+
+    /**
+     * Drops null and duplicate IDs and enforces the size limit.
+     */
+    private Set<Long> checked(Collection<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) unique.add(id);
+            }
+        }
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID is required");
+        }
+        if (unique.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " IDs are accepted per request");
+        }
+        return unique;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+/**
+ * Application event describing a committed change to the to-do list.
+ *
+ * Published by the services for every create, toggle and delete, and once per bulk
+ * import. Listeners that push the change to open pages should react after commit.
+ */
+@Value
+public class TodoChangeEvent {
+
+    /**
+     * What happened to the list.
+     */
+    public enum Kind {
+        /** A single item was created. */
+        CREATED,
+        /** The status of a single item changed. */
+        UPDATED,
+        /** A single item was deleted. */
+        DELETED,
+        /** Many items changed at once; the list should be reloaded. */
+        RELOADED
+    }
+
+    /**
+     * The kind of change.
+     */
+    Kind kind;
+
+    /**
+     * The ID of the changed item, or null for {@link Kind#RELOADED}.
+     */
+    Long id;
+}
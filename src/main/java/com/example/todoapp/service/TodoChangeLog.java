@@ -0,0 +1,172 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoChange;
+import com.example.todoapp.repository.TodoChangeLogRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends every change to the to-do list to the change log, from which the other instances
+ * invalidate their caches ({@link TodoChangeLogTailer}).
+ *
+ * Inside a transaction the changes are collected and inserted in one batch just before
+ * commit, so they become visible together with the change itself and not at all on
+ * rollback. Outside a transaction they are inserted at once. Disabled with
+ * {@code todo.change-log.enabled=false}, for single-instance deployments.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoChangeLog {
+
+    private final TodoChangeLogRepository changeLogRepository;
+
+    /**
+     * Whether changes are appended to the log.
+     */
+    @Getter
+    @Value("${todo.change-log.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * ID of this instance, recorded with every change it appends.
+     */
+    @Getter
+    private final String origin = UUID.randomUUID().toString();
+
+    /**
+     * Records the creation of an item.
+     *
+     * @param todo the created item
+     */
+    public void appendCreated(Todo todo) {
+        append(List.of(created(todo)));
+    }
+
+    /**
+     * Records a status toggle.
+     *
+     * @param id the ID of the toggled item
+     * @param previousCompletedAt the completion time before the toggle, or null if it was pending
+     * @param completedAt the completion time after the toggle, or null if it was reopened
+     */
+    public void appendToggled(Long id, LocalDateTime previousCompletedAt, LocalDateTime completedAt) {
+        append(List.of(toggled(id, previousCompletedAt, completedAt)));
+    }
+
+    /**
+     * Records the deletion of an item.
+     *
+     * @param todo the deleted item
+     */
+    public void appendDeleted(Todo todo) {
+        append(List.of(deleted(todo)));
+    }
+
+    /**
+     * Records that the given items changed in a way not described by their timestamps,
+     * such as a bulk operation.
+     *
+     * @param ids the IDs of the changed items
+     */
+    public void appendReloaded(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        append(ids.stream().map(id -> change(TodoChange.Kind.RELOADED, id, now).build()).toList());
+    }
+
+    /**
+     * Records that the whole list changed, such as after an import.
+     */
+    public void appendReloaded() {
+        append(List.of(change(TodoChange.Kind.RELOADED, null, LocalDateTime.now()).build()));
+    }
+
+    /**
+     * @param todo the created item
+     * @return the log entry for its creation
+     */
+    public TodoChange created(Todo todo) {
+        return change(TodoChange.Kind.CREATED, todo.getId(), LocalDateTime.now())
+                .createdAt(todo.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * @param id the ID of the toggled item
+     * @param previousCompletedAt the completion time before the toggle
+     * @param completedAt the completion time after the toggle
+     * @return the log entry for the toggle
+     */
+    public TodoChange toggled(Long id, LocalDateTime previousCompletedAt, LocalDateTime completedAt) {
+        return change(TodoChange.Kind.UPDATED, id, LocalDateTime.now())
+                .previousCompletedAt(previousCompletedAt)
+                .completedAt(completedAt)
+                .build();
+    }
+
+    /**
+     * @param todo the deleted item
+     * @return the log entry for its deletion
+     */
+    public TodoChange deleted(Todo todo) {
+        return change(TodoChange.Kind.DELETED, todo.getId(), LocalDateTime.now())
+                .createdAt(todo.getCreatedAt())
+                .completedAt(todo.getCompletedAt())
+                .build();
+    }
+
+    private TodoChange.TodoChangeBuilder change(TodoChange.Kind kind, Long id, LocalDateTime now) {
+        return TodoChange.builder().origin(origin).kind(kind).todoId(id).changedAt(now);
+    }
+
+    /**
+     * Inserts the changes before the current transaction commits, or at once without one.
+     */
+    private void append(List<TodoChange> changes) {
+        if (!enabled) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeLogRepository.append(changes);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<TodoChange> pending = (List<TodoChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<TodoChange> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changeLogRepository.append(batch);
+                }
+
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(TodoChangeLog.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(TodoChangeLog.this, batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TodoChangeLog.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.addAll(changes);
+    }
+}
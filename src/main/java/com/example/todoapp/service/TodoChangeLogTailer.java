@@ -0,0 +1,346 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoChange;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.repository.TodoChangeLogRepository;
+import com.example.todoapp.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the changes other instances append to the change log to this instance's read
+ * cache and search index, and republishes them as {@link TodoChangeEvent}s so the page
+ * stamp, the live updates and the replica routing react as for local changes.
+ *
+ * Polls the log every {@code todo.change-log.poll-interval}, starting from its end at
+ * startup. Every change is applied precisely: a create, toggle or delete invalidates only
+ * the cached pages and counts its timestamps fall into, like the same change made here.
+ * Changes to many items invalidate everything and reconcile the index for those items.
+ *
+ * Sequence numbers are assigned on insert, but the rows become visible at commit, so a
+ * later number can show up before an earlier one. Missing numbers below a visible one are
+ * therefore waited for up to {@code todo.change-log.gap-timeout} (rolled back and
+ * cached-but-unused numbers never show up) before the log is read past them. Should the
+ * log be unreadable for longer than {@code todo.change-log.max-staleness}, the caches are
+ * cleared once, so this instance falls back to the database instead of serving arbitrarily
+ * old data. Entries older than {@code todo.change-log.retention} are pruned.
+ *
+ * Publishes the counter {@code todo.change.log.applied} and the gauge
+ * {@code todo.change.log.staleness} (seconds since the log was last read).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "todo.change-log.enabled", havingValue = "true", matchIfMissing = true)
+public class TodoChangeLogTailer {
+
+    /**
+     * Marks the absence of a gap being waited for.
+     */
+    private static final long NO_GAP = -1;
+
+    /**
+     * Minimum time between two prunes of the log.
+     */
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final TodoChangeLogRepository changeLogRepository;
+
+    /**
+     * Appending side, whose origin identifies this instance's own changes.
+     */
+    private final TodoChangeLog changeLog;
+
+    private final TodoRepository todoRepository;
+
+    private final TodoReadCache readCache;
+
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Rebuilds the search index after a change to the whole list.
+     */
+    private final TodoSearchService searchService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reads item names from the primary, where the change is known to be visible.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration pollInterval;
+
+    private final long gapTimeoutNanos;
+
+    private final long maxStalenessNanos;
+
+    private final Duration retention;
+
+    private final int batchSize;
+
+    /**
+     * Number of changes made by other instances that were applied here.
+     */
+    private final Counter applied;
+
+    private final ScheduledExecutorService poller;
+
+    /**
+     * Highest sequence number up to which every change has been applied.
+     */
+    private long watermark;
+
+    /**
+     * Sequence numbers above the watermark that have already been applied.
+     */
+    private final TreeSet<Long> seen = new TreeSet<>();
+
+    /**
+     * When the gap right above the watermark was first seen, or {@link #NO_GAP}.
+     */
+    private long gapSince = NO_GAP;
+
+    /**
+     * When the log was last read successfully.
+     */
+    private volatile long lastPollNanos = System.nanoTime();
+
+    /**
+     * Whether the caches were cleared because the log could not be read.
+     */
+    private boolean stale;
+
+    private long lastPruneNanos = System.nanoTime();
+
+    public TodoChangeLogTailer(TodoChangeLogRepository changeLogRepository,
+                               TodoChangeLog changeLog,
+                               TodoRepository todoRepository,
+                               TodoReadCache readCache,
+                               TodoSearchIndex searchIndex,
+                               TodoSearchService searchService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${todo.change-log.poll-interval:500ms}") Duration pollInterval,
+                               @Value("${todo.change-log.gap-timeout:5s}") Duration gapTimeout,
+                               @Value("${todo.change-log.max-staleness:10s}") Duration maxStaleness,
+                               @Value("${todo.change-log.retention:1h}") Duration retention,
+                               @Value("${todo.change-log.batch-size:1000}") int batchSize,
+                               MeterRegistry meterRegistry) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLog = changeLog;
+        this.todoRepository = todoRepository;
+        this.readCache = readCache;
+        this.searchIndex = searchIndex;
+        this.searchService = searchService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pollInterval = pollInterval;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.retention = retention;
+        this.batchSize = batchSize;
+
+        this.applied = Counter.builder("todo.change.log.applied")
+                .description("Changes made by other instances applied to this instance's caches")
+                .register(meterRegistry);
+        Gauge.builder("todo.change.log.staleness", this, tailer -> (System.nanoTime() - tailer.lastPollNanos) / 1e9)
+                .description("Seconds since the change log was last read")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-change-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts tailing from the current end of the log, before the search index is built,
+     * so no change is missed between the two.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void start() {
+        watermark = changeLogRepository.maxSeq();
+        lastPollNanos = System.nanoTime();
+        long interval = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads the changes past the watermark and applies those made by other instances.
+     */
+    public synchronized void poll() {
+        long now = System.nanoTime();
+        List<TodoChange> changes;
+        try {
+            changes = changeLogRepository.findAfter(watermark, batchSize);
+        } catch (RuntimeException e) {
+            if (!stale && now - lastPollNanos > maxStalenessNanos) {
+                stale = true;
+                log.warn("Change log unreadable for longer than the maximum staleness, clearing the caches", e);
+                readCache.invalidateAll();
+                eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.RELOADED, null));
+            } else {
+                log.debug("Could not read the change log", e);
+            }
+            return;
+        }
+        lastPollNanos = now;
+        stale = false;
+
+        List<TodoChange> remote = new ArrayList<>();
+        for (TodoChange change : changes) {
+            if (seen.add(change.getSeq()) && !changeLog.getOrigin().equals(change.getOrigin())) {
+                remote.add(change);
+            }
+        }
+        try {
+            apply(remote);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply changes from the change log, clearing the caches", e);
+            readCache.invalidateAll();
+        }
+        advanceWatermark(now);
+        prune(now);
+    }
+
+    /**
+     * Applies changes made by other instances, in log order.
+     */
+    private void apply(List<TodoChange> changes) {
+        if (changes.isEmpty()) return;
+        List<TodoChangeEvent> events = new ArrayList<>();
+        Set<Long> created = new LinkedHashSet<>();
+        Set<Long> reloaded = new LinkedHashSet<>();
+        boolean reloadedAll = false;
+        for (TodoChange change : changes) {
+            Long id = change.getTodoId();
+            switch (change.getKind()) {
+                case CREATED -> {
+                    readCache.invalidateCreated(change.getCreatedAt());
+                    created.add(id);
+                    events.add(new TodoChangeEvent(TodoChangeEvent.Kind.CREATED, id));
+                }
+                case UPDATED -> {
+                    readCache.invalidateToggled(id, change.getPreviousCompletedAt(), change.getCompletedAt());
+                    events.add(new TodoChangeEvent(TodoChangeEvent.Kind.UPDATED, id));
+                }
+                case DELETED -> {
+                    readCache.invalidateDeleted(Todo.builder()
+                            .id(id)
+                            .createdAt(change.getCreatedAt())
+                            .completedAt(change.getCompletedAt())
+                            .build());
+                    searchIndex.remove(id);
+                    created.remove(id);
+                    events.add(new TodoChangeEvent(TodoChangeEvent.Kind.DELETED, id));
+                }
+                case RELOADED -> {
+                    if (id == null) reloadedAll = true;
+                    else reloaded.add(id);
+                }
+            }
+        }
+        if (reloadedAll || !reloaded.isEmpty()) {
+            readCache.invalidateAll();
+            events.add(new TodoChangeEvent(TodoChangeEvent.Kind.RELOADED, null));
+        }
+        if (reloadedAll) {
+            searchService.buildIndex();
+        } else {
+            reindex(created, reloaded);
+        }
+        events.forEach(eventPublisher::publishEvent);
+        applied.increment(changes.size());
+    }
+
+    /**
+     * Indexes the created items and the changed ones that still exist, and removes the
+     * changed ones that are gone.
+     */
+    private void reindex(Set<Long> created, Set<Long> reloaded) {
+        if (!searchIndex.isEnabled() || (created.isEmpty() && reloaded.isEmpty())) return;
+        Set<Long> ids = new LinkedHashSet<>(created);
+        ids.addAll(reloaded);
+        List<TodoSummary> rows = transactionTemplate.execute(status -> todoRepository.findByIdIn(ids, TodoSummary.class));
+        Set<Long> gone = new HashSet<>(reloaded);
+        for (TodoSummary row : rows) {
+            searchIndex.add(row.getId(), row.getName());
+            gone.remove(row.getId());
+        }
+        searchIndex.removeAll(gone);
+    }
+
+    /**
+     * Moves the watermark over the applied changes, and past a gap once it has been
+     * waited for long enough.
+     */
+    private void advanceWatermark(long now) {
+        while (true) {
+            while (!seen.isEmpty() && seen.first() == watermark + 1) {
+                watermark = seen.pollFirst();
+            }
+            if (seen.isEmpty()) {
+                gapSince = NO_GAP;
+                return;
+            }
+            if (gapSince == NO_GAP) {
+                gapSince = now;
+                return;
+            }
+            if (now - gapSince < gapTimeoutNanos) return;
+            log.debug("Skipping change log entries {} to {}", watermark + 1, seen.first() - 1);
+            watermark = seen.first() - 1;
+            gapSince = NO_GAP;
+        }
+    }
+
+    /**
+     * Deletes the entries older than the retention period, at most once a minute.
+     */
+    private void prune(long now) {
+        if (now - lastPruneNanos < PRUNE_INTERVAL_NANOS) return;
+        lastPruneNanos = now;
+        try {
+            changeLogRepository.deleteChangedBefore(LocalDateTime.now().minus(retention));
+        } catch (RuntimeException e) {
+            log.warn("Could not prune the change log", e);
+        }
+    }
+
+    /**
+     * Stops polling.
+     */
+    @PreDestroy
+    public void close() {
+        poller.shutdownNow();
+    }
+}
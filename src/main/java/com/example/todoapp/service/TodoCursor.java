@@ -0,0 +1,63 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the keyset cursors used by the paginated to-do list.
+ *
+ * A cursor carries the (status, createdAt, id) key of a row in the form
+ * "PENDING~2024-03-10T12:00:00.123~42", which is enough to resume any TodoSort.
+ * The creation timestamp is never null (see Todo#defaultCreatedAt and the V6 migration),
+ * so every row has a cursor.
+ */
+final class TodoCursor {
+
+    private static final String SEPARATOR = "~";
+
+    private TodoCursor() {
+    }
+
+    /**
+     * Builds the cursor for the given row.
+     *
+     * @param todo the row the cursor should point at
+     * @return the encoded cursor
+     */
+    static String encode(TodoSummary todo) {
+        return todo.getStatus() + SEPARATOR + todo.getCreatedAt() + SEPARATOR + todo.getId();
+    }
+
+    /**
+     * Decodes a cursor into a keyset scroll position for the given sort.
+     *
+     * @param cursor the encoded cursor
+     * @param sort the sort order the keys must match
+     * @param forward true to read the rows after the cursor, false for the rows before it
+     * @return the scroll position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static ScrollPosition decode(String cursor, TodoSort sort, boolean forward) {
+        String[] parts = cursor.split(SEPARATOR);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            if (sort == TodoSort.PENDING_FIRST) {
+                keys.put("status", Todo.Status.valueOf(parts[0]));
+            }
+            keys.put("createdAt", LocalDateTime.parse(parts[1]));
+            keys.put("id", Long.valueOf(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        return forward ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+    }
+}
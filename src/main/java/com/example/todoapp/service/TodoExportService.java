@@ -0,0 +1,179 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for exporting all to-do items, archived ones included.
+ *
+ * Rows are read through forward-only repository streams, first the primary table and
+ * then the archive, and written straight to the caller's output stream, so memory use
+ * does not depend on table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoExportService {
+
+    /**
+     * Repository providing the forward-only stream of to-do items.
+     */
+    private final TodoRepository todoRepository;
+
+    /**
+     * Repository providing the forward-only stream of archived items.
+     */
+    private final TodoArchiveRepository archiveRepository;
+
+    /**
+     * Entity manager used to detach rows once they have been written.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Object mapper used to serialize NDJSON lines.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Number of rows written between two flushes of the output stream.
+     */
+    @Value("${todo.export.flush-rows:1000}")
+    private int flushRows;
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /**
+         * @return the MIME type of the exported body
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return the file extension for the download
+         */
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Writes every to-do item to the given output stream in the requested format: the
+     * items of the primary table in ID order, then the archived ones in ID order. Archived
+     * items are written as COMPLETED and, in NDJSON, without a version, since they can no
+     * longer be updated. Each row is detached as soon as it has been written, and the
+     * output is flushed every {@code todo.export.flush-rows} rows.
+     *
+     * @param format the export format
+     * @param out the stream to write to; it is flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write("id,name,status,createdAt,completedAt\n");
+        }
+
+        long rows = 0;
+        try (Stream<Todo> todos = todoRepository.streamAllByOrderById()) {
+            Iterator<Todo> iterator = todos.iterator();
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, todo);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(todo));
+                    writer.write('\n');
+                }
+                entityManager.detach(todo);
+                if (++rows % flushRows == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        try (Stream<ArchivedTodo> archived = archiveRepository.streamAllByOrderById()) {
+            Iterator<ArchivedTodo> iterator = archived.iterator();
+            while (iterator.hasNext()) {
+                ArchivedTodo row = iterator.next();
+                Todo todo = Todo.builder()
+                        .id(row.getId())
+                        .name(row.getName())
+                        .createdAt(row.getCreatedAt())
+                        .completedAt(row.getCompletedAt())
+                        .status(Todo.Status.COMPLETED)
+                        .build();
+                if (format == Format.CSV) {
+                    writeCsv(writer, todo);
+                } else {
+                    ObjectNode json = objectMapper.valueToTree(todo);
+                    json.remove("version");
+                    writer.write(objectMapper.writeValueAsString(json));
+                    writer.write('\n');
+                }
+                entityManager.detach(row);
+                if (++rows % flushRows == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * Writes one CSV record, quoting the name field.
+     */
+    private static void writeCsv(Writer writer, Todo todo) throws IOException {
+        writer.write(String.valueOf(todo.getId()));
+        writer.write(',');
+        writer.write(quote(todo.getName()));
+        writer.write(',');
+        writer.write(todo.getStatus() == null ? "" : todo.getStatus().name());
+        writer.write(',');
+        writer.write(todo.getCreatedAt() == null ? "" : todo.getCreatedAt().toString());
+        writer.write(',');
+        writer.write(todo.getCompletedAt() == null ? "" : todo.getCompletedAt().toString());
+        writer.write('\n');
+    }
+
+    /**
+     * Quotes a CSV field, doubling embedded quotes.
+     */
+    private static String quote(String value) {
+        if (value == null) return "";
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Service layer for bulk-importing to-do items.
+ *
+ * The upload is parsed as a stream and inserted in chunks, each chunk in its own
+ * transaction. Within a chunk Hibernate groups the inserts into JDBC batches of
+ * {@code hibernate.jdbc.batch_size}, which the pooled ID sequence makes possible.
+ * Chunks that were committed before a parse error stay imported.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoImportService {
+
+    /**
+     * Entity manager used to persist, flush and clear each chunk.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Service maintaining the per-day rollup for the imported rows.
+     */
+    private final DailyStatsService dailyStatsService;
+
+    /**
+     * Read cache, dropped after every committed chunk.
+     */
+    private final TodoReadCache readCache;
+
+    /**
+     * Name search index, updated with every committed chunk.
+     */
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Change log through which the other instances learn of every committed chunk.
+     */
+    private final TodoChangeLog changeLog;
+
+    /**
+     * Object mapper used to read JSON uploads.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Publisher of the {@link TodoChangeEvent} raised once a whole import has committed.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Transaction manager used to commit each chunk separately.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Number of rows committed per transaction.
+     */
+    @Value("${todo.import.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Supported upload formats.
+     */
+    public enum Format {
+        /**
+         * A JSON array of to-do objects, or newline-delimited JSON objects (as produced by the export).
+         */
+        JSON,
+        /**
+         * CSV with a header row naming the columns: name, status, createdAt, completedAt.
+         */
+        CSV
+    }
+
+    /**
+     * Imports every to-do item read from the given stream.
+     *
+     * Each row gets a fresh ID; a missing status defaults to PENDING, a missing
+     * creation time to now, and a COMPLETED row without a completion time is
+     * completed now.
+     *
+     * @param format the upload format
+     * @param in the upload body
+     * @return the number of rows imported and the achieved throughput
+     * @throws IllegalArgumentException if the upload cannot be parsed
+     * @throws IOException if reading the upload fails
+     */
+    public ImportResult importTodos(Format format, InputStream in) throws IOException {
+        long started = System.nanoTime();
+        Iterator<Todo> rows;
+        try {
+            rows = format == Format.CSV
+                    ? new CsvTodoIterator(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+                    : objectMapper.readerFor(Todo.class).readValues(in);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid import upload", e);
+        }
+
+        long imported = 0;
+        List<Todo> chunk = new ArrayList<>(chunkSize);
+        try {
+            while (rows.hasNext()) {
+                chunk.add(normalize(rows.next()));
+                if (chunk.size() == chunkSize) {
+                    imported += insertChunk(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += insertChunk(chunk);
+            }
+        } catch (RuntimeJsonMappingException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid import row after " + (imported + chunk.size()) + " rows", e);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // MappingIterator wraps syntax errors in a plain RuntimeException
+            if (e.getCause() instanceof JsonProcessingException) {
+                throw new IllegalArgumentException("Invalid import row after " + (imported + chunk.size()) + " rows", e);
+            }
+            throw e;
+        } finally {
+            // Chunks committed before a bad row stay imported, so the change is announced either way
+            if (imported > 0) {
+                eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.RELOADED, null));
+            }
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        return new ImportResult(imported, millis, imported * 1000 / millis);
+    }
+
+    /**
+     * Persists one chunk in its own transaction and detaches it afterwards.
+     * The chunk's items are added to the search index once the transaction commits.
+     */
+    private int insertChunk(List<Todo> chunk) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Todo todo : chunk) {
+                entityManager.persist(todo);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            dailyStatsService.recordImported(chunk);
+            readCache.invalidateAll();
+            chunk.forEach(todo -> searchIndex.add(todo.getId(), todo.getName()));
+            changeLog.appendReloaded(chunk.stream().map(Todo::getId).toList());
+        });
+        return chunk.size();
+    }
+
+    /**
+     * Applies import defaults to a parsed row.
+     */
+    private static Todo normalize(Todo todo) {
+        if (todo.getName() == null || todo.getName().isBlank()) {
+            throw new IllegalArgumentException("Every imported row needs a name");
+        }
+        todo.setId(null);
+        todo.setVersion(0);
+        if (todo.getCreatedAt() == null) todo.setCreatedAt(LocalDateTime.now());
+        if (todo.getStatus() == null) todo.setStatus(Todo.Status.PENDING);
+        if (todo.getStatus() == Todo.Status.PENDING) {
+            todo.setCompletedAt(null);
+        } else if (todo.getCompletedAt() == null) {
+            todo.setCompletedAt(LocalDateTime.now());
+        }
+        return todo;
+    }
+
+    /**
+     * Reads CSV records one at a time, supporting quoted fields with embedded
+     * commas, doubled quotes and line breaks.
+     */
+    private static final class CsvTodoIterator implements Iterator<Todo> {
+
+        private final BufferedReader reader;
+        private final int nameColumn;
+        private final int statusColumn;
+        private final int createdAtColumn;
+        private final int completedAtColumn;
+        private List<String> next;
+
+        CsvTodoIterator(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                header = List.of("name");
+            }
+            List<String> columns = header.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+            this.nameColumn = columns.indexOf("name");
+            this.statusColumn = columns.indexOf("status");
+            this.createdAtColumn = columns.indexOf("createdat");
+            this.completedAtColumn = columns.indexOf("completedat");
+            if (nameColumn < 0) {
+                throw new IllegalArgumentException("CSV header must contain a 'name' column");
+            }
+            this.next = readRecord();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Todo next() {
+            if (next == null) throw new NoSuchElementException();
+            List<String> record = next;
+            try {
+                next = readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            String status = field(record, statusColumn);
+            String createdAt = field(record, createdAtColumn);
+            String completedAt = field(record, completedAtColumn);
+            return Todo.builder()
+                    .name(field(record, nameColumn))
+                    .status(status == null ? null : Todo.Status.valueOf(status.trim().toUpperCase(Locale.ROOT)))
+                    .createdAt(createdAt == null ? null : LocalDateTime.parse(createdAt.trim()))
+                    .completedAt(completedAt == null ? null : LocalDateTime.parse(completedAt.trim()))
+                    .build();
+        }
+
+        /**
+         * Returns a field by column index, or null if the column is absent or empty.
+         */
+        private static String field(List<String> record, int column) {
+            if (column < 0 || column >= record.size()) return null;
+            String value = record.get(column);
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Reads one CSV record, skipping blank lines; returns null at end of input.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                    any = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                } else if (ch == '\n') {
+                    if (!any && field.isEmpty()) continue;
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                    any = true;
+                }
+            }
+            if (c == -1 && !any && field.isEmpty()) return null;
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
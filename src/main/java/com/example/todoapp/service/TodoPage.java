@@ -0,0 +1,41 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.TodoSummary;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of the keyset-paginated to-do list.
+ *
+ * Cursors are opaque strings that point at the last (next) or first (previous)
+ * row of the page; they are null when there is no page in that direction.
+ */
+@Value
+public class TodoPage {
+
+    /**
+     * The to-do items on this page, in display order.
+     */
+    List<TodoSummary> todos;
+
+    /**
+     * The sort order used to produce this page.
+     */
+    TodoSort sort;
+
+    /**
+     * The maximum number of items per page.
+     */
+    int size;
+
+    /**
+     * Cursor for the following page, or null if this is the last page.
+     */
+    String nextCursor;
+
+    /**
+     * Cursor for the preceding page, or null if this is the first page.
+     */
+    String prevCursor;
+}
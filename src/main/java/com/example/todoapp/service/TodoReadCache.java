@@ -0,0 +1,325 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.config.ReplicaRoutingDataSource;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoState;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache in front of the to-do read paths.
+ *
+ * Caches the state lookups used by the status toggle, list pages, range counts and
+ * closed histogram buckets, each with a maximum size and a time-to-live. Mutations
+ * invalidate exactly what they can affect: the toggled or deleted item's state, the
+ * list pages (all of them for creates and deletes, the pages containing the item for
+ * toggles), only the counts whose range contains a changed timestamp, and only the
+ * histogram buckets containing it. Invalidation runs immediately and
+ * again after the surrounding transaction commits, and a load that overlaps an
+ * invalidation is not kept, so readers never repopulate the cache with data from
+ * before a commit.
+ *
+ * Lookups of a request pinned to the primary by the replica stickiness go straight to
+ * the loader and keep nothing, as the cached entries may predate the client's own change
+ * on another instance.
+ *
+ * Enabled with {@code todo.cache.enabled}; hit, miss and eviction statistics are
+ * published as the Micrometer cache metrics of the caches "todoState", "todoPages",
+ * "todoCounts" and "todoBuckets".
+ */
+@Component
+public class TodoReadCache {
+
+    /**
+     * Which timestamp a cached range count is over.
+     */
+    public enum CountKind { CREATED, COMPLETED }
+
+    private record PageKey(TodoSort sort, int size, String after, String before) {
+    }
+
+    private record CountKey(CountKind kind, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record BucketKey(HistogramGranularity granularity, LocalDateTime start) {
+    }
+
+    /**
+     * False when caching is switched off; every lookup then goes to the loader.
+     */
+    private final boolean enabled;
+
+    private final Cache<Long, TodoState> states;
+    private final Cache<PageKey, TodoPage> pages;
+    private final Cache<CountKey, Long> counts;
+    private final Cache<BucketKey, HistogramBucket> buckets;
+
+    /**
+     * Incremented by every invalidation, so that loads overlapping one can be discarded.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public TodoReadCache(@Value("${todo.cache.enabled:true}") boolean enabled,
+                         @Value("${todo.cache.ttl:30s}") Duration ttl,
+                         @Value("${todo.cache.max-states:10000}") long maxStates,
+                         @Value("${todo.cache.max-pages:1000}") long maxPages,
+                         @Value("${todo.cache.max-counts:1000}") long maxCounts,
+                         @Value("${todo.cache.max-buckets:10000}") long maxBuckets,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.states = build(ttl, maxStates);
+        this.pages = build(ttl, maxPages);
+        this.counts = build(ttl, maxCounts);
+        this.buckets = build(ttl, maxBuckets);
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, states, "todoState");
+            CaffeineCacheMetrics.monitor(meterRegistry, pages, "todoPages");
+            CaffeineCacheMetrics.monitor(meterRegistry, counts, "todoCounts");
+            CaffeineCacheMetrics.monitor(meterRegistry, buckets, "todoBuckets");
+        }
+    }
+
+    /**
+     * Returns the cached state of an item, loading it on a miss. Missing items are not cached.
+     *
+     * @param id the ID of the to-do item
+     * @param loader reads the state from the database
+     * @return the state, or empty if the item does not exist
+     */
+    public Optional<TodoState> state(Long id, Supplier<Optional<TodoState>> loader) {
+        if (bypassed()) return loader.get();
+        TodoState cached = states.getIfPresent(id);
+        if (cached != null) return Optional.of(cached);
+        long seen = generation.get();
+        Optional<TodoState> loaded = loader.get();
+        loaded.ifPresent(state -> keep(states, id, state, seen));
+        return loaded;
+    }
+
+    /**
+     * Returns a cached list page, loading it on a miss.
+     *
+     * @param sort the sort order
+     * @param size the page size
+     * @param after the "after" cursor, may be null
+     * @param before the "before" cursor, may be null
+     * @param loader reads the page from the database
+     * @return the page
+     */
+    public TodoPage page(TodoSort sort, int size, String after, String before, Supplier<TodoPage> loader) {
+        if (bypassed()) return loader.get();
+        PageKey key = new PageKey(sort, size, after, before);
+        TodoPage cached = pages.getIfPresent(key);
+        if (cached != null) return cached;
+        long seen = generation.get();
+        TodoPage loaded = loader.get();
+        keep(pages, key, loaded, seen);
+        return loaded;
+    }
+
+    /**
+     * Returns a cached range count, loading it on a miss.
+     *
+     * @param kind which timestamp is counted
+     * @param start the start of the range
+     * @param end the end of the range
+     * @param loader counts in the database
+     * @return the count
+     */
+    public long count(CountKind kind, LocalDateTime start, LocalDateTime end, LongSupplier loader) {
+        if (bypassed()) return loader.getAsLong();
+        CountKey key = new CountKey(kind, start, end);
+        Long cached = counts.getIfPresent(key);
+        if (cached != null) return cached;
+        long seen = generation.get();
+        long loaded = loader.getAsLong();
+        keep(counts, key, loaded, seen);
+        return loaded;
+    }
+
+    /**
+     * Returns cached histogram buckets, loading all missing ones with a single loader call.
+     * Callers must only pass closed, whole buckets, whose counts change only through
+     * mutations that invalidate them.
+     *
+     * @param granularity the bucket width
+     * @param starts the bucket start times to look up
+     * @param loader computes the given missing buckets, keyed by start time
+     * @return the buckets keyed by start time
+     */
+    public Map<LocalDateTime, HistogramBucket> buckets(
+            HistogramGranularity granularity, List<LocalDateTime> starts,
+            Function<List<LocalDateTime>, Map<LocalDateTime, HistogramBucket>> loader) {
+        if (bypassed()) return loader.apply(starts);
+        Map<LocalDateTime, HistogramBucket> result = new HashMap<>();
+        List<LocalDateTime> missing = new ArrayList<>();
+        for (LocalDateTime start : starts) {
+            HistogramBucket cached = buckets.getIfPresent(new BucketKey(granularity, start));
+            if (cached != null) {
+                result.put(start, cached);
+            } else {
+                missing.add(start);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long seen = generation.get();
+            Map<LocalDateTime, HistogramBucket> loaded = loader.apply(missing);
+            loaded.forEach((start, bucket) -> keep(buckets, new BucketKey(granularity, start), bucket, seen));
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the cached state of one item, e.g. after a lost optimistic-lock race.
+     *
+     * @param id the ID of the to-do item
+     */
+    public void evictState(Long id) {
+        if (!enabled) return;
+        generation.incrementAndGet();
+        states.invalidate(id);
+    }
+
+    /**
+     * Invalidates what a newly created item affects.
+     *
+     * @param createdAt the creation timestamp of the new item
+     */
+    public void invalidateCreated(LocalDateTime createdAt) {
+        invalidate(() -> {
+            pages.invalidateAll();
+            evictCounts(CountKind.CREATED, createdAt);
+            evictBuckets(createdAt);
+        });
+    }
+
+    /**
+     * Invalidates what a status toggle affects.
+     *
+     * @param id the ID of the toggled item
+     * @param previousCompletedAt the completion timestamp before the toggle, may be null
+     * @param newCompletedAt the completion timestamp after the toggle, may be null
+     */
+    public void invalidateToggled(Long id, LocalDateTime previousCompletedAt, LocalDateTime newCompletedAt) {
+        invalidate(() -> {
+            states.invalidate(id);
+            pages.asMap().entrySet().removeIf(entry -> entry.getKey().sort() == TodoSort.PENDING_FIRST
+                    || entry.getValue().getTodos().stream().anyMatch(todo -> id.equals(todo.getId())));
+            evictCounts(CountKind.COMPLETED, previousCompletedAt);
+            evictCounts(CountKind.COMPLETED, newCompletedAt);
+            evictBuckets(previousCompletedAt);
+            evictBuckets(newCompletedAt);
+        });
+    }
+
+    /**
+     * Invalidates what a deleted item affects.
+     *
+     * @param todo the deleted item
+     */
+    public void invalidateDeleted(Todo todo) {
+        invalidate(() -> {
+            states.invalidate(todo.getId());
+            pages.invalidateAll();
+            evictCounts(CountKind.CREATED, todo.getCreatedAt());
+            evictCounts(CountKind.COMPLETED, todo.getCompletedAt());
+            evictBuckets(todo.getCreatedAt());
+            evictBuckets(todo.getCompletedAt());
+        });
+    }
+
+    /**
+     * Drops every cached entry, e.g. after a bulk import.
+     */
+    public void invalidateAll() {
+        invalidate(() -> {
+            states.invalidateAll();
+            pages.invalidateAll();
+            counts.invalidateAll();
+            buckets.invalidateAll();
+        });
+    }
+
+    /**
+     * Runs an invalidation now and, inside a transaction, again after commit.
+     */
+    private void invalidate(Runnable invalidation) {
+        if (!enabled) return;
+        generation.incrementAndGet();
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts the cached counts of the given kind whose range contains the timestamp.
+     */
+    private void evictCounts(CountKind kind, LocalDateTime at) {
+        if (at == null) return;
+        counts.asMap().keySet().removeIf(key -> key.kind() == kind
+                && !at.isBefore(key.start()) && !at.isAfter(key.end()));
+    }
+
+    /**
+     * Evicts the histogram bucket containing the timestamp, for every granularity.
+     */
+    private void evictBuckets(LocalDateTime at) {
+        if (at == null) return;
+        for (HistogramGranularity granularity : HistogramGranularity.values()) {
+            buckets.invalidate(new BucketKey(granularity, granularity.floor(at)));
+        }
+    }
+
+    /**
+     * Returns whether lookups skip the cache, because it is switched off or the request is
+     * pinned to the primary.
+     */
+    private boolean bypassed() {
+        return !enabled || ReplicaRoutingDataSource.isPinnedToPrimary();
+    }
+
+    /**
+     * Stores a loaded value unless an invalidation started since the load began.
+     * The generation is checked again after the put to close the window between
+     * the check and the put.
+     */
+    private <K, V> void keep(Cache<K, V> cache, K key, V value, long seen) {
+        if (generation.get() != seen) return;
+        cache.put(key, value);
+        if (generation.get() != seen) cache.invalidate(key);
+    }
+
+    private static <K, V> Cache<K, V> build(Duration ttl, long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
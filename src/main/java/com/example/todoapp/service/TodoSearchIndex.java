@@ -0,0 +1,493 @@
+package com.example.todoapp.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process trigram index over to-do names, backing the name search.
+ *
+ * Every lower-cased name is broken into its trigrams plus "word-start" grams for the
+ * first one and two characters of each word. A query term of three or more characters
+ * is looked up by intersecting the posting lists of its trigrams (substring match); a
+ * shorter term by the posting list of its word-start gram (word-prefix match). Every
+ * candidate is verified against the stored name, so hash collisions or grams that
+ * appear in the wrong order never produce false hits.
+ *
+ * Posting lists are sorted arrays of IDs, so appending the ever-increasing IDs of new
+ * items is cheap. The index is filled once on startup and then kept current by creates,
+ * imports and deletes, which are applied after their transaction commits.
+ *
+ * The heap the index occupies is estimated as it grows. If it would exceed
+ * {@code todo.search.max-memory}, the index is dropped and {@link #isReady()} turns
+ * false until the next rebuild, so that searches can fall back to the database
+ * instead of returning incomplete results. The estimate is published as the gauge
+ * {@code todo.search.index.bytes}, the number of indexed items as
+ * {@code todo.search.index.items}.
+ */
+@Slf4j
+@Component
+public class TodoSearchIndex {
+
+    /**
+     * Matched IDs in rank order, and whether matching stopped at the limit.
+     *
+     * @param ids the IDs of the matching items, best match first
+     * @param truncated true if more items matched than were ranked
+     */
+    public record Matches(List<Long> ids, boolean truncated) {
+    }
+
+    /**
+     * Stands for the position before a word in word-start grams.
+     */
+    private static final char WORD_START = '\u0001';
+
+    /**
+     * Estimated heap cost of one indexed item besides its name: map entry, boxed key, string header.
+     */
+    private static final long ITEM_BYTES = 96;
+
+    /**
+     * Estimated heap cost of one posting, including spare array capacity.
+     */
+    private static final long POSTING_BYTES = 12;
+
+    /**
+     * Estimated heap cost of one gram: map entry, boxed key and an empty posting list.
+     */
+    private static final long GRAM_BYTES = 112;
+
+    /**
+     * False when the index is switched off; it then never becomes ready.
+     */
+    private final boolean enabled;
+
+    /**
+     * Heap budget for the index, in bytes.
+     */
+    private final long maxBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Lower-cased name of every indexed item, by ID.
+     */
+    private final Map<Long, String> names = new HashMap<>();
+
+    /**
+     * Sorted IDs of the items containing each gram.
+     */
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * IDs deleted while a rebuild is running, which the rebuild must not add back.
+     */
+    private final Set<Long> removedDuringBuild = new HashSet<>();
+
+    /**
+     * Estimated heap occupied by the index, in bytes.
+     */
+    private long estimatedBytes;
+
+    /**
+     * True while a rebuild is streaming the table into the index.
+     */
+    private boolean building;
+
+    /**
+     * True when the index was dropped because it outgrew its budget.
+     */
+    private boolean overflowed;
+
+    /**
+     * True when the index holds every item and can answer searches.
+     */
+    private volatile boolean ready;
+
+    public TodoSearchIndex(@Value("${todo.search.enabled:true}") boolean enabled,
+                           @Value("${todo.search.max-memory:64MB}") DataSize maxMemory,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxBytes = maxMemory.toBytes();
+        Gauge.builder("todo.search.index.items", this, index -> index.read(index.names::size))
+                .description("To-do items in the name search index")
+                .register(meterRegistry);
+        Gauge.builder("todo.search.index.bytes", this, index -> index.read(() -> index.estimatedBytes))
+                .description("Estimated heap occupied by the name search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true if the index is switched on
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true if the index holds every item and searches can be answered from it
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes a new item once the surrounding transaction commits, or immediately outside one.
+     *
+     * @param id the ID of the item
+     * @param name the name of the item
+     */
+    public void add(Long id, String name) {
+        if (!enabled || id == null || name == null) return;
+        afterCommit(() -> write(() -> index(id, normalize(name))));
+    }
+
+    /**
+     * Removes an item once the surrounding transaction commits, or immediately outside one.
+     *
+     * @param id the ID of the item
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) return;
+        afterCommit(() -> write(() -> {
+            if (building) removedDuringBuild.add(id);
+            unindex(id);
+        }));
+    }
+
+    /**
+     * Removes many items under a single write lock once the surrounding transaction
+     * commits, or immediately outside one.
+     *
+     * @param ids the IDs of the items
+     */
+    public void removeAll(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) return;
+        afterCommit(() -> write(() -> {
+            for (Long id : ids) {
+                if (building) removedDuringBuild.add(id);
+                unindex(id);
+            }
+        }));
+    }
+
+    /**
+     * Empties the index before a rebuild. Until {@link #finishBuild()} the index is not ready,
+     * while creates and deletes keep being applied.
+     */
+    public void beginBuild() {
+        write(() -> {
+            ready = false;
+            building = true;
+            overflowed = false;
+            names.clear();
+            postings.clear();
+            removedDuringBuild.clear();
+            estimatedBytes = 0;
+        });
+    }
+
+    /**
+     * Indexes an item read by the rebuild, unless it was deleted since the rebuild started.
+     *
+     * @param id the ID of the item
+     * @param name the name of the item
+     */
+    public void addBuilt(Long id, String name) {
+        if (id == null || name == null) return;
+        write(() -> {
+            if (!removedDuringBuild.contains(id)) index(id, normalize(name));
+        });
+    }
+
+    /**
+     * Ends a rebuild; the index becomes ready unless it outgrew its budget.
+     */
+    public void finishBuild() {
+        write(() -> {
+            building = false;
+            removedDuringBuild.clear();
+            ready = !overflowed;
+        });
+    }
+
+    /**
+     * Finds the items whose name contains every term of the query, best match first.
+     *
+     * A name that equals the query ranks first, then names starting with a term, then names
+     * with a word starting with a term, then plain substring matches. Ties go to the shorter
+     * name, then to the newer item. Candidates are verified newest first, so when more than
+     * {@code maxMatches} items match, the newest ones are ranked.
+     *
+     * @param query the search text; terms are separated by whitespace
+     * @param maxMatches the maximum number of matches to rank
+     * @return the matching IDs in rank order
+     */
+    public Matches search(String query, int maxMatches) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) return new Matches(List.of(), false);
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                for (long gram : queryGrams(term)) {
+                    Postings list = postings.get(gram);
+                    if (list == null) return new Matches(List.of(), false);
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+
+            String phrase = String.join(" ", terms);
+            List<long[]> ranked = new ArrayList<>();
+            boolean truncated = false;
+            for (int i = shortest.size - 1; i >= 0; i--) {
+                long id = shortest.ids[i];
+                if (!containedInAll(lists, id)) continue;
+                String name = names.get(id);
+                int score = score(name, phrase, terms);
+                if (score == 0) continue;
+                if (ranked.size() == maxMatches) {
+                    truncated = true;
+                    break;
+                }
+                ranked.add(new long[]{id, score, name.length()});
+            }
+            ranked.sort(Comparator.<long[]>comparingLong(match -> -match[1])
+                    .thenComparingLong(match -> match[2])
+                    .thenComparingLong(match -> -match[0]));
+            return new Matches(ranked.stream().map(match -> match[0]).toList(), truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a query into lower-cased terms.
+     */
+    static List<String> terms(String query) {
+        if (query == null) return List.of();
+        String normalized = normalize(query).strip();
+        if (normalized.isEmpty()) return List.of();
+        return List.of(normalized.split("\\s+"));
+    }
+
+    /**
+     * Adds an item and its grams, dropping the whole index if it outgrows the budget.
+     */
+    private void index(Long id, String name) {
+        if (overflowed || names.containsKey(id)) return;
+        names.put(id, name);
+        estimatedBytes += ITEM_BYTES + 2L * name.length();
+        for (long gram : nameGrams(name)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                list = new Postings();
+                postings.put(gram, list);
+                estimatedBytes += GRAM_BYTES;
+            }
+            if (list.add(id)) estimatedBytes += POSTING_BYTES;
+        }
+        if (estimatedBytes > maxBytes) {
+            log.warn("Name search index exceeds its budget of {} bytes with {} items; searches fall back "
+                    + "to the database until the next rebuild", maxBytes, names.size());
+            overflowed = true;
+            ready = false;
+            names.clear();
+            postings.clear();
+            estimatedBytes = 0;
+        }
+    }
+
+    /**
+     * Removes an item and its postings.
+     */
+    private void unindex(Long id) {
+        String name = names.remove(id);
+        if (name == null) return;
+        estimatedBytes -= ITEM_BYTES + 2L * name.length();
+        for (long gram : nameGrams(name)) {
+            Postings list = postings.get(gram);
+            if (list == null || !list.remove(id)) continue;
+            estimatedBytes -= POSTING_BYTES;
+            if (list.size == 0) {
+                postings.remove(gram);
+                estimatedBytes -= GRAM_BYTES;
+            }
+        }
+    }
+
+    /**
+     * Scores a verified match, or returns 0 if the name does not contain every term.
+     */
+    private static int score(String name, String phrase, List<String> terms) {
+        if (name.equals(phrase)) return 1000;
+        int score = 0;
+        for (String term : terms) {
+            if (name.startsWith(term)) {
+                score += 50;
+            } else if (wordStartIndex(name, term) >= 0) {
+                score += 30;
+            } else if (term.length() >= 3 && name.contains(term)) {
+                score += 10;
+            } else {
+                return 0;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the term at the start of a word, or -1.
+     */
+    private static int wordStartIndex(String name, String term) {
+        for (int at = name.indexOf(term); at >= 0; at = name.indexOf(term, at + 1)) {
+            if (at == 0 || Character.isWhitespace(name.charAt(at - 1))) return at;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns every distinct gram of a name: all trigrams and the word-start grams of each word.
+     */
+    private static long[] nameGrams(String name) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            grams.add(gram(name.charAt(i), name.charAt(i + 1), name.charAt(i + 2)));
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isWhitespace(name.charAt(i)) || (i > 0 && !Character.isWhitespace(name.charAt(i - 1)))) {
+                continue;
+            }
+            grams.add(gram(WORD_START, WORD_START, name.charAt(i)));
+            if (i + 1 < name.length()) grams.add(gram(WORD_START, name.charAt(i), name.charAt(i + 1)));
+        }
+        return grams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Returns the grams every match of a term must contain.
+     */
+    private static long[] queryGrams(String term) {
+        if (term.length() == 1) return new long[]{gram(WORD_START, WORD_START, term.charAt(0))};
+        if (term.length() == 2) return new long[]{gram(WORD_START, term.charAt(0), term.charAt(1))};
+        long[] grams = new long[term.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(term.charAt(i), term.charAt(i + 1), term.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    private static boolean containedInAll(List<Postings> lists, long id) {
+        for (Postings list : lists) {
+            if (!list.contains(id)) return false;
+        }
+        return true;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Runs an index change after the surrounding transaction commits, or now outside one.
+     */
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double read(LongSupplier value) {
+        lock.readLock().lock();
+        try {
+            return value.getAsLong();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ascending IDs of the items containing one gram.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        /**
+         * Inserts an ID, appending in the common case of a new, highest ID.
+         *
+         * @return false if the ID was already present
+         */
+        boolean add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                at = -at - 1;
+            } else if (at < size) {
+                return false;
+            }
+            if (size == ids.length) ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+            return true;
+        }
+
+        /**
+         * @return false if the ID was not present
+         */
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return false;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.TodoSummary;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of name search results.
+ */
+@Value
+public class TodoSearchResult {
+
+    /**
+     * The search text as entered.
+     */
+    String query;
+
+    /**
+     * The matching items on this page, best match first.
+     */
+    List<TodoSummary> todos;
+
+    /**
+     * The zero-based page number.
+     */
+    int page;
+
+    /**
+     * The maximum number of items per page.
+     */
+    int size;
+
+    /**
+     * The number of matching items on all pages.
+     */
+    long total;
+
+    /**
+     * True if more items matched than were ranked, so that {@code total} is a lower bound.
+     */
+    boolean truncated;
+
+    /**
+     * @return true if a following page exists
+     */
+    public boolean hasNext() {
+        return (long) (page + 1) * size < total;
+    }
+
+    /**
+     * @return true if a preceding page exists
+     */
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for searching to-do items by name.
+ *
+ * Searches are answered from the in-process {@link TodoSearchIndex}, which is built by
+ * streaming the table on startup; only the items on the requested page are then read
+ * from the database. While the index is being built, or after it outgrew its memory
+ * budget, searches fall back to a case-insensitive substring scan in the database,
+ * which matches the whole query as one string and lists the newest items first.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoSearchService {
+
+    /**
+     * Repository used to build the index, read result pages and for the fallback scan.
+     */
+    private final TodoRepository todoRepository;
+
+    /**
+     * The in-process name index.
+     */
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Transaction manager used to stream the table while building the index.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Upper bound for the number of matches ranked per search.
+     */
+    @Value("${todo.search.max-matches:10000}")
+    private int maxMatches;
+
+    /**
+     * Finds the to-do items whose name matches the query and returns one page of them.
+     *
+     * @param query the search text; every whitespace-separated term must match
+     * @param page the zero-based page number
+     * @param size the maximum number of items on the page
+     * @return the requested page of matches, best match first
+     */
+    @Transactional(readOnly = true)
+    public TodoSearchResult search(String query, int page, int size) {
+        String text = query == null ? "" : query.strip();
+        if (text.isEmpty()) {
+            return new TodoSearchResult(text, List.of(), page, size, 0, false);
+        }
+        if (!searchIndex.isReady()) {
+            List<TodoSummary> todos = todoRepository.findByNameContainingIgnoreCase(
+                    text, PageRequest.of(page, size, Sort.by(Sort.Order.desc("id"))), TodoSummary.class);
+            return new TodoSearchResult(text, todos, page, size,
+                    todoRepository.countByNameContainingIgnoreCase(text), false);
+        }
+
+        TodoSearchIndex.Matches matches = searchIndex.search(text, maxMatches);
+        List<Long> ids = matches.ids();
+        int from = (int) Math.min((long) page * size, ids.size());
+        List<Long> pageIds = ids.subList(from, Math.min(from + size, ids.size()));
+        Map<Long, TodoSummary> rows = pageIds.isEmpty() ? Map.of()
+                : todoRepository.findByIdIn(pageIds, TodoSummary.class).stream()
+                .collect(Collectors.toMap(TodoSummary::getId, Function.identity()));
+        List<TodoSummary> todos = pageIds.stream().map(rows::get).filter(Objects::nonNull).toList();
+        return new TodoSearchResult(text, todos, page, size, ids.size(), matches.truncated());
+    }
+
+    /**
+     * Builds the name index on startup by streaming the ID and name of every item.
+     * Creates and deletes that happen meanwhile are applied to the index as usual.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        if (!searchIndex.isEnabled()) return;
+        searchIndex.beginBuild();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = todoRepository.streamNamesByOrderById()) {
+                rows.forEach(row -> searchIndex.addBuilt((Long) row[0], (String) row[1]));
+            }
+        });
+        searchIndex.finishBuild();
+    }
+}
@@ -1,28 +1,70 @@
 package com.example.todoapp.service;
 
 import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoState;
+import com.example.todoapp.model.TodoSummary;
 import com.example.todoapp.repository.TodoRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service layer for managing to-do items.
  *
  * Provides business logic for creating, retrieving, deleting, updating status,
- * and analyzing to-do tasks.
+ * and analyzing to-do tasks. Every public method is timed as {@code todo.service},
+ * tagged with the method name. Every mutation publishes a {@link TodoChangeEvent}.
  */
 @Service
+@Timed(value = "todo.service", description = "Time spent in a to-do service method")
 @RequiredArgsConstructor
 public class TodoService {
 
+    /**
+     * How many times a toggle is retried when the row changes between reading and updating it.
+     */
+    private static final int MAX_TOGGLE_ATTEMPTS = 10;
+
     /**
      * Repository for accessing and managing To-do entities in the database.
      */
     private final TodoRepository todoRepository;
 
+    /**
+     * Service maintaining the per-day rollup used by the range counts.
+     */
+    private final DailyStatsService dailyStatsService;
+
+    /**
+     * Bounded cache in front of the read paths, invalidated by every mutation.
+     */
+    private final TodoReadCache readCache;
+
+    /**
+     * Name search index, updated by creates and deletes.
+     */
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Change log through which the other instances learn of every mutation.
+     */
+    private final TodoChangeLog changeLog;
+
+    /**
+     * Publisher of the {@link TodoChangeEvent} raised by every mutation.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves all to-do items from the database.
      *
@@ -32,6 +74,59 @@ public class TodoService {
         return todoRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of to-do items using keyset pagination.
+     *
+     * With no cursor the first page is returned. An "after" cursor reads the page
+     * following that row and a "before" cursor the page preceding it; when both
+     * are given, "after" wins. Pages are served from the read cache when possible.
+     * Rows are read as {@link TodoSummary} projections rather than managed entities.
+     *
+     * @param sort the sort order of the list
+     * @param size the maximum number of items on the page
+     * @param after cursor of the row to continue after, may be null
+     * @param before cursor of the row to continue before, may be null
+     * @return the requested page together with its navigation cursors
+     * @throws IllegalArgumentException if a cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public TodoPage getTodoPage(TodoSort sort, int size, String after, String before) {
+        return readCache.page(sort, size, after, before, () -> loadTodoPage(sort, size, after, before));
+    }
+
+    /**
+     * Reads one page of to-do items from the database, bypassing the cache.
+     */
+    private TodoPage loadTodoPage(TodoSort sort, int size, String after, String before) {
+        boolean forward = after != null || before == null;
+        ScrollPosition position = after != null ? TodoCursor.decode(after, sort, true)
+                : before != null ? TodoCursor.decode(before, sort, false)
+                : ScrollPosition.keyset();
+
+        Window<TodoSummary> window = todoRepository.findAllBy(position, sort.toSort(), Limit.of(size), TodoSummary.class);
+        List<TodoSummary> todos = window.getContent();
+        if (todos.isEmpty()) {
+            return new TodoPage(todos, sort, size, null, null);
+        }
+
+        boolean hasNext = !forward || window.hasNext();
+        boolean hasPrev = forward ? after != null : window.hasNext();
+        return new TodoPage(todos, sort, size,
+                hasNext ? TodoCursor.encode(todos.get(todos.size() - 1)) : null,
+                hasPrev ? TodoCursor.encode(todos.get(0)) : null);
+    }
+
+    /**
+     * Reads a single to-do item as shown in the list view.
+     *
+     * @param id the ID of the to-do item
+     * @return the item, or empty if it does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<TodoSummary> getTodoSummary(Long id) {
+        return todoRepository.findSummaryById(id);
+    }
+
     /**
      * Creates a new to-do item with the given name.
      * The item is marked as 'PENDING' and the creation timestamp is set to the current time.
@@ -39,23 +134,39 @@ public class TodoService {
      * @param name the name or title of the new to-do item
      * @return the saved To-do entity
      */
+    @Transactional
     public Todo createTodo(String name) {
         Todo todo = Todo.builder()
                 .name(name)
                 .createdAt(LocalDateTime.now())
                 .status(Todo.Status.PENDING)
                 .build();
-        return todoRepository.save(todo);
+        Todo saved = todoRepository.save(todo);
+        dailyStatsService.recordCreated(todo.getCreatedAt());
+        readCache.invalidateCreated(todo.getCreatedAt());
+        searchIndex.add(saved.getId(), saved.getName());
+        changeLog.appendCreated(saved);
+        eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.CREATED, saved.getId()));
+        return saved;
     }
 
     /**
      * Deletes a to-do item by its ID.
      * If the ID does not exist, this method will silently do nothing.
+     * The item's creation and completion are removed from the daily rollup.
      *
      * @param id the ID of the to-do item to delete
      */
+    @Transactional
     public void deleteTodo(Long id) {
-        todoRepository.deleteById(id);
+        todoRepository.findById(id).ifPresent(todo -> {
+            todoRepository.delete(todo);
+            dailyStatsService.recordDeleted(todo.getCreatedAt(), todo.getCompletedAt());
+            readCache.invalidateDeleted(todo);
+            searchIndex.remove(todo.getId());
+            changeLog.appendDeleted(todo);
+            eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.DELETED, todo.getId()));
+        });
     }
 
     /**
@@ -66,40 +177,92 @@ public class TodoService {
      * If it's 'PENDING', it becomes 'COMPLETED' and the current time is set
      * as the completion date.
      *
+     * The flip is a single version-guarded UPDATE, so no entity is loaded or
+     * dirty-checked, and two concurrent toggles of the same item both take effect
+     * instead of one silently overwriting the other. If the row changed between
+     * reading its state and updating it, the toggle is retried.
+     *
      * @param id the ID of the to-do item whose status should be toggled
+     * @return the new status, or empty if the item does not exist
+     * @throws OptimisticLockingFailureException if the item kept changing concurrently
      */
-    public void toggleStatus(Long id) {
-        todoRepository.findById(id).ifPresent(todo -> {
-            if (todo.getStatus() == Todo.Status.COMPLETED) {
-                todo.setStatus(Todo.Status.PENDING);
-                todo.setCompletedAt(null);
-            } else {
-                todo.setStatus(Todo.Status.COMPLETED);
-                todo.setCompletedAt(LocalDateTime.now());
+    @Transactional
+    public Optional<Todo.Status> toggleStatus(Long id) {
+        for (int attempt = 0; attempt < MAX_TOGGLE_ATTEMPTS; attempt++) {
+            Optional<TodoState> current = readCache.state(id, () -> todoRepository.findStateById(id));
+            if (current.isEmpty()) {
+                return Optional.empty();
             }
-            todoRepository.save(todo);
-        });
+            TodoState state = current.get();
+            LocalDateTime now = LocalDateTime.now();
+            if (todoRepository.toggleStatus(id, state.getVersion(), now,
+                    Todo.Status.COMPLETED, Todo.Status.PENDING) == 1) {
+                eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.UPDATED, id));
+                if (state.getStatus() == Todo.Status.COMPLETED) {
+                    dailyStatsService.recordReopened(state.getCreatedAt(), state.getCompletedAt());
+                    readCache.invalidateToggled(id, state.getCompletedAt(), null);
+                    changeLog.appendToggled(id, state.getCompletedAt(), null);
+                    return Optional.of(Todo.Status.PENDING);
+                }
+                dailyStatsService.recordCompleted(state.getCreatedAt(), now);
+                readCache.invalidateToggled(id, null, now);
+                changeLog.appendToggled(id, null, now);
+                return Optional.of(Todo.Status.COMPLETED);
+            }
+            readCache.evictState(id);
+        }
+        throw new OptimisticLockingFailureException("To-do " + id + " was modified concurrently");
     }
 
     /**
      * Counts how many to-do items were created within the specified time range.
+     * Whole days are read from the daily rollup; only the partial days at the
+     * edges of the range are counted in the database.
      *
      * @param start the start of the date range
      * @param end the end of the date range
      * @return the number of To-do items created in the given range
      */
     public long countCreatedInRange(LocalDateTime start, LocalDateTime end) {
-        return todoRepository.findByCreatedAtBetween(start, end).size();
+        return readCache.count(TodoReadCache.CountKind.CREATED, start, end,
+                () -> dailyStatsService.countCreated(start, end));
     }
 
     /**
      * Counts how many to-do items were completed within the specified time range.
+     * Whole days are read from the daily rollup; only the partial days at the
+     * edges of the range are counted in the database.
      *
      * @param start the start of the date range
      * @param end the end of the date range
      * @return the number of To-do items completed in the given range
      */
     public long countCompletedInRange(LocalDateTime start, LocalDateTime end) {
-        return todoRepository.findByCompletedAtBetween(start, end).size();
+        return readCache.count(TodoReadCache.CountKind.COMPLETED, start, end,
+                () -> dailyStatsService.countCompleted(start, end));
+    }
+
+    /**
+     * Summarizes how long the to-do items completed within the specified time range took
+     * from creation to completion: mean, median, 90th and 99th percentile, and maximum.
+     * Whole days merge the per-day latency sketches of the rollup; only the items completed
+     * on the partial days at the edges of the range are read from the database.
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the completion latency of the items completed in the given range
+     */
+    public CompletionLatency getCompletionLatency(LocalDateTime start, LocalDateTime end) {
+        return dailyStatsService.getCompletionLatency(start, end);
+    }
+
+    /**
+     * Counts the to-do items that are still pending, regardless of when they were created.
+     *
+     * @return the number of pending To-do items
+     */
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return todoRepository.countPending();
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.todoapp.service;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Stable sort orders offered by the paginated to-do list.
+ *
+ * Every order ends with the creation timestamp and the ID so that it is total,
+ * which is what keyset pagination needs to never skip or repeat a row.
+ */
+public enum TodoSort {
+
+    /**
+     * Most recently created items first.
+     */
+    NEWEST(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))),
+
+    /**
+     * Oldest items first.
+     */
+    OLDEST(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"))),
+
+    /**
+     * Pending items before completed ones, newest first within each group.
+     * Status is stored as a string, and 'PENDING' sorts after 'COMPLETED'.
+     */
+    PENDING_FIRST(Sort.by(Sort.Order.desc("status"), Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+
+    /**
+     * The Spring Data sort backing this order.
+     */
+    private final Sort sort;
+
+    TodoSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    /**
+     * @return the Spring Data sort backing this order
+     */
+    public Sort toSort() {
+        return sort;
+    }
+
+    /**
+     * Parses a request parameter such as "newest" or "pending-first", falling back to NEWEST.
+     *
+     * @param value the raw parameter value, may be null
+     * @return the matching sort order
+     */
+    public static TodoSort fromParam(String value) {
+        if (value == null || value.isBlank()) return NEWEST;
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return NEWEST;
+        }
+    }
+
+    /**
+     * @return the request parameter form of this order, e.g. "pending-first"
+     */
+    public String toParam() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
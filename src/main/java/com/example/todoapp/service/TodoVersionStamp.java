@@ -0,0 +1,55 @@
+package com.example.todoapp.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version stamp of the to-do table, advanced after every committed change.
+ *
+ * Every mutation path (single-item changes, bulk operations, imports and the archiver)
+ * publishes a {@link TodoChangeEvent}; the stamp is bumped when its transaction commits.
+ * Anything rendered after reading stamp {@code s} reflects at least the changes up to
+ * {@code s}, so a response tagged with the stamp read before it was built can be reused
+ * for as long as the stamp does not move. The stamp starts with the instance's start time,
+ * so stamps from before a restart never match again.
+ *
+ * The stamp is per instance, like {@link TodoReadCache}. Changes made through another
+ * instance advance it once {@link TodoChangeLogTailer} reads them from the change log and
+ * republishes them, about one poll interval after they commit; with the change log
+ * disabled, they do not advance it.
+ */
+@Component
+public class TodoVersionStamp {
+
+    /**
+     * Distinguishes this instance's stamps from those of earlier runs.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Number of committed changes since startup.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Returns the current stamp. Read it before reading the data a response is built from.
+     *
+     * @return an opaque stamp that changes with every committed change
+     */
+    public String current() {
+        return epoch + "-" + Long.toString(version.get(), 36);
+    }
+
+    /**
+     * Advances the stamp once a change has committed. Changes made outside a
+     * transaction advance it immediately.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoChangeEvent event) {
+        version.incrementAndGet();
+    }
+}
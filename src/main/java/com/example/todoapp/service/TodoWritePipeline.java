@@ -0,0 +1,337 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Group-commit pipeline for to-do mutations.
+ *
+ * Enabled with {@code todo.write-pipeline.enabled=true}. Creates, toggles and deletes
+ * are put on a bounded queue and applied by a single writer thread, which commits
+ * up to {@code max-batch-size} of them in one transaction, waiting at most
+ * {@code max-linger-ms} for a batch to fill. Redundant operations on the same item
+ * within a batch are collapsed: toggle pairs cancel out and a delete absorbs any
+ * toggles of the same item. Callers block until their batch has committed.
+ *
+ * A caller waits at most {@code ack-timeout-ms} in total, for queue space and for the
+ * commit. If the writer has not taken its mutation by then, the mutation is cancelled
+ * and the caller is rejected, so retrying cannot apply it twice. Once the writer has
+ * taken it, the caller waits for the commit instead.
+ *
+ * Publishes the gauge {@code todo.write.queue.depth}, the distribution summary
+ * {@code todo.write.batch.size} and the counter {@code todo.write.coalesced}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "todo.write-pipeline.enabled", havingValue = "true")
+public class TodoWritePipeline {
+
+    /**
+     * Service applying the individual mutations inside the batch transaction.
+     */
+    private final TodoService todoService;
+
+    /**
+     * Template running each batch in a single transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Bounded queue of pending mutations.
+     */
+    private final BlockingQueue<Command> queue;
+
+    /**
+     * Maximum number of mutations committed in one transaction.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time the writer waits for more mutations once a batch has started.
+     */
+    private final long maxLingerNanos;
+
+    /**
+     * Maximum time a caller waits, in total, to enqueue and for its batch to commit.
+     */
+    private final long ackTimeoutMillis;
+
+    /**
+     * Distribution of committed batch sizes.
+     */
+    private final DistributionSummary batchSizes;
+
+    /**
+     * Number of mutations dropped because they cancelled out or were absorbed.
+     */
+    private final Counter coalesced;
+
+    /**
+     * The single writer thread.
+     */
+    private final Thread writer;
+
+    /**
+     * Cleared on shutdown to stop the writer after the queue is drained.
+     */
+    private volatile boolean running = true;
+
+    public TodoWritePipeline(TodoService todoService,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${todo.write-pipeline.queue-capacity:10000}") int queueCapacity,
+                             @Value("${todo.write-pipeline.max-batch-size:200}") int maxBatchSize,
+                             @Value("${todo.write-pipeline.max-linger-ms:5}") long maxLingerMillis,
+                             @Value("${todo.write-pipeline.ack-timeout-ms:5000}") long ackTimeoutMillis) {
+        this.todoService = todoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+        this.ackTimeoutMillis = ackTimeoutMillis;
+
+        Gauge.builder("todo.write.queue.depth", queue, BlockingQueue::size)
+                .description("Mutations waiting for the write pipeline")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("todo.write.batch.size")
+                .description("Mutations committed per write-pipeline transaction")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("todo.write.coalesced")
+                .description("Mutations collapsed away by the write pipeline")
+                .register(meterRegistry);
+        this.writer = new Thread(this::runWriter, "todo-write-pipeline");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Kinds of mutations handled by the pipeline.
+     */
+    private enum Type { CREATE, TOGGLE, DELETE }
+
+    /**
+     * Lifecycle of a queued mutation. It leaves QUEUED exactly once: claimed by the writer
+     * or cancelled by a caller that stopped waiting.
+     */
+    private enum State { QUEUED, CLAIMED, CANCELLED }
+
+    /**
+     * A queued mutation together with the future acknowledging it.
+     */
+    private record Command(Type type, Long id, String name, CompletableFuture<Object> result,
+                           AtomicReference<State> state) {
+        Command(Type type, Long id, String name) {
+            this(type, id, name, new CompletableFuture<>(), new AtomicReference<>(State.QUEUED));
+        }
+
+        /**
+         * Takes the command for execution, unless its caller has cancelled it.
+         */
+        boolean claim() {
+            return state.compareAndSet(State.QUEUED, State.CLAIMED);
+        }
+
+        /**
+         * Withdraws the command, unless the writer has already taken it.
+         */
+        boolean cancel() {
+            return state.compareAndSet(State.QUEUED, State.CANCELLED);
+        }
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Stops accepting work, lets the writer drain the queue and waits for it to finish.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(ackTimeoutMillis);
+    }
+
+    /**
+     * Creates a new to-do item through the pipeline and waits until it is committed.
+     *
+     * @param name the name or title of the new to-do item
+     * @return the saved To-do entity
+     */
+    public Todo createTodo(String name) {
+        return (Todo) execute(new Command(Type.CREATE, null, name));
+    }
+
+    /**
+     * Toggles the status of a to-do item through the pipeline and waits until it is committed.
+     *
+     * @param id the ID of the to-do item whose status should be toggled
+     */
+    public void toggleStatus(Long id) {
+        execute(new Command(Type.TOGGLE, id, null));
+    }
+
+    /**
+     * Deletes a to-do item through the pipeline and waits until it is committed.
+     *
+     * @param id the ID of the to-do item to delete
+     */
+    public void deleteTodo(Long id) {
+        execute(new Command(Type.DELETE, id, null));
+    }
+
+    /**
+     * Enqueues a command and waits for it to be committed, within one ack timeout overall.
+     *
+     * @throws RejectedExecutionException if the pipeline is stopped or saturated, or the
+     *         command timed out before the writer took it; the command is then never applied
+     */
+    private Object execute(Command command) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ackTimeoutMillis);
+        try {
+            if (!running || !queue.offer(command, ackTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Write pipeline is saturated");
+            }
+            return command.result().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        } catch (TimeoutException e) {
+            return abandon(command, new RejectedExecutionException("Write was not acknowledged in time", e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(command, new RejectedExecutionException("Interrupted while waiting for a write", e));
+        }
+    }
+
+    /**
+     * Gives up on a command the caller stopped waiting for. A command the writer has not
+     * taken yet is cancelled and the rejection thrown; one it has taken is already being
+     * committed, so its outcome is awaited instead of reporting a write that will happen.
+     */
+    private Object abandon(Command command, RejectedExecutionException rejection) {
+        if (command.cancel()) {
+            queue.remove(command);
+            throw rejection;
+        }
+        try {
+            return command.result().join();
+        } catch (CompletionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    private static RuntimeException failure(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    /**
+     * Writer loop: collects a batch, then commits it.
+     */
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || !first.claim()) continue;
+
+                List<Command> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Command next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    if (next.claim()) batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write pipeline batch failed", e);
+            }
+        }
+    }
+
+    /**
+     * Commits a batch in one transaction. If the transaction fails, each command is
+     * retried in its own transaction so that one bad command does not fail the others.
+     */
+    private void commit(List<Command> batch) {
+        batchSizes.record(batch.size());
+        try {
+            Map<Command, Object> results = transactionTemplate.execute(status -> apply(batch));
+            results.forEach((command, value) -> command.result().complete(value));
+        } catch (RuntimeException batchFailure) {
+            for (Command command : batch) {
+                if (command.result().isDone()) continue;
+                try {
+                    Object value = transactionTemplate.execute(status -> apply(List.of(command)).get(command));
+                    command.result().complete(value);
+                } catch (RuntimeException e) {
+                    command.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collapses redundant commands and applies the remaining ones in order.
+     * Commands that were collapsed away are acknowledged with the same result as the
+     * command that absorbed them (or null when a toggle pair cancelled out).
+     */
+    private Map<Command, Object> apply(List<Command> batch) {
+        Map<Long, List<Command>> byId = new LinkedHashMap<>();
+        Map<Command, Object> results = new LinkedHashMap<>();
+        for (Command command : batch) {
+            if (command.type() == Type.CREATE) {
+                results.put(command, todoService.createTodo(command.name()));
+            } else {
+                byId.computeIfAbsent(command.id(), id -> new ArrayList<>()).add(command);
+            }
+        }
+
+        byId.forEach((id, commands) -> {
+            boolean delete = commands.stream().anyMatch(c -> c.type() == Type.DELETE);
+            long toggles = commands.stream().filter(c -> c.type() == Type.TOGGLE).count();
+            if (delete) {
+                todoService.deleteTodo(id);
+                coalesced.increment(commands.size() - 1);
+            } else if (toggles % 2 == 1) {
+                todoService.toggleStatus(id);
+                coalesced.increment(commands.size() - 1);
+            } else {
+                coalesced.increment(commands.size());
+            }
+            commands.forEach(c -> results.put(c, null));
+        });
+        return results;
+    }
+}
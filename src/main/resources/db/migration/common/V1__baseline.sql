@@ -0,0 +1,28 @@
+-- Baseline: the schema before migrations were introduced.
+-- Existing databases are baselined at version 0 (spring.flyway.baseline-on-migrate), so this
+-- script runs against them too and only adds what is missing. A database of the original
+-- release has just the todo table with an IDENTITY id; one left by ddl-auto=update in a later
+-- build may already have any of the rest. V1_1 then moves the sequence past the existing IDs.
+
+create table if not exists todo (
+    id           bigint not null,
+    name         varchar(255),
+    created_at   timestamp(6),
+    completed_at timestamp(6),
+    status       varchar(255) check (status in ('PENDING', 'COMPLETED')),
+    primary key (id)
+);
+
+alter table todo add column if not exists version bigint default 0 not null;
+
+create sequence if not exists todo_seq start with 1 increment by 50;
+
+create index if not exists idx_todo_created_at_id on todo (created_at, id);
+create index if not exists idx_todo_status_created_at_id on todo (status, created_at, id);
+
+create table if not exists daily_todo_stats (
+    stat_day        date not null,
+    created_count   bigint not null,
+    completed_count bigint not null,
+    primary key (stat_day)
+);
@@ -0,0 +1,16 @@
+-- Cold tier for completed to-do items, filled in batches by the archiver (TodoArchiver).
+-- Archived items keep their ID. Status and version are not stored: archived items are always
+-- completed and never change. The indexes serve the analytics counts over ranges that reach
+-- into the archive.
+
+create table todo_archive (
+    id           bigint not null,
+    name         varchar(255),
+    created_at   timestamp(6),
+    completed_at timestamp(6) not null,
+    archived_at  timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_todo_archive_created_at on todo_archive (created_at);
+create index idx_todo_archive_completed_at on todo_archive (completed_at);
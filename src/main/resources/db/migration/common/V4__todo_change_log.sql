@@ -0,0 +1,18 @@
+-- Change log through which instances keep their in-process caches coherent. Every committed
+-- change appends one row per affected item (TodoChangeLog); every instance tails the rows
+-- appended by the others (TodoChangeLogTailer). A row without todo_id stands for a change to the
+-- whole list. Rows are pruned after the retention period, hence the index on changed_at.
+
+create table todo_change_log (
+    seq                   bigint generated by default as identity,
+    origin                varchar(36) not null,
+    kind                  varchar(16) not null,
+    todo_id               bigint,
+    created_at            timestamp(6),
+    completed_at          timestamp(6),
+    previous_completed_at timestamp(6),
+    changed_at            timestamp(6) not null,
+    primary key (seq)
+);
+
+create index idx_todo_change_log_changed_at on todo_change_log (changed_at);
@@ -0,0 +1,10 @@
+-- Per-day sketches of the time from creation to completion, keyed by the day of completion
+-- and maintained next to the daily_todo_stats counters (DailyStatsService). Each sketch is a
+-- LatencySketch in its compact binary form, typically well under a hundred bytes, so latency
+-- percentiles over a range merge one small row per day instead of reading every completed item.
+
+create table daily_completion_latency (
+    stat_day date not null,
+    sketch   bytea not null,
+    primary key (stat_day)
+);
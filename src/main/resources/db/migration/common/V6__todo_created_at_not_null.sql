@@ -0,0 +1,7 @@
+-- The list is paginated on the (created_at, id) keyset, and a row without a creation time
+-- has no cursor to resume after. Items have always been created with one; rows that were
+-- inserted by hand without it take their completion time, or the time of this migration.
+
+update todo set created_at = coalesce(completed_at, current_timestamp) where created_at is null;
+
+alter table todo alter column created_at set not null;
@@ -0,0 +1,13 @@
+-- Completion latency changes appended by the writers (DailyStatsService), one row per day and
+-- transaction, instead of rewriting the day's sketch in daily_completion_latency under a row
+-- lock. Reads merge both tables; a background compaction folds the oldest deltas into the day
+-- sketches and deletes them, so the table stays small.
+
+create table daily_completion_latency_delta (
+    seq      bigint generated by default as identity,
+    stat_day date not null,
+    sketch   bytea not null,
+    primary key (seq)
+);
+
+create index idx_daily_completion_latency_delta_day on daily_completion_latency_delta (stat_day);
@@ -0,0 +1,8 @@
+-- Moves todo_seq past the IDs of an existing table. Hibernate's pooled optimizer treats each
+-- value as the upper end of a block of 50 IDs, so the next value must be at least max(id) + 50.
+-- A sequence that is already further ahead is left where it is.
+
+alter sequence todo_seq restart with (
+    select greatest(coalesce(max(id), 0) + 50,
+                    (select base_value from information_schema.sequences where sequence_name = 'TODO_SEQ'))
+    from todo);
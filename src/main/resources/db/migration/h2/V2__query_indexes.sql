@@ -0,0 +1,11 @@
+-- H2 counterpart of the PostgreSQL indexes. H2 supports neither INCLUDE columns nor
+-- partial indexes, so the covering index lists its payload as trailing key columns and
+-- the partial indexes become plain ones.
+
+drop index if exists idx_todo_created_at_id;
+create index idx_todo_created_at_id on todo (created_at, id, name, status, completed_at, version);
+
+create index if not exists idx_todo_completed_at on todo (completed_at);
+
+-- Kept under the PostgreSQL names so that the startup drift check is the same for both.
+create index if not exists idx_todo_pending_created_at on todo (status, created_at);
@@ -0,0 +1,7 @@
+-- Moves todo_seq past the IDs of an existing table. Hibernate's pooled optimizer treats each
+-- value as the upper end of a block of 50 IDs, so the next value must be at least max(id) + 50.
+-- A sequence that is already further ahead is left where it is.
+
+select setval('todo_seq', next_id, false)
+from (select coalesce(max(id), 0) + 50 as next_id from todo) aligned
+where next_id > (select case when is_called then last_value + 50 else last_value end from todo_seq);
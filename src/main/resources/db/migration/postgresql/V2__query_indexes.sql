@@ -0,0 +1,13 @@
+-- Indexes for the list view, the analytics range counts and the pending backlog.
+
+-- List view: keyset pages on (created_at, id) become index-only scans, because the
+-- index also carries every other column the page renders.
+drop index if exists idx_todo_created_at_id;
+create index idx_todo_created_at_id on todo (created_at, id) include (name, status, completed_at, version);
+
+-- Completed-range counts and the per-hour completion histogram. Pending rows have no
+-- completion timestamp and are left out of the index.
+create index if not exists idx_todo_completed_at on todo (completed_at) where completed_at is not null;
+
+-- Pending backlog: only the open items, which stay few while completed ones accumulate.
+create index if not exists idx_todo_pending_created_at on todo (created_at) where status = 'PENDING';
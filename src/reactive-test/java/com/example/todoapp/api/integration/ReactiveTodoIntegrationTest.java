@@ -0,0 +1,127 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the reactive runtime, running the scenarios of
+ * {@link TodoIntegrationTest} against WebFlux and R2DBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"reactive", "junit"})
+class ReactiveTodoIntegrationTest {
+
+    /**
+     * Used to perform HTTP calls against the running application.
+     */
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * Repository for direct access to the database during test setup and validation.
+     */
+    @Autowired
+    private TodoRepository todoRepository;
+
+    /**
+     * Verifies that a to-do item can be toggled from PENDING to COMPLETED via /toggle/{id}.
+     */
+    @Test
+    void testAddAndToggleTodo() {
+        Todo todo = todoRepository.save(Todo.builder().name("Integration Task").status(Todo.Status.PENDING).build());
+
+        webTestClient.post().uri("/toggle/" + todo.getId()).exchange()
+                .expectStatus().isFound();
+
+        Todo updated = todoRepository.findById(todo.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(Todo.Status.COMPLETED);
+        assertThat(updated.getCompletedAt()).isNotNull();
+    }
+
+    /**
+     * Verifies that the /analytics endpoint renders.
+     */
+    @Test
+    void testAnalyticsEndpoint() {
+        webTestClient.get().uri("/analytics").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body).contains("Pending"));
+    }
+
+    /**
+     * Verifies that a new to-do item can be added via a form post to /add.
+     */
+    @Test
+    void testAddTodoViaHttp() {
+        webTestClient.post().uri("/add")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("name", "New Task"))
+                .exchange()
+                .expectStatus().isFound()
+                .expectHeader().location("/");
+
+        List<Todo> todos = todoRepository.findAll();
+        assertThat(todos).extracting(Todo::getName).contains("New Task");
+    }
+
+    /**
+     * Verifies that a to-do item can be deleted via /delete/{id}.
+     */
+    @Test
+    void testDeleteTodoViaHttp() {
+        Todo todo = todoRepository.save(Todo.builder().name("To Be Deleted").status(Todo.Status.PENDING).build());
+
+        webTestClient.post().uri("/delete/" + todo.getId()).exchange()
+                .expectStatus().isFound();
+
+        assertThat(todoRepository.findById(todo.getId())).isEmpty();
+    }
+
+    /**
+     * Verifies that the index page lists the to-do items.
+     */
+    @Test
+    void testIndexPageLoadsTodos() {
+        todoRepository.save(Todo.builder().name("Visible Task").status(Todo.Status.PENDING).build());
+
+        webTestClient.get().uri("/").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body).contains("Visible Task"));
+    }
+
+    /**
+     * Verifies that the page script's requests receive the changed row instead of a redirect.
+     */
+    @Test
+    void testFragmentRequestsReturnRows() {
+        String row = webTestClient.post().uri("/add")
+                .header("X-Todo-Fragment", "true")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("name", "Fragment Task"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(row).contains("Fragment Task").doesNotContain("<html");
+
+        Todo todo = todoRepository.findAll().stream()
+                .filter(t -> "Fragment Task".equals(t.getName())).findFirst().orElseThrow();
+        webTestClient.post().uri("/toggle/" + todo.getId()).header("X-Todo-Fragment", "true").exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body).contains("todo-" + todo.getId(), "checked"));
+        webTestClient.post().uri("/toggle/-1").header("X-Todo-Fragment", "true").exchange()
+                .expectStatus().isNotFound();
+        webTestClient.post().uri("/delete/" + todo.getId()).header("X-Todo-Fragment", "true").exchange()
+                .expectStatus().isNoContent();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.DailyCompletionLatencyDeltaRepository;
+import com.example.todoapp.repository.DailyCompletionLatencyRepository;
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.CompletionLatency;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.ReactiveTodoService;
+import com.example.todoapp.service.TodoPage;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link ReactiveTodoService} keeps the semantics of {@link TodoService}:
+ * the same pages and cursors, the same range counts, no lost toggles, and a rollup
+ * and ID sequence shared safely with the blocking service.
+ */
+@SpringBootTest
+@ActiveProfiles({"reactive", "junit"})
+class ReactiveTodoServiceIntegrationTest {
+
+    @Autowired
+    private ReactiveTodoService reactiveTodoService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DailyTodoStatsRepository statsRepository;
+
+    @Autowired
+    private DailyCompletionLatencyRepository latencyRepository;
+
+    @Autowired
+    private DailyCompletionLatencyDeltaRepository latencyDeltaRepository;
+
+    /**
+     * Starts every test from an empty table and rollup.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        statsRepository.deleteAll();
+        latencyRepository.deleteAll();
+        latencyDeltaRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that every sort order pages forward and backward exactly as the blocking service does.
+     */
+    @Test
+    void shouldReturnSamePagesAsBlockingService() {
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            todos.add(todoService.createTodo("Item " + i));
+        }
+        todoService.toggleStatus(todos.get(2).getId());
+        todoService.toggleStatus(todos.get(5).getId());
+
+        for (TodoSort sort : TodoSort.values()) {
+            TodoPage blocking = todoService.getTodoPage(sort, 3, null, null);
+            TodoPage reactive = reactiveTodoService.getTodoPage(sort, 3, null, null).block();
+            assertThat(reactive).isEqualTo(blocking);
+            while (blocking.getNextCursor() != null) {
+                String after = blocking.getNextCursor();
+                blocking = todoService.getTodoPage(sort, 3, after, null);
+                assertThat(reactiveTodoService.getTodoPage(sort, 3, after, null).block()).isEqualTo(blocking);
+            }
+            while (blocking.getPrevCursor() != null) {
+                String before = blocking.getPrevCursor();
+                blocking = todoService.getTodoPage(sort, 3, null, before);
+                assertThat(reactiveTodoService.getTodoPage(sort, 3, null, before).block()).isEqualTo(blocking);
+            }
+        }
+    }
+
+    /**
+     * Verifies that reactive mutations keep the rollup and the latency sketches in step, so
+     * both services count and summarize alike over whole and partial days.
+     */
+    @Test
+    void shouldCountLikeBlockingService() {
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            todos.add(reactiveTodoService.createTodo("Counted " + i).block());
+        }
+        reactiveTodoService.toggleStatus(todos.get(0).getId()).block();
+        reactiveTodoService.toggleStatus(todos.get(1).getId()).block();
+        reactiveTodoService.toggleStatus(todos.get(1).getId()).block();
+        reactiveTodoService.deleteTodo(todos.get(2).getId()).block();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime[]> ranges = List.of(
+                new LocalDateTime[]{LocalDate.now().minusDays(2).atStartOfDay(), LocalDate.now().plusDays(2).atStartOfDay()},
+                new LocalDateTime[]{now.minusDays(3), now.plusHours(1)},
+                new LocalDateTime[]{now.minusHours(1), now.plusHours(1)});
+        for (LocalDateTime[] range : ranges) {
+            assertThat(reactiveTodoService.countCreatedInRange(range[0], range[1]).block())
+                    .isEqualTo(todoService.countCreatedInRange(range[0], range[1]))
+                    .isEqualTo(todoRepository.countByCreatedAtBetween(range[0], range[1]))
+                    .isEqualTo(4);
+            assertThat(reactiveTodoService.countCompletedInRange(range[0], range[1]).block())
+                    .isEqualTo(todoService.countCompletedInRange(range[0], range[1]))
+                    .isEqualTo(1);
+            assertThat(reactiveTodoService.getCompletionLatency(range[0], range[1]).block())
+                    .isEqualTo(todoService.getCompletionLatency(range[0], range[1]))
+                    .extracting(CompletionLatency::getCount).isEqualTo(1L);
+        }
+        assertThat(reactiveTodoService.countPending().block()).isEqualTo(todoService.countPending()).isEqualTo(3);
+        assertThat(dailyStatsService.countCreated(ranges.get(0)[0], ranges.get(0)[1])).isEqualTo(4);
+    }
+
+    /**
+     * Verifies that concurrent reactive toggles of one row are all applied, as in
+     * {@link TodoConcurrencyIntegrationTest}.
+     */
+    @Test
+    void concurrentTogglesShouldNotBeLost() {
+        Todo todo = reactiveTodoService.createTodo("Contended").block();
+        int total = 41;
+
+        Flux.range(0, total - 1)
+                .flatMap(i -> reactiveTodoService.toggleStatus(todo.getId()), 8)
+                .then()
+                .block();
+        assertThat(reactiveTodoService.toggleStatus(todo.getId()).block()).isEqualTo(Todo.Status.COMPLETED);
+
+        Todo result = todoRepository.findById(todo.getId()).orElseThrow();
+        assertThat(result.getVersion()).isEqualTo(total);
+        assertThat(result.getStatus()).isEqualTo(Todo.Status.COMPLETED);
+        assertThat(statsRepository.findById(LocalDate.now()))
+                .hasValueSatisfying(day -> assertThat(day.getCompletedCount()).isEqualTo(1));
+    }
+
+    /**
+     * Verifies that both services draw distinct IDs from the shared sequence.
+     */
+    @Test
+    void shouldShareIdSequenceWithBlockingService() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(todoService.createTodo("Blocking " + i).getId());
+            ids.add(reactiveTodoService.createTodo("Reactive " + i).block().getId());
+        }
+        assertThat(ids).hasSize(120);
+        assertThat(todoRepository.count()).isEqualTo(120);
+    }
+
+    /**
+     * Verifies that toggling or deleting a missing item does nothing.
+     */
+    @Test
+    void shouldIgnoreMissingItems() {
+        assertThat(reactiveTodoService.toggleStatus(-1L).blockOptional()).isEmpty();
+        reactiveTodoService.deleteTodo(-1L).block();
+        assertThat(reactiveTodoService.getTodoSummary(-1L).blockOptional()).isEmpty();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.ReactiveTodoService;
+import com.example.todoapp.service.TodoChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Reactive counterpart of {@link TodoLiveUpdates}: pushes committed changes of the to-do
+ * list to open pages over Server-Sent Events, with the same messages.
+ *
+ * Enabled with {@code todo.live-updates.enabled=true}. An open stream holds no thread, only
+ * a subscription to a shared sink, so idle pages cost a connection and a small buffer.
+ * Each message is rendered once; a subscriber that falls more than
+ * {@link #SEND_QUEUE_CAPACITY} messages behind loses the newest ones.
+ *
+ * Publishes the gauge {@code todo.live.subscribers} and the counters
+ * {@code todo.live.messages} and {@code todo.live.dropped}.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "todo.live-updates.enabled", havingValue = "true")
+public class ReactiveLiveUpdates {
+
+    /**
+     * Maximum number of messages buffered per subscriber.
+     */
+    private static final int SEND_QUEUE_CAPACITY = 10_000;
+
+    /**
+     * Line breaks with their surrounding indentation; an SSE data field must not contain line breaks.
+     */
+    private static final Pattern LINE_BREAKS = Pattern.compile("\\s*\\R\\s*");
+
+    /**
+     * Service reading the changed rows.
+     */
+    private final ReactiveTodoService todoService;
+
+    /**
+     * Template engine rendering the row fragment.
+     */
+    private final ITemplateEngine templateEngine;
+
+    /**
+     * Sink shared by all open event streams.
+     */
+    private final Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Number of open event streams.
+     */
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    /**
+     * Maximum number of open event streams.
+     */
+    private final int maxSubscribers;
+
+    /**
+     * Time after which an event stream is closed; browsers reconnect on their own.
+     */
+    private final Duration timeout;
+
+    /**
+     * Number of messages written to subscribers.
+     */
+    private final Counter messages;
+
+    /**
+     * Number of messages dropped because a subscriber's buffer was full.
+     */
+    private final Counter dropped;
+
+    public ReactiveLiveUpdates(ReactiveTodoService todoService,
+                               ITemplateEngine templateEngine,
+                               @Value("${todo.live-updates.max-subscribers:1000}") int maxSubscribers,
+                               @Value("${todo.live-updates.timeout:30m}") Duration timeout,
+                               MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.templateEngine = templateEngine;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        Gauge.builder("todo.live.subscribers", subscribers, AtomicInteger::get)
+                .description("Number of open live update streams")
+                .register(meterRegistry);
+        this.messages = Counter.builder("todo.live.messages")
+                .description("Live update messages written to subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.live.dropped")
+                .description("Changes not pushed because the live update queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a new event stream that receives every change committed from now on.
+     *
+     * @return the event stream, or a RejectedExecutionException if the maximum number of streams is open
+     */
+    public Flux<ServerSentEvent<String>> subscribe() {
+        return Flux.defer(() -> {
+            if (subscribers.incrementAndGet() > maxSubscribers) {
+                subscribers.decrementAndGet();
+                return Flux.error(new RejectedExecutionException("Too many open live update streams"));
+            }
+            return sink.asFlux()
+                    .onBackpressureBuffer(SEND_QUEUE_CAPACITY, message -> dropped.increment(),
+                            BufferOverflowStrategy.DROP_LATEST)
+                    .doOnNext(message -> messages.increment())
+                    .take(timeout)
+                    .doFinally(signal -> subscribers.decrementAndGet());
+        });
+    }
+
+    /**
+     * Sends a committed change to the subscribers. Changes made outside a
+     * transaction are sent immediately.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(TodoChangeEvent event) {
+        if (subscribers.get() == 0) return;
+        toMessage(event).subscribe(this::emit,
+                e -> log.warn("Could not render live update for {} of item {}", event.getKind(), event.getId(), e));
+    }
+
+    /**
+     * Renders a single row of the list as it appears in the index template.
+     *
+     * @param todo the item to render
+     * @return the row markup on a single line
+     */
+    String renderRow(TodoSummary todo) {
+        Context context = new Context();
+        context.setVariable("todo", todo);
+        String html = templateEngine.process(TodoLiveUpdates.ROW_TEMPLATE, Set.of(TodoLiveUpdates.ROW_FRAGMENT), context);
+        return LINE_BREAKS.matcher(html.strip()).replaceAll(" ");
+    }
+
+    /**
+     * Hands a message to the sink; emissions from concurrent commits are serialized here.
+     */
+    private synchronized void emit(ServerSentEvent<String> message) {
+        sink.tryEmitNext(message);
+    }
+
+    /**
+     * Builds the event stream message for a change. An item that is already gone when
+     * its creation or update is sent is announced as deleted.
+     */
+    private Mono<ServerSentEvent<String>> toMessage(TodoChangeEvent event) {
+        return switch (event.getKind()) {
+            case CREATED, UPDATED -> todoService.getTodoSummary(event.getId())
+                    .map(todo -> message(event.getKind() == TodoChangeEvent.Kind.CREATED ? "created" : "updated",
+                            renderRow(todo)))
+                    .defaultIfEmpty(message("deleted", String.valueOf(event.getId())));
+            case DELETED -> Mono.just(message("deleted", String.valueOf(event.getId())));
+            case RELOADED -> Mono.just(message("reload", ""));
+        };
+    }
+
+    private static ServerSentEvent<String> message(String name, String data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.HistogramBucket;
+import com.example.todoapp.service.HistogramGranularity;
+import com.example.todoapp.service.HistogramService;
+import com.example.todoapp.service.ReactiveTodoService;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.TodoSort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * WebFlux controller of the reactive runtime ({@code -Preactive}, profile "reactive").
+ *
+ * Serves the same pages and form posts as {@link TodoController}, with the same
+ * redirects, row fragments and {@code /events} stream, from Netty's event loops:
+ * the list, add, delete, toggle and range counts run on {@link ReactiveTodoService}
+ * without blocking. The search and the histogram, which were not ported, call the
+ * blocking services on the bounded elastic scheduler. Export, import, the archive and
+ * the JSON API are only available in the servlet runtime.
+ */
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTodoController {
+
+    /**
+     * The reactive service layer for to-do items.
+     */
+    private final ReactiveTodoService todoService;
+
+    /**
+     * The service computing the bucketed analytics histogram.
+     */
+    private final HistogramService histogramService;
+
+    /**
+     * The service answering name searches.
+     */
+    private final TodoSearchService todoSearchService;
+
+    /**
+     * The live update stream, present only when todo.live-updates.enabled=true.
+     */
+    private final Optional<ReactiveLiveUpdates> liveUpdates;
+
+    /**
+     * Request header asking a mutation to answer with the changed row instead of a redirect.
+     */
+    private static final String FRAGMENT_HEADER = "X-Todo-Fragment";
+
+    /**
+     * View rendering only the row of the item in the "todo" model attribute.
+     */
+    private static final String ROW_VIEW = TodoLiveUpdates.ROW_TEMPLATE + " :: " + TodoLiveUpdates.ROW_FRAGMENT;
+
+    /**
+     * Number of items shown per page when the request does not specify a size.
+     */
+    @Value("${todo.page.size:50}")
+    private int defaultPageSize;
+
+    /**
+     * Number of search results shown per page when the request does not specify a size.
+     */
+    @Value("${todo.search.page-size:20}")
+    private int searchPageSize;
+
+    /**
+     * Upper bound for the requested page size.
+     */
+    @Value("${todo.page.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Displays one page of the main to-do list, as {@link TodoController#index}.
+     *
+     * @param sort   optional sort order: "newest" (default), "oldest" or "pending-first"
+     * @param size   optional page size, capped at the configured maximum
+     * @param after  optional cursor to show the page after
+     * @param before optional cursor to show the page before
+     * @param model  the model to pass data to the Thymeleaf template
+     * @return the name of the view to render ("index")
+     */
+    @GetMapping("/")
+    public Mono<String> index(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            Model model
+    ) {
+        TodoSort todoSort = TodoSort.fromParam(sort);
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        return todoService.getTodoPage(todoSort, pageSize, after, before)
+                .onErrorResume(IllegalArgumentException.class, e -> todoService.getTodoPage(todoSort, pageSize, null, null))
+                .map(page -> {
+                    model.addAttribute("todos", page.getTodos());
+                    model.addAttribute("page", page);
+                    model.addAttribute("liveUpdates", liveUpdates.isPresent());
+                    return "index";
+                });
+    }
+
+    /**
+     * Displays one page of the to-do items whose name matches the search text, as
+     * {@link TodoController#search}.
+     *
+     * @param q     the search text
+     * @param page  optional zero-based page number
+     * @param size  optional page size, capped at the configured maximum
+     * @param model the model to pass data to the Thymeleaf template
+     * @return the name of the view to render ("index")
+     */
+    @GetMapping("/search")
+    public Mono<String> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            Model model
+    ) {
+        int pageSize = size == null || size < 1 ? searchPageSize : Math.min(size, maxPageSize);
+        return Mono.fromCallable(() -> todoSearchService.search(q, Math.max(page, 0), pageSize))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(result -> {
+                    model.addAttribute("todos", result.getTodos());
+                    model.addAttribute("search", result);
+                    model.addAttribute("liveUpdates", liveUpdates.isPresent());
+                    return "index";
+                });
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of the changes committed from now on.
+     *
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<String>> events() {
+        return liveUpdates.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)).subscribe();
+    }
+
+    /**
+     * Handles submission of a new to-do item via a form post.
+     *
+     * @param exchange the exchange carrying the form field "name"
+     * @return a redirect to the main page
+     */
+    @PostMapping("/add")
+    public Mono<ResponseEntity<Void>> addTodo(ServerWebExchange exchange) {
+        return formField(exchange, "name").flatMap(todoService::createTodo).thenReturn(redirectToIndex());
+    }
+
+    /**
+     * Handles submission of a new to-do item by the page script.
+     *
+     * @param exchange the exchange carrying the form field "name"
+     * @param model    the model to pass the new item to the row fragment
+     * @return the row fragment of the new item
+     */
+    @PostMapping(value = "/add", headers = FRAGMENT_HEADER)
+    public Mono<String> addTodoRow(ServerWebExchange exchange, Model model) {
+        return formField(exchange, "name").flatMap(todoService::createTodo).map(saved -> {
+            model.addAttribute("todo", new TodoSummary(
+                    saved.getId(), saved.getName(), saved.getStatus(), saved.getCreatedAt()));
+            return ROW_VIEW;
+        });
+    }
+
+    /**
+     * Handles deletion of a to-do item by its ID.
+     *
+     * @param id the ID of the to-do item to delete
+     * @return a redirect to the main page
+     */
+    @PostMapping("/delete/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodo(@PathVariable Long id) {
+        return todoService.deleteTodo(id).thenReturn(redirectToIndex());
+    }
+
+    /**
+     * Handles deletion of a to-do item by the page script.
+     *
+     * @param id the ID of the to-do item to delete
+     * @return an empty 204 No Content response
+     */
+    @PostMapping(value = "/delete/{id}", headers = FRAGMENT_HEADER)
+    public Mono<ResponseEntity<Void>> deleteTodoRow(@PathVariable Long id) {
+        return todoService.deleteTodo(id).thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Handles toggling the completion status of a to-do item.
+     *
+     * @param id the ID of the to-do item to toggle
+     * @return a redirect to the main page
+     */
+    @PostMapping("/toggle/{id}")
+    public Mono<ResponseEntity<Void>> toggleTodo(@PathVariable Long id) {
+        return todoService.toggleStatus(id).thenReturn(redirectToIndex());
+    }
+
+    /**
+     * Handles toggling the completion status of a to-do item by the page script.
+     *
+     * @param id    the ID of the to-do item to toggle
+     * @param model the model to pass the updated item to the row fragment
+     * @return the row fragment of the updated item, or 404 Not Found if the item does not exist
+     */
+    @PostMapping(value = "/toggle/{id}", headers = FRAGMENT_HEADER)
+    public Mono<String> toggleTodoRow(@PathVariable Long id, Model model) {
+        return todoService.toggleStatus(id)
+                .then(todoService.getTodoSummary(id))
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                .map(todo -> {
+                    model.addAttribute("todo", todo);
+                    return ROW_VIEW;
+                });
+    }
+
+    /**
+     * Displays analytics for a date range, as {@link TodoController#analytics}.
+     * The three counts and the completion latency are read concurrently.
+     *
+     * @param start optional start date for analytics (default: 7 days ago)
+     * @param end   optional end date for analytics (default: now)
+     * @param model the model to pass analytics data to the view
+     * @return the name of the analytics view ("analytics")
+     */
+    @GetMapping("/analytics")
+    public Mono<String> analytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            Model model
+    ) {
+        LocalDateTime from = start != null ? start : LocalDateTime.now().minusDays(7).truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime to = end != null ? end : LocalDateTime.now();
+        return Mono.zip(todoService.countCreatedInRange(from, to),
+                        todoService.countCompletedInRange(from, to),
+                        todoService.countPending(),
+                        todoService.getCompletionLatency(from, to))
+                .map(counts -> {
+                    model.addAttribute("createdCount", counts.getT1());
+                    model.addAttribute("completedCount", counts.getT2());
+                    model.addAttribute("pendingCount", counts.getT3());
+                    model.addAttribute("latency", counts.getT4());
+                    model.addAttribute("start", from);
+                    model.addAttribute("end", to);
+                    return "analytics";
+                });
+    }
+
+    /**
+     * Returns created and completed counts per hour, day or week as JSON, as
+     * {@link TodoController#histogram}.
+     *
+     * @param start       optional start of the range (default: 7 days ago)
+     * @param end         optional end of the range, exclusive (default: now)
+     * @param granularity optional bucket width: "hour", "day" (default) or "week"
+     * @return the buckets in chronological order
+     */
+    @GetMapping("/analytics/histogram")
+    @ResponseBody
+    public Mono<List<HistogramBucket>> histogram(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String granularity
+    ) {
+        LocalDateTime from = start != null ? start : LocalDateTime.now().minusDays(7).truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime to = end != null ? end : LocalDateTime.now();
+        return Mono.fromCallable(() -> histogramService.histogram(HistogramGranularity.fromParam(granularity), from, to))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+    /**
+     * Reports a conflicting concurrent update of the same to-do item as 409 Conflict.
+     *
+     * @param e the optimistic locking failure
+     * @return a short plain-text explanation
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public String handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        return "The task was changed by another request, please reload and try again.";
+    }
+
+    /**
+     * Reports too many open event streams as 503 Service Unavailable.
+     *
+     * @param e the rejection raised by the live update stream
+     * @return a short plain-text explanation
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public String handleRejected(RejectedExecutionException e) {
+        return "The server is busy, please try again.";
+    }
+
+    /**
+     * Reads a required field of a form post; WebFlux binds @RequestParam to the query only.
+     */
+    private static Mono<String> formField(ServerWebExchange exchange, String name) {
+        return exchange.getFormData()
+                .flatMap(form -> Mono.justOrEmpty(form.getFirst(name)))
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required form field '" + name + "' is not present")));
+    }
+
+    /**
+     * Redirects to the main page with 302 Found, as the servlet runtime does.
+     */
+    private static ResponseEntity<Void> redirectToIndex() {
+        return ResponseEntity.status(HttpStatus.FOUND).location(URI.create("/")).build();
+    }
+}
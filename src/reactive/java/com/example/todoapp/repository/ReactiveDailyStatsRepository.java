@@ -0,0 +1,119 @@
+package com.example.todoapp.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking access to the per-day rollup for the reactive runtime, running the
+ * statements of {@link DailyTodoStatsRepository}, {@link DailyCompletionLatencyRepository}
+ * and {@link DailyCompletionLatencyDeltaRepository} over R2DBC.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveDailyStatsRepository {
+
+    /**
+     * R2DBC access for all statements.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Adds the given deltas to the counters of a day.
+     *
+     * @param day the day to adjust
+     * @param created the delta for the created counter
+     * @param completed the delta for the completed counter
+     * @return the number of updated rows, 0 if the day has no row yet
+     */
+    public Mono<Long> adjust(LocalDate day, long created, long completed) {
+        return databaseClient.sql("update daily_todo_stats set created_count = created_count + :created, "
+                        + "completed_count = completed_count + :completed where stat_day = :day")
+                .bind("created", created)
+                .bind("completed", completed)
+                .bind("day", day)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Inserts an empty row for a day.
+     *
+     * @param day the day to insert
+     * @return the number of inserted rows
+     */
+    public Mono<Long> insert(LocalDate day) {
+        return databaseClient.sql("insert into daily_todo_stats (stat_day, created_count, completed_count) "
+                        + "values (:day, 0, 0)")
+                .bind("day", day)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Sums the created counters of the days in the half-open range [from, to).
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return the number of items created on those days
+     */
+    public Mono<Long> sumCreated(LocalDate from, LocalDate to) {
+        return sum("created_count", from, to);
+    }
+
+    /**
+     * Sums the completed counters of the days in the half-open range [from, to).
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return the number of items completed on those days
+     */
+    public Mono<Long> sumCompleted(LocalDate from, LocalDate to) {
+        return sum("completed_count", from, to);
+    }
+
+    /**
+     * Appends a change to the completion latency sketch of a day.
+     *
+     * @param day the day the change applies to
+     * @param sketch the encoded change
+     * @return the number of inserted rows
+     */
+    public Mono<Long> insertLatencyDelta(LocalDate day, byte[] sketch) {
+        return databaseClient.sql("insert into daily_completion_latency_delta (stat_day, sketch) values (:day, :sketch)")
+                .bind("day", day)
+                .bind("sketch", sketch)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Reads the encoded completion latency sketches of the days in the half-open range
+     * [from, to) and the changes to them not yet folded in, in one statement.
+     *
+     * @param from the first day to include
+     * @param to the first day to exclude
+     * @return the encoded sketches and changes of the days that have any completions
+     */
+    public Flux<byte[]> findLatencySketchesBetween(LocalDate from, LocalDate to) {
+        return databaseClient.sql("select sketch from daily_completion_latency where stat_day >= :from and stat_day < :to "
+                        + "union all select sketch from daily_completion_latency_delta "
+                        + "where stat_day >= :from and stat_day < :to")
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> row.get("sketch", byte[].class))
+                .all();
+    }
+
+    private Mono<Long> sum(String column, LocalDate from, LocalDate to) {
+        return databaseClient.sql("select coalesce(sum(" + column + "), 0) from daily_todo_stats "
+                        + "where stat_day >= :from and stat_day < :to")
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> ((Number) row.get(0)).longValue())
+                .one();
+    }
+}
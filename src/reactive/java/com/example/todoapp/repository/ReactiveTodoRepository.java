@@ -0,0 +1,395 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoChange;
+import com.example.todoapp.model.TodoSummary;
+import io.r2dbc.spi.Readable;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking access to the to-do table for the reactive runtime.
+ *
+ * Runs the statements of {@link TodoRepository} that the list, add, delete, toggle and
+ * range-count paths need over R2DBC: rows are read as {@link TodoSummary} projections or
+ * as detached {@link Todo} values, and the status flip is the same version-guarded
+ * UPDATE. IDs are drawn from 'todo_seq' in blocks of {@link Todo#ID_ALLOCATION_SIZE},
+ * the way Hibernate's pooled optimizer does, so both runtimes can write to the same table.
+ * The range counts cover the to-do table and its archive in one statement.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTodoRepository {
+
+    /**
+     * Columns of the sort properties used by {@code TodoSort}.
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+            "status", "status",
+            "createdAt", "created_at",
+            "id", "id");
+
+    /**
+     * R2DBC access for all statements.
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Dialect-specific statement reading the next value of 'todo_seq'.
+     */
+    private final String nextValueSql;
+
+    /**
+     * Next unused ID of the current block, guarded by this.
+     */
+    private long nextId;
+
+    /**
+     * Last ID of the current block, guarded by this.
+     */
+    private long lastId = -1;
+
+    public ReactiveTodoRepository(DatabaseClient databaseClient, EntityManagerFactory entityManagerFactory) {
+        this.databaseClient = databaseClient;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString("todo_seq");
+    }
+
+    /**
+     * Reads one window of to-do items using keyset pagination, like
+     * {@code TodoRepository.findAllBy}. The items are returned in the order of the sort,
+     * also when scrolling backward.
+     *
+     * @param position the keyset to continue from; empty for the first window
+     * @param sort the sort order, on the properties status, createdAt and id
+     * @param limit the maximum number of items to return
+     * @return the window, whose hasNext tells whether more items follow in the scroll direction
+     */
+    public Mono<Window<TodoSummary>> findAllBy(KeysetScrollPosition position, Sort sort, int limit) {
+        boolean forward = position.scrollsForward();
+        List<Sort.Order> orders = sort.toList();
+        StringBuilder sql = new StringBuilder("select id, name, status, created_at from todo");
+        if (!position.isInitial()) {
+            sql.append(" where ").append(keysetPredicate(orders, forward));
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : orders) {
+            orderBy.add(COLUMNS.get(order.getProperty()) + (order.isDescending() == forward ? " desc" : " asc"));
+        }
+        sql.append(orderBy).append(" limit ").append(limit + 1);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (!position.isInitial()) {
+            for (int i = 0; i < orders.size(); i++) {
+                Object key = position.getKeys().get(orders.get(i).getProperty());
+                spec = spec.bind("k" + i, key instanceof Enum<?> value ? value.name() : key);
+            }
+        }
+        return spec.map(ReactiveTodoRepository::toSummary).all().collectList().map(rows -> {
+            boolean hasNext = rows.size() > limit;
+            List<TodoSummary> content = new ArrayList<>(hasNext ? rows.subList(0, limit) : rows);
+            if (!forward) Collections.reverse(content);
+            return Window.from(content, index -> positionOf(content.get(index), orders), hasNext);
+        });
+    }
+
+    /**
+     * Reads a single to-do item as shown in the list view.
+     *
+     * @param id the ID of the to-do item
+     * @return the item, or empty if it does not exist
+     */
+    public Mono<TodoSummary> findSummaryById(Long id) {
+        return databaseClient.sql("select id, name, status, created_at from todo where id = :id")
+                .bind("id", id)
+                .map(ReactiveTodoRepository::toSummary)
+                .one();
+    }
+
+    /**
+     * Reads a to-do item with its completion timestamp and version.
+     *
+     * @param id the ID of the to-do item
+     * @return the item, detached from any persistence context, or empty if it does not exist
+     */
+    public Mono<Todo> findById(Long id) {
+        return databaseClient.sql("select id, name, created_at, completed_at, status, version from todo where id = :id")
+                .bind("id", id)
+                .map(row -> Todo.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .createdAt(row.get("created_at", LocalDateTime.class))
+                        .completedAt(row.get("completed_at", LocalDateTime.class))
+                        .status(status(row))
+                        .version(row.get("version", Long.class))
+                        .build())
+                .one();
+    }
+
+    /**
+     * Inserts a new to-do item, assigning its ID.
+     *
+     * @param todo the item to insert; its completion timestamp is expected to be null
+     * @return the same item with its ID set
+     */
+    public Mono<Todo> insert(Todo todo) {
+        return nextId().flatMap(id -> databaseClient
+                .sql("insert into todo (id, name, created_at, status, version) values (:id, :name, :createdAt, :status, 0)")
+                .bind("id", id)
+                .bind("name", todo.getName())
+                .bind("createdAt", todo.getCreatedAt())
+                .bind("status", todo.getStatus().name())
+                .fetch().rowsUpdated()
+                .map(inserted -> {
+                    todo.setId(id);
+                    return todo;
+                }));
+    }
+
+    /**
+     * Deletes a to-do item by its ID.
+     *
+     * @param id the ID of the to-do item
+     * @return the number of deleted rows, 0 or 1
+     */
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("delete from todo where id = :id").bind("id", id).fetch().rowsUpdated();
+    }
+
+    /**
+     * Flips the status of a to-do item in one UPDATE if its version still matches,
+     * like {@code TodoRepository.toggleStatus}.
+     *
+     * @param id the ID of the to-do item
+     * @param version the version the flip is based on
+     * @param now the completion timestamp to set when the item becomes completed
+     * @return the number of updated rows, 0 if the item changed or does not exist
+     */
+    public Mono<Long> toggleStatus(Long id, long version, LocalDateTime now) {
+        return databaseClient.sql("update todo set "
+                        + "completed_at = case when status = 'COMPLETED' then cast(null as timestamp) "
+                        + "else cast(:now as timestamp) end, "
+                        + "status = case when status = 'COMPLETED' then 'PENDING' else 'COMPLETED' end, "
+                        + "version = version + 1 "
+                        + "where id = :id and version = :version")
+                .bind("now", now)
+                .bind("id", id)
+                .bind("version", version)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Appends a change to the change log, like {@code TodoChangeLogRepository.append}.
+     *
+     * @param change the change to append
+     * @return completion signal
+     */
+    public Mono<Void> appendChange(TodoChange change) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into todo_change_log "
+                        + "(origin, kind, todo_id, created_at, completed_at, previous_completed_at, changed_at) "
+                        + "values (:origin, :kind, :todoId, :createdAt, :completedAt, :previousCompletedAt, :changedAt)")
+                .bind("origin", change.getOrigin())
+                .bind("kind", change.getKind().name())
+                .bind("changedAt", change.getChangedAt());
+        spec = bindNullable(spec, "todoId", change.getTodoId(), Long.class);
+        spec = bindNullable(spec, "createdAt", change.getCreatedAt(), LocalDateTime.class);
+        spec = bindNullable(spec, "completedAt", change.getCompletedAt(), LocalDateTime.class);
+        spec = bindNullable(spec, "previousCompletedAt", change.getPreviousCompletedAt(), LocalDateTime.class);
+        return spec.fetch().rowsUpdated().then();
+    }
+
+    /**
+     * Counts the to-do items that are still pending.
+     *
+     * @return the number of pending items
+     */
+    public Mono<Long> countPending() {
+        return count("select count(*) from todo where status = 'PENDING'", null, null);
+    }
+
+    /**
+     * Counts the items of the to-do table and its archive created in the inclusive range [start, end].
+     *
+     * @param start the start of the creation date range
+     * @param end the end of the creation date range
+     * @return the number of items created within the given range
+     */
+    public Mono<Long> countCreatedBetween(LocalDateTime start, LocalDateTime end) {
+        return countBothTiers("created_at between :start and :end", start, end);
+    }
+
+    /**
+     * Counts the items of the to-do table and its archive completed in the inclusive range [start, end].
+     *
+     * @param start the start of the completion date range
+     * @param end the end of the completion date range
+     * @return the number of items completed within the given range
+     */
+    public Mono<Long> countCompletedBetween(LocalDateTime start, LocalDateTime end) {
+        return countBothTiers("completed_at between :start and :end", start, end);
+    }
+
+    /**
+     * Reads the creation and completion timestamps of the items of the to-do table and its
+     * archive completed in the inclusive range [start, end].
+     *
+     * @param start the first instant to include
+     * @param end the last instant to include
+     * @return pairs of [createdAt, completedAt]
+     */
+    public Flux<LocalDateTime[]> findCompletionTimesBetween(LocalDateTime start, LocalDateTime end) {
+        return completionTimesBothTiers("completed_at between :start and :end", start, end);
+    }
+
+    /**
+     * Reads the creation and completion timestamps of the items of the to-do table and its
+     * archive completed in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return pairs of [createdAt, completedAt]
+     */
+    public Flux<LocalDateTime[]> findCompletionTimesBetweenExclusive(LocalDateTime start, LocalDateTime end) {
+        return completionTimesBothTiers("completed_at >= :start and completed_at < :end", start, end);
+    }
+
+    /**
+     * Counts the items of the to-do table and its archive created in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the number of items created within the given range
+     */
+    public Mono<Long> countCreatedBetweenExclusive(LocalDateTime start, LocalDateTime end) {
+        return countBothTiers("created_at >= :start and created_at < :end", start, end);
+    }
+
+    /**
+     * Counts the items of the to-do table and its archive completed in the half-open range [start, end).
+     *
+     * @param start the first instant to include
+     * @param end the first instant to exclude
+     * @return the number of items completed within the given range
+     */
+    public Mono<Long> countCompletedBetweenExclusive(LocalDateTime start, LocalDateTime end) {
+        return countBothTiers("completed_at >= :start and completed_at < :end", start, end);
+    }
+
+    /**
+     * Hands out the next ID, reading a new block from the sequence when the current one is used up.
+     * Each sequence value is the upper end of a block, as for Hibernate's pooled optimizer;
+     * when two callers refill at the same time, the remainder of one block is skipped.
+     */
+    private Mono<Long> nextId() {
+        synchronized (this) {
+            if (nextId <= lastId) return Mono.just(nextId++);
+        }
+        return databaseClient.sql(nextValueSql)
+                .map(row -> ((Number) row.get(0)).longValue())
+                .one()
+                .map(high -> {
+                    synchronized (this) {
+                        long low = Math.max(high - Todo.ID_ALLOCATION_SIZE + 1, 1);
+                        nextId = low + 1;
+                        lastId = high;
+                        return low;
+                    }
+                });
+    }
+
+    /**
+     * Builds the keyset condition for rows after (or, scrolling backward, before) the
+     * position bound to :k0, :k1, ..., one parameter per sort order.
+     */
+    private static String keysetPredicate(List<Sort.Order> orders, boolean forward) {
+        StringJoiner any = new StringJoiner(" or ", "(", ")");
+        for (int i = 0; i < orders.size(); i++) {
+            StringJoiner all = new StringJoiner(" and ", "(", ")");
+            for (int j = 0; j < i; j++) {
+                all.add(COLUMNS.get(orders.get(j).getProperty()) + " = :k" + j);
+            }
+            Sort.Order order = orders.get(i);
+            all.add(COLUMNS.get(order.getProperty()) + (order.isDescending() == forward ? " < :k" : " > :k") + i);
+            any.add(all.toString());
+        }
+        return any.toString();
+    }
+
+    /**
+     * Returns the keyset position of an item, with one key per sort order.
+     */
+    private static ScrollPosition positionOf(TodoSummary todo, List<Sort.Order> orders) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : orders) {
+            keys.put(order.getProperty(), switch (order.getProperty()) {
+                case "status" -> todo.getStatus();
+                case "createdAt" -> todo.getCreatedAt();
+                default -> todo.getId();
+            });
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Counts the rows of the to-do table and the archive matching the condition on :start and :end.
+     */
+    private Mono<Long> countBothTiers(String condition, LocalDateTime start, LocalDateTime end) {
+        return count("select (select count(*) from todo where " + condition + ") "
+                + "+ (select count(*) from todo_archive where " + condition + ")", start, end);
+    }
+
+    /**
+     * Reads the [createdAt, completedAt] pairs of both tiers matching a condition on :start and :end.
+     */
+    private Flux<LocalDateTime[]> completionTimesBothTiers(String condition, LocalDateTime start, LocalDateTime end) {
+        return databaseClient.sql("select created_at, completed_at from todo where " + condition
+                        + " union all select created_at, completed_at from todo_archive where " + condition)
+                .bind("start", start)
+                .bind("end", end)
+                .map(row -> new LocalDateTime[]{
+                        row.get("created_at", LocalDateTime.class), row.get("completed_at", LocalDateTime.class)})
+                .all();
+    }
+
+    /**
+     * Runs a count statement, binding :start and :end when given.
+     */
+    private Mono<Long> count(String sql, LocalDateTime start, LocalDateTime end) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (start != null) spec = spec.bind("start", start).bind("end", end);
+        return spec.map(row -> ((Number) row.get(0)).longValue()).one();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static TodoSummary toSummary(Readable row) {
+        return new TodoSummary(row.get("id", Long.class), row.get("name", String.class), status(row),
+                row.get("created_at", LocalDateTime.class));
+    }
+
+    private static Todo.Status status(Readable row) {
+        String status = row.get("status", String.class);
+        return status == null ? null : Todo.Status.valueOf(status);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.repository.ReactiveDailyStatsRepository;
+import com.example.todoapp.repository.ReactiveTodoRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link DailyStatsService} for the reactive runtime.
+ *
+ * Keeps the same per-day counters and completion latency sketches in step with the
+ * reactive mutations, joining the caller's transaction, and answers range queries the
+ * same way: whole days from the rollup, the partial days at the edges from the to-do
+ * table and its archive.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveDailyStatsService {
+
+    /**
+     * Repository for the per-day counters.
+     */
+    private final ReactiveDailyStatsRepository statsRepository;
+
+    /**
+     * Repository used for the partial-day edges.
+     */
+    private final ReactiveTodoRepository todoRepository;
+
+    /**
+     * Runs the creation of a missing day row in its own transaction.
+     */
+    private final TransactionalOperator requiresNew;
+
+    public ReactiveDailyStatsService(ReactiveDailyStatsRepository statsRepository,
+                                     ReactiveTodoRepository todoRepository,
+                                     ReactiveTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.todoRepository = todoRepository;
+        this.requiresNew = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    /**
+     * Records that a to-do item was created at the given time.
+     *
+     * @param createdAt the creation timestamp, ignored if null
+     * @return completion signal
+     */
+    public Mono<Void> recordCreated(LocalDateTime createdAt) {
+        return createdAt == null ? Mono.empty() : adjust(createdAt.toLocalDate(), 1, 0);
+    }
+
+    /**
+     * Records that a to-do item was completed at the given time.
+     *
+     * @param createdAt the creation timestamp of the item, if null its latency is not recorded
+     * @param completedAt the completion timestamp, ignored if null
+     * @return completion signal
+     */
+    public Mono<Void> recordCompleted(LocalDateTime createdAt, LocalDateTime completedAt) {
+        if (completedAt == null) return Mono.empty();
+        return adjust(completedAt.toLocalDate(), 0, 1)
+                .then(adjustLatency(completedAt.toLocalDate(), new LatencySketch().add(createdAt, completedAt)));
+    }
+
+    /**
+     * Records that a completed to-do item was reopened, removing its earlier completion.
+     *
+     * @param createdAt the creation timestamp of the item
+     * @param completedAt the completion timestamp that is being cleared, ignored if null
+     * @return completion signal
+     */
+    public Mono<Void> recordReopened(LocalDateTime createdAt, LocalDateTime completedAt) {
+        if (completedAt == null) return Mono.empty();
+        return adjust(completedAt.toLocalDate(), 0, -1)
+                .then(adjustLatency(completedAt.toLocalDate(), new LatencySketch().remove(createdAt, completedAt)));
+    }
+
+    /**
+     * Records that a to-do item was deleted, removing it from both of its days.
+     *
+     * @param createdAt the creation timestamp of the deleted item, ignored if null
+     * @param completedAt the completion timestamp of the deleted item, ignored if null
+     * @return completion signal
+     */
+    public Mono<Void> recordDeleted(LocalDateTime createdAt, LocalDateTime completedAt) {
+        Mono<Void> created = createdAt == null ? Mono.empty() : adjust(createdAt.toLocalDate(), -1, 0);
+        return created.then(recordReopened(createdAt, completedAt));
+    }
+
+    /**
+     * Counts to-do items created in the inclusive range [start, end].
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the number of To-do items created in the given range
+     */
+    public Mono<Long> countCreated(LocalDateTime start, LocalDateTime end) {
+        LocalDate firstDay = DailyStatsService.firstWholeDay(start);
+        LocalDate lastDay = end.toLocalDate();
+        if (!firstDay.isBefore(lastDay)) {
+            return todoRepository.countCreatedBetween(start, end);
+        }
+        return Mono.zip(todoRepository.countCreatedBetweenExclusive(start, firstDay.atStartOfDay()),
+                        statsRepository.sumCreated(firstDay, lastDay),
+                        todoRepository.countCreatedBetween(lastDay.atStartOfDay(), end))
+                .map(counts -> counts.getT1() + counts.getT2() + counts.getT3());
+    }
+
+    /**
+     * Counts to-do items completed in the inclusive range [start, end].
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the number of To-do items completed in the given range
+     */
+    public Mono<Long> countCompleted(LocalDateTime start, LocalDateTime end) {
+        LocalDate firstDay = DailyStatsService.firstWholeDay(start);
+        LocalDate lastDay = end.toLocalDate();
+        if (!firstDay.isBefore(lastDay)) {
+            return todoRepository.countCompletedBetween(start, end);
+        }
+        return Mono.zip(todoRepository.countCompletedBetweenExclusive(start, firstDay.atStartOfDay()),
+                        statsRepository.sumCompleted(firstDay, lastDay),
+                        todoRepository.countCompletedBetween(lastDay.atStartOfDay(), end))
+                .map(counts -> counts.getT1() + counts.getT2() + counts.getT3());
+    }
+
+    /**
+     * Summarizes the completion latency of the items completed in the inclusive range
+     * [start, end], as {@link DailyStatsService#getCompletionLatency}.
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the completion latency of the items completed in the given range
+     */
+    public Mono<CompletionLatency> getCompletionLatency(LocalDateTime start, LocalDateTime end) {
+        LocalDate firstDay = DailyStatsService.firstWholeDay(start);
+        LocalDate lastDay = end.toLocalDate();
+        if (!firstDay.isBefore(lastDay)) {
+            return addRows(new LatencySketch(), todoRepository.findCompletionTimesBetween(start, end))
+                    .map(CompletionLatency::of);
+        }
+        return addRows(new LatencySketch(), todoRepository.findCompletionTimesBetweenExclusive(start, firstDay.atStartOfDay()))
+                .flatMap(sketch -> statsRepository.findLatencySketchesBetween(firstDay, lastDay)
+                        .reduce(sketch, (merged, day) -> merged.merge(LatencySketch.fromBytes(day))))
+                .flatMap(sketch -> addRows(sketch, todoRepository.findCompletionTimesBetween(lastDay.atStartOfDay(), end)))
+                .map(CompletionLatency::of);
+    }
+
+    /**
+     * Applies counter deltas to a day, creating the day row first if it does not exist yet.
+     * As in {@link DailyStatsService}, the row is inserted in a separate transaction so that
+     * two writers racing on a new day do not poison the caller's transaction.
+     */
+    private Mono<Void> adjust(LocalDate day, long created, long completed) {
+        return statsRepository.adjust(day, created, completed).flatMap(updated -> updated > 0 ? Mono.<Void>empty()
+                : statsRepository.insert(day)
+                        .as(requiresNew::transactional)
+                        // Another writer created the row first; the update below applies to it
+                        .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                        .then(statsRepository.adjust(day, created, completed))
+                        .then());
+    }
+
+    /**
+     * Appends a change to the completion latency sketch of a day, as {@link DailyStatsService}
+     * does; {@link DailyLatencyCompactor} folds it in.
+     */
+    private Mono<Void> adjustLatency(LocalDate day, LatencySketch change) {
+        if (change.isEmpty()) return Mono.empty();
+        return statsRepository.insertLatencyDelta(day, change.toBytes()).then();
+    }
+
+    /**
+     * Adds the latencies of [createdAt, completedAt] pairs to a sketch.
+     */
+    private static Mono<LatencySketch> addRows(LatencySketch sketch, Flux<LocalDateTime[]> rows) {
+        return rows.reduce(sketch, (merged, row) -> merged.add(row[0], row[1]));
+    }
+}
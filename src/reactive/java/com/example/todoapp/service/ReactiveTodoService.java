@@ -0,0 +1,264 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoChange;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.repository.ReactiveTodoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link TodoService} for the reactive runtime.
+ *
+ * Covers the list, add, delete, toggle and range-count operations with the same
+ * semantics: keyset pages with the same cursors, the same version-guarded toggle with
+ * retries, and the same rollup maintenance, each mutation in one R2DBC transaction.
+ * After commit, a mutation invalidates the read cache and updates the search index,
+ * which the blocking parts of the application still use, and publishes a
+ * {@link TodoChangeEvent}. Reads go to the database; the read cache is not consulted.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTodoService {
+
+    /**
+     * How many times a toggle is retried when the row changes between reading and updating it.
+     */
+    private static final int MAX_TOGGLE_ATTEMPTS = 10;
+
+    /**
+     * Reactive repository for the to-do table.
+     */
+    private final ReactiveTodoRepository todoRepository;
+
+    /**
+     * Service maintaining the per-day rollup used by the range counts.
+     */
+    private final ReactiveDailyStatsService dailyStatsService;
+
+    /**
+     * Read cache of the blocking services, invalidated by every mutation.
+     */
+    private final TodoReadCache readCache;
+
+    /**
+     * Name search index, updated by creates and deletes.
+     */
+    private final TodoSearchIndex searchIndex;
+
+    /**
+     * Change log through which the other instances learn of every mutation.
+     */
+    private final TodoChangeLog changeLog;
+
+    /**
+     * Publisher of the {@link TodoChangeEvent} raised by every mutation.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Runs each mutation in one R2DBC transaction.
+     */
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Result of a status flip, with the completion timestamps before and after it.
+     */
+    private record Toggle(Todo.Status status, LocalDateTime previousCompletedAt, LocalDateTime completedAt) {
+    }
+
+    /**
+     * Retrieves one page of to-do items using keyset pagination, like {@link TodoService#getTodoPage}.
+     *
+     * @param sort the sort order of the list
+     * @param size the maximum number of items on the page
+     * @param after cursor of the row to continue after, may be null
+     * @param before cursor of the row to continue before, may be null
+     * @return the requested page together with its navigation cursors,
+     *         or an IllegalArgumentException if a cursor is malformed
+     */
+    public Mono<TodoPage> getTodoPage(TodoSort sort, int size, String after, String before) {
+        return Mono.defer(() -> {
+            boolean forward = after != null || before == null;
+            ScrollPosition position = after != null ? TodoCursor.decode(after, sort, true)
+                    : before != null ? TodoCursor.decode(before, sort, false)
+                    : ScrollPosition.keyset();
+
+            return todoRepository.findAllBy((KeysetScrollPosition) position, sort.toSort(), size).map(window -> {
+                List<TodoSummary> todos = window.getContent();
+                if (todos.isEmpty()) {
+                    return new TodoPage(todos, sort, size, null, null);
+                }
+                boolean hasNext = !forward || window.hasNext();
+                boolean hasPrev = forward ? after != null : window.hasNext();
+                return new TodoPage(todos, sort, size,
+                        hasNext ? TodoCursor.encode(todos.get(todos.size() - 1)) : null,
+                        hasPrev ? TodoCursor.encode(todos.get(0)) : null);
+            });
+        });
+    }
+
+    /**
+     * Reads a single to-do item as shown in the list view.
+     *
+     * @param id the ID of the to-do item
+     * @return the item, or empty if it does not exist
+     */
+    public Mono<TodoSummary> getTodoSummary(Long id) {
+        return todoRepository.findSummaryById(id);
+    }
+
+    /**
+     * Creates a new pending to-do item with the given name, created now.
+     *
+     * @param name the name or title of the new to-do item
+     * @return the saved item
+     */
+    public Mono<Todo> createTodo(String name) {
+        return Mono.defer(() -> {
+                    Todo todo = Todo.builder()
+                            .name(name)
+                            .createdAt(LocalDateTime.now())
+                            .status(Todo.Status.PENDING)
+                            .build();
+                    return todoRepository.insert(todo)
+                            .flatMap(saved -> dailyStatsService.recordCreated(saved.getCreatedAt())
+                                    .then(appendChange(changeLog.created(saved)))
+                                    .thenReturn(saved));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> {
+                    readCache.invalidateCreated(saved.getCreatedAt());
+                    searchIndex.add(saved.getId(), saved.getName());
+                    eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.CREATED, saved.getId()));
+                });
+    }
+
+    /**
+     * Deletes a to-do item by its ID, removing its creation and completion from the
+     * daily rollup. If the ID does not exist, nothing happens.
+     *
+     * @param id the ID of the to-do item to delete
+     * @return completion signal
+     */
+    public Mono<Void> deleteTodo(Long id) {
+        return todoRepository.findById(id)
+                .flatMap(todo -> todoRepository.deleteById(id)
+                        .filter(deleted -> deleted > 0)
+                        .flatMap(deleted -> dailyStatsService.recordDeleted(todo.getCreatedAt(), todo.getCompletedAt())
+                                .then(appendChange(changeLog.deleted(todo)))
+                                .thenReturn(todo)))
+                .as(transactionalOperator::transactional)
+                .doOnNext(todo -> {
+                    readCache.invalidateDeleted(todo);
+                    searchIndex.remove(todo.getId());
+                    eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.DELETED, todo.getId()));
+                })
+                .then();
+    }
+
+    /**
+     * Toggles the status of a to-do item between 'PENDING' and 'COMPLETED', like
+     * {@link TodoService#toggleStatus}: a single version-guarded UPDATE, retried if the
+     * row changed between reading its state and updating it.
+     *
+     * @param id the ID of the to-do item whose status should be toggled
+     * @return the new status, empty if the item does not exist, or an
+     *         OptimisticLockingFailureException if the item kept changing concurrently
+     */
+    public Mono<Todo.Status> toggleStatus(Long id) {
+        return toggle(id, 0)
+                .flatMap(toggle -> appendChange(changeLog.toggled(id, toggle.previousCompletedAt(), toggle.completedAt()))
+                        .thenReturn(toggle))
+                .as(transactionalOperator::transactional)
+                .doOnNext(toggle -> {
+                    readCache.invalidateToggled(id, toggle.previousCompletedAt(), toggle.completedAt());
+                    eventPublisher.publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.UPDATED, id));
+                })
+                .map(Toggle::status);
+    }
+
+    /**
+     * Counts how many to-do items were created within the specified time range.
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the number of To-do items created in the given range
+     */
+    public Mono<Long> countCreatedInRange(LocalDateTime start, LocalDateTime end) {
+        return dailyStatsService.countCreated(start, end);
+    }
+
+    /**
+     * Counts how many to-do items were completed within the specified time range.
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the number of To-do items completed in the given range
+     */
+    public Mono<Long> countCompletedInRange(LocalDateTime start, LocalDateTime end) {
+        return dailyStatsService.countCompleted(start, end);
+    }
+
+    /**
+     * Summarizes how long the to-do items completed within the specified time range took
+     * from creation to completion, as {@link TodoService#getCompletionLatency}.
+     *
+     * @param start the start of the date range
+     * @param end the end of the date range
+     * @return the completion latency of the items completed in the given range
+     */
+    public Mono<CompletionLatency> getCompletionLatency(LocalDateTime start, LocalDateTime end) {
+        return dailyStatsService.getCompletionLatency(start, end);
+    }
+
+    /**
+     * Counts the to-do items that are still pending, regardless of when they were created.
+     *
+     * @return the number of pending To-do items
+     */
+    public Mono<Long> countPending() {
+        return todoRepository.countPending();
+    }
+
+    /**
+     * Appends a change to the change log inside the current transaction, if the log is enabled.
+     */
+    private Mono<Void> appendChange(TodoChange change) {
+        return changeLog.isEnabled() ? todoRepository.appendChange(change) : Mono.empty();
+    }
+
+    /**
+     * Flips the status inside the current transaction, retrying on a version mismatch.
+     */
+    private Mono<Toggle> toggle(Long id, int attempt) {
+        if (attempt == MAX_TOGGLE_ATTEMPTS) {
+            return Mono.error(new OptimisticLockingFailureException("To-do " + id + " was modified concurrently"));
+        }
+        return todoRepository.findById(id).flatMap(state -> {
+            LocalDateTime now = LocalDateTime.now();
+            return todoRepository.toggleStatus(id, state.getVersion(), now).flatMap(updated -> {
+                if (updated != 1) {
+                    return toggle(id, attempt + 1);
+                }
+                if (state.getStatus() == Todo.Status.COMPLETED) {
+                    return dailyStatsService.recordReopened(state.getCreatedAt(), state.getCompletedAt())
+                            .thenReturn(new Toggle(Todo.Status.PENDING, state.getCompletedAt(), null));
+                }
+                return dailyStatsService.recordCompleted(state.getCreatedAt(), now)
+                        .thenReturn(new Toggle(Todo.Status.COMPLETED, null, now));
+            });
+        });
+    }
+}
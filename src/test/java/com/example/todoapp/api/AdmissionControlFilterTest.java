@@ -0,0 +1,143 @@
+package com.example.todoapp.api;
+
+import com.example.todoapp.config.AdaptiveConcurrencyLimit;
+import com.example.todoapp.config.AdmissionControlFilter;
+import com.example.todoapp.config.AdmissionControlFilter.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for AdmissionControlFilter and AdaptiveConcurrencyLimit.
+ *
+ * Verifies that the limit grows while busy and fast, backs off once per burst of slow or
+ * failed requests, and that the filter sheds requests over their own class's limit only.
+ */
+class AdmissionControlFilterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Tests that fast requests at full utilization raise the limit up to its maximum, and
+     * that an idle limit does not grow.
+     */
+    @Test
+    void limitShouldGrowWhileBusyAndFast() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 2, 6, 2.0, 0.5);
+
+        runConcurrently(limit, 1, 0, 10 * MILLIS, false);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 20; i++) {
+            runConcurrently(limit, limit.getLimit(), i * 20 * MILLIS, 10 * MILLIS, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(6);
+    }
+
+    /**
+     * Tests that a burst of slow requests cuts the limit once, that later slow requests cut
+     * it again down to its minimum, and that failures count as congestion.
+     */
+    @Test
+    void limitShouldBackOffOncePerBurst() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 16, 2.0, 0.5);
+        runConcurrently(limit, 1, 0, 10 * MILLIS, false);
+
+        runConcurrently(limit, 8, 100 * MILLIS, 50 * MILLIS, false);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        runConcurrently(limit, 4, 200 * MILLIS, 50 * MILLIS, false);
+        runConcurrently(limit, 2, 300 * MILLIS, 50 * MILLIS, false);
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        AdaptiveConcurrencyLimit failing = new AdaptiveConcurrencyLimit(8, 2, 16, 2.0, 0.5);
+        runConcurrently(failing, 1, 0, MILLIS, true);
+        assertThat(failing.getLimit()).isEqualTo(4);
+        assertThat(failing.getInFlight()).isZero();
+    }
+
+    /**
+     * Tests that a write over the write limit is rejected with 503 and Retry-After and
+     * counted, while the list page and analytics are still admitted.
+     */
+    @Test
+    void shouldShedOnlyTheSaturatedClass() throws Exception {
+        AdaptiveConcurrencyLimit writes = new AdaptiveConcurrencyLimit(1, 1, 1, 2.0, 0.9);
+        AdaptiveConcurrencyLimit analytics = new AdaptiveConcurrencyLimit(1, 1, 1, 2.0, 0.9);
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                Map.of(EndpointClass.WRITE, writes, EndpointClass.ANALYTICS, analytics), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdRequest(filter, new MockHttpServletRequest("POST", "/toggle/1"), release);
+        assertThat(meterRegistry.get("todo.admission.in.flight").tag("endpoint", "write").gauge().value())
+                .isEqualTo(1);
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/add"), shed, new MockFilterChain());
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("todo.admission.rejected").tag("endpoint", "write").counter().count())
+                .isEqualTo(1);
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[]{
+                new MockHttpServletRequest("GET", "/"), new MockHttpServletRequest("GET", "/analytics")}) {
+            MockHttpServletResponse admitted = new MockHttpServletResponse();
+            filter.doFilter(request, admitted, new MockFilterChain());
+            assertThat(admitted.getStatus()).isEqualTo(200);
+        }
+        assertThat(meterRegistry.get("todo.admission.rejected").tag("endpoint", "analytics").counter().count())
+                .isZero();
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(writes.getInFlight()).isZero();
+    }
+
+    /**
+     * Admits the given number of requests at once and releases them all with the same
+     * start time and latency.
+     */
+    private static void runConcurrently(AdaptiveConcurrencyLimit limit, int requests,
+                                        long startNanos, long latencyNanos, boolean failed) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < requests; i++) {
+            limit.release(startNanos, startNanos + latencyNanos, failed);
+        }
+    }
+
+    /**
+     * Starts a request on another thread that stays in flight until the latch is released.
+     */
+    private static CompletableFuture<Void> holdRequest(AdmissionControlFilter filter, MockHttpServletRequest request,
+                                                       CountDownLatch release) throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+}
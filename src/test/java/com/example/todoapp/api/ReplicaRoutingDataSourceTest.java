@@ -0,0 +1,114 @@
+package com.example.todoapp.api;
+
+import com.example.todoapp.config.ReplicaRoutingDataSource;
+import com.example.todoapp.service.TodoChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource.
+ *
+ * Verifies which reads go to the replicas, that writes, pinned threads and reads right
+ * after a change use the primary, and that a failed replica is skipped until it passes
+ * a health check again.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection0 = mock(Connection.class);
+    private final Connection replicaConnection1 = mock(Connection.class);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica0 = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica0.getConnection()).thenReturn(replicaConnection0);
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+        routing = new ReplicaRoutingDataSource(primary,
+                List.of(Map.entry("replica-0", replica0), Map.entry("replica-1", replica1)),
+                Duration.ofMillis(200), Duration.ofHours(1), Duration.ofSeconds(1), meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.unpin();
+        routing.close();
+    }
+
+    /**
+     * Tests that read-only transactions alternate between the replicas and other work uses the primary.
+     */
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicas() throws SQLException {
+        assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+                .containsExactly(replicaConnection0, replicaConnection1, replicaConnection0);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    /**
+     * Tests that pinned threads and reads within the maximum lag of a change use the primary.
+     */
+    @Test
+    void shouldReadFromPrimaryWhenPinnedOrAfterChange() throws Exception {
+        ReplicaRoutingDataSource.pinToPrimary();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        ReplicaRoutingDataSource.unpin();
+
+        routing.onChange(new TodoChangeEvent(TodoChangeEvent.Kind.CREATED, 1L));
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        Thread.sleep(250);
+        assertThat(routing.getConnection()).isIn(replicaConnection0, replicaConnection1);
+    }
+
+    /**
+     * Tests that a failing replica falls back to the primary, stays out of rotation, and
+     * returns once its health check passes.
+     */
+    @Test
+    void shouldFailOverUntilReplicaRecovers() throws SQLException {
+        when(replica0.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection1);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection1);
+        assertThat(meterRegistry.get("todo.db.replica.failovers").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("todo.db.replicas.healthy").gauge().value()).isEqualTo(1);
+
+        doReturn(replicaConnection0).when(replica0).getConnection();
+        when(replicaConnection0.isValid(anyInt())).thenReturn(true);
+        when(replicaConnection1.isValid(anyInt())).thenReturn(true);
+        routing.checkReplicas();
+
+        assertThat(meterRegistry.get("todo.db.replicas.healthy").gauge().value()).isEqualTo(2);
+        assertThat(List.of(routing.getConnection(), routing.getConnection()))
+                .containsExactlyInAnyOrder(replicaConnection0, replicaConnection1);
+    }
+}
@@ -1,15 +1,33 @@
 package com.example.todoapp.api;
 
 import com.example.todoapp.controller.TodoController;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.CompletionLatency;
+import com.example.todoapp.service.HistogramBucket;
+import com.example.todoapp.service.HistogramGranularity;
+import com.example.todoapp.service.HistogramService;
+import com.example.todoapp.service.ImportResult;
+import com.example.todoapp.service.LatencySketch;
+import com.example.todoapp.service.TodoExportService;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.service.TodoPage;
+import com.example.todoapp.service.TodoSearchResult;
+import com.example.todoapp.service.TodoSearchService;
 import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,15 +53,72 @@ class TodoControllerTest {
     @MockBean
     private TodoService todoService;
 
+    /**
+     * Mocked export service used by the export endpoint.
+     */
+    @MockBean
+    private TodoExportService todoExportService;
+
+    /**
+     * Mocked import service used by the import endpoint.
+     */
+    @MockBean
+    private TodoImportService todoImportService;
+
+    /**
+     * Mocked histogram service used by the histogram endpoint.
+     */
+    @MockBean
+    private HistogramService histogramService;
+
+    /**
+     * Mocked search service used by the search endpoint.
+     */
+    @MockBean
+    private TodoSearchService todoSearchService;
+
     /**
      * Tests that the index page ("/") loads successfully and returns the correct view.
      */
     @Test
     void shouldLoadIndexPage() throws Exception {
-        when(todoService.getAllTodos()).thenReturn(List.of());
+        when(todoService.getTodoPage(TodoSort.NEWEST, 50, null, null))
+                .thenReturn(new TodoPage(List.of(), TodoSort.NEWEST, 50, null, null));
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
-                .andExpect(view().name("index"));
+                .andExpect(view().name("index"))
+                .andExpect(model().attributeExists("page"));
+    }
+
+    /**
+     * Tests that sort, size and cursor parameters are passed to the service,
+     * with the page size capped at the configured maximum.
+     */
+    @Test
+    void shouldPassPagingParameters() throws Exception {
+        when(todoService.getTodoPage(any(), anyInt(), any(), any()))
+                .thenReturn(new TodoPage(List.of(), TodoSort.OLDEST, 500, null, null));
+        mockMvc.perform(get("/").param("sort", "oldest").param("size", "10000").param("after", "PENDING~2024-01-01T00:00~5"))
+                .andExpect(status().isOk());
+        verify(todoService).getTodoPage(TodoSort.OLDEST, 500, "PENDING~2024-01-01T00:00~5", null);
+    }
+
+    /**
+     * Tests that a search renders the matches in the list view with a link to the next page.
+     */
+    @Test
+    void shouldRenderSearchResults() throws Exception {
+        TodoSummary match = new TodoSummary(7L, "Buy milk", Todo.Status.PENDING, LocalDateTime.now());
+        when(todoSearchService.search("milk", 0, 20))
+                .thenReturn(new TodoSearchResult("milk", List.of(match), 0, 20, 21, false));
+
+        mockMvc.perform(get("/search").param("q", "milk"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attribute("todos", List.of(match)))
+                .andExpect(content().string(containsString("Buy milk")))
+                .andExpect(content().string(containsString("21 matches")))
+                .andExpect(content().string(containsString("page=1")));
     }
 
     /**
@@ -82,6 +157,60 @@ class TodoControllerTest {
         verify(todoService).toggleStatus(1L);
     }
 
+    /**
+     * Tests that a scripted add answers with only the row of the new item instead of a redirect.
+     */
+    @Test
+    void shouldReturnRowForScriptedAdd() throws Exception {
+        when(todoService.createTodo("New Task")).thenReturn(Todo.builder().id(5L).name("New Task")
+                .status(Todo.Status.PENDING).createdAt(LocalDateTime.now()).build());
+
+        mockMvc.perform(post("/add").param("name", "New Task").header("X-Todo-Fragment", "true"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index :: todo-row"))
+                .andExpect(content().string(containsString("id=\"todo-5\"")))
+                .andExpect(content().string(containsString("New Task")))
+                .andExpect(content().string(not(containsString("<html"))));
+    }
+
+    /**
+     * Tests that a scripted toggle answers with the updated row, and 404 once the item is gone.
+     */
+    @Test
+    void shouldReturnRowForScriptedToggle() throws Exception {
+        when(todoService.getTodoSummary(1L)).thenReturn(
+                Optional.of(new TodoSummary(1L, "Done task", Todo.Status.COMPLETED, LocalDateTime.now())));
+
+        mockMvc.perform(post("/toggle/1").header("X-Todo-Fragment", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("completed-bg")))
+                .andExpect(content().string(containsString("action=\"/toggle/1\"")));
+        verify(todoService).toggleStatus(1L);
+
+        mockMvc.perform(post("/toggle/2").header("X-Todo-Fragment", "true"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that a scripted delete answers with an empty 204 response.
+     */
+    @Test
+    void shouldReturnNoContentForScriptedDelete() throws Exception {
+        mockMvc.perform(post("/delete/1").header("X-Todo-Fragment", "true"))
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+        verify(todoService).deleteTodo(1L);
+    }
+
+    /**
+     * Tests that the event stream is not available while live updates are disabled.
+     */
+    @Test
+    void shouldNotOfferEventsWhenLiveUpdatesAreDisabled() throws Exception {
+        mockMvc.perform(get("/events"))
+                .andExpect(status().isNotFound());
+    }
+
     /**
      * Tests that the analytics page loads correctly with default date range
      * and that the model contains the expected attributes.
@@ -90,11 +219,83 @@ class TodoControllerTest {
     void shouldLoadAnalyticsWithDefaultRange() throws Exception {
         when(todoService.countCreatedInRange(any(), any())).thenReturn(2L);
         when(todoService.countCompletedInRange(any(), any())).thenReturn(1L);
+        when(todoService.countPending()).thenReturn(3L);
+        CompletionLatency latency = CompletionLatency.of(new LatencySketch().add(90, 1).add(3600, 1));
+        when(todoService.getCompletionLatency(any(), any())).thenReturn(latency);
 
         mockMvc.perform(get("/analytics"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("analytics"))
                 .andExpect(model().attributeExists("createdCount"))
-                .andExpect(model().attributeExists("completedCount"));
+                .andExpect(model().attributeExists("completedCount"))
+                .andExpect(model().attribute("pendingCount", 3L))
+                .andExpect(model().attribute("latency", latency))
+                .andExpect(content().string(containsString("Based on 2 tasks completed")));
+    }
+
+    /**
+     * Tests that the export endpoint selects the CSV format and sets download headers.
+     */
+    @Test
+    void shouldExportCsv() throws Exception {
+        mockMvc.perform(get("/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"todos.csv\""));
+        verify(todoExportService).export(eq(TodoExportService.Format.CSV), any());
+    }
+
+    /**
+     * Tests that a CSV upload is passed to the import service and its result returned as JSON.
+     */
+    @Test
+    void shouldImportCsv() throws Exception {
+        when(todoImportService.importTodos(eq(TodoImportService.Format.CSV), any()))
+                .thenReturn(new ImportResult(2, 10, 200));
+        mockMvc.perform(post("/import").contentType("text/csv").content("name\nA\nB\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    /**
+     * Tests that an unparseable upload is rejected with 400 Bad Request.
+     */
+    @Test
+    void shouldRejectInvalidImport() throws Exception {
+        when(todoImportService.importTodos(any(), any())).thenThrow(new IllegalArgumentException("bad row"));
+        mockMvc.perform(post("/import").contentType("application/json").content("[{}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that the histogram endpoint passes the range and granularity and returns the buckets as JSON.
+     */
+    @Test
+    void shouldReturnHistogram() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 2, 0);
+        when(histogramService.histogram(HistogramGranularity.HOUR, start, end)).thenReturn(List.of(
+                new HistogramBucket(start, start.plusHours(1), 3, 1),
+                new HistogramBucket(start.plusHours(1), end, 0, 2)));
+        mockMvc.perform(get("/analytics/histogram")
+                        .param("start", "2024-01-01T00:00:00")
+                        .param("end", "2024-01-01T02:00:00")
+                        .param("granularity", "hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].created").value(3))
+                .andExpect(jsonPath("$[1].completed").value(2));
+    }
+
+    /**
+     * Tests that an invalid histogram range is rejected with 400 Bad Request.
+     */
+    @Test
+    void shouldRejectInvalidHistogramRange() throws Exception {
+        when(histogramService.histogram(any(), any(), any())).thenThrow(new IllegalArgumentException("empty range"));
+        mockMvc.perform(get("/analytics/histogram")
+                        .param("start", "2024-01-02T00:00:00")
+                        .param("end", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
     }
 }
@@ -0,0 +1,60 @@
+package com.example.todoapp.api;
+
+import com.example.todoapp.config.TodoRuntimeHints;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.service.TodoSearchResult;
+import com.example.todoapp.service.TodoSort;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TodoRuntimeHints.
+ *
+ * Verifies that every migration script and template on the classpath is registered as a
+ * resource, and that the methods the templates and Jackson call reflectively are registered.
+ */
+class TodoRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    TodoRuntimeHintsTest() {
+        new TodoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    /**
+     * Tests that all Flyway scripts and Thymeleaf templates are included in the image.
+     */
+    @Test
+    void shouldRegisterMigrationsAndTemplates() throws IOException {
+        assertAllRegistered("db/migration/**/*.sql", "db/migration/");
+        assertAllRegistered("templates/*.html", "templates/");
+    }
+
+    /**
+     * Tests that the template helpers and the setters Jackson binds imports through are reachable.
+     */
+    @Test
+    void shouldRegisterReflectiveMethods() {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TodoSort.class, "toParam")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TodoSearchResult.class, "hasNext")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Todo.class, "setName")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Todo.class, "getCompletedAt")).accepts(hints);
+    }
+
+    private void assertAllRegistered(String pattern, String root) throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:" + pattern);
+        assertThat(resources).isNotEmpty();
+        for (Resource resource : resources) {
+            String path = resource.getURL().getPath();
+            String name = path.substring(path.lastIndexOf(root));
+            assertThat(RuntimeHintsPredicates.resource().forResource(name)).as(name).accepts(hints);
+        }
+    }
+}
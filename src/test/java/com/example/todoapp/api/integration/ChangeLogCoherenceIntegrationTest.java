@@ -0,0 +1,160 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.TodoBulkService;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Integration tests for cache coherence across instances.
+ *
+ * Starts two application contexts with their read caches and the change log enabled
+ * against one shared in-memory database, changes the list through one of them and checks
+ * that the other's cached pages, counts and search index catch up.
+ */
+class ChangeLogCoherenceIntegrationTest {
+
+    /**
+     * How long an instance may take to see a change made by the other.
+     */
+    private static final Duration STALENESS_BOUND = Duration.ofSeconds(5);
+
+    private static ConfigurableApplicationContext first;
+
+    private static ConfigurableApplicationContext second;
+
+    /**
+     * Starts both instances. Command-line arguments take precedence over the junit profile,
+     * which turns the cache and the change log off.
+     */
+    @BeforeAll
+    static void startInstances() {
+        first = startInstance();
+        second = startInstance();
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (second != null) second.close();
+        if (first != null) first.close();
+    }
+
+    /**
+     * Verifies that creates, toggles and deletes on one instance reach the other's cached
+     * list, counts and search, and that an instance ignores its own changes in the log.
+     */
+    @Test
+    void shouldApplyChangesFromOtherInstance() {
+        TodoService reader = first.getBean(TodoService.class);
+        TodoService writer = second.getBean(TodoService.class);
+        long created = createdToday(reader);
+        long completed = completedToday(reader);
+        double appliedByFirst = applied(first);
+        double appliedBySecond = applied(second);
+        assertThat(names(reader)).doesNotContain("Written elsewhere");
+
+        Todo todo = writer.createTodo("Written elsewhere");
+        await().atMost(STALENESS_BOUND).untilAsserted(() -> {
+            assertThat(names(reader)).contains("Written elsewhere");
+            assertThat(createdToday(reader)).isEqualTo(created + 1);
+            assertThat(first.getBean(TodoSearchService.class).search("elsewhere", 0, 10).getTodos())
+                    .extracting(TodoSummary::getName).containsExactly("Written elsewhere");
+        });
+
+        writer.toggleStatus(todo.getId());
+        await().atMost(STALENESS_BOUND).untilAsserted(() -> {
+            assertThat(reader.getTodoPage(TodoSort.NEWEST, 50, null, null).getTodos())
+                    .filteredOn(summary -> summary.getId().equals(todo.getId()))
+                    .extracting(TodoSummary::getStatus).containsExactly(Todo.Status.COMPLETED);
+            assertThat(completedToday(reader)).isEqualTo(completed + 1);
+        });
+
+        writer.deleteTodo(todo.getId());
+        await().atMost(STALENESS_BOUND).untilAsserted(() -> {
+            assertThat(names(reader)).doesNotContain("Written elsewhere");
+            assertThat(createdToday(reader)).isEqualTo(created);
+            assertThat(first.getBean(TodoSearchService.class).search("elsewhere", 0, 10).getTodos()).isEmpty();
+        });
+
+        assertThat(applied(first)).isEqualTo(appliedByFirst + 3);
+        assertThat(applied(second)).isEqualTo(appliedBySecond);
+    }
+
+    /**
+     * Verifies that a bulk change on one instance reaches the other's cached list and search.
+     */
+    @Test
+    void shouldApplyBulkChangesFromOtherInstance() {
+        TodoService reader = first.getBean(TodoService.class);
+        Todo kept = reader.createTodo("Bulk kept");
+        Todo removed = reader.createTodo("Bulk removed");
+        await().atMost(STALENESS_BOUND).untilAsserted(() ->
+                assertThat(names(second.getBean(TodoService.class))).contains("Bulk kept", "Bulk removed"));
+        assertThat(names(reader)).contains("Bulk kept", "Bulk removed");
+
+        TodoBulkService writer = second.getBean(TodoBulkService.class);
+        writer.completeAll(List.of(kept.getId()));
+        writer.deleteAll(List.of(removed.getId()));
+
+        await().atMost(STALENESS_BOUND).untilAsserted(() -> {
+            assertThat(reader.getTodoPage(TodoSort.NEWEST, 50, null, null).getTodos())
+                    .filteredOn(summary -> summary.getName().startsWith("Bulk"))
+                    .extracting(TodoSummary::getName, TodoSummary::getStatus)
+                    .containsExactly(tuple("Bulk kept", Todo.Status.COMPLETED));
+            assertThat(first.getBean(TodoSearchService.class).search("bulk", 0, 10).getTodos())
+                    .extracting(TodoSummary::getName).containsExactly("Bulk kept");
+        });
+    }
+
+    private static ConfigurableApplicationContext startInstance() {
+        return new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("junit")
+                .run("--spring.datasource.url=jdbc:h2:mem:coherence;DB_CLOSE_DELAY=-1",
+                        "--todo.cache.enabled=true",
+                        "--todo.cache.ttl=10m",
+                        "--todo.change-log.enabled=true",
+                        "--todo.change-log.poll-interval=100ms");
+    }
+
+    private static List<String> names(TodoService todoService) {
+        return todoService.getTodoPage(TodoSort.NEWEST, 50, null, null).getTodos().stream()
+                .map(TodoSummary::getName)
+                .toList();
+    }
+
+    private static long createdToday(TodoService todoService) {
+        return todoService.countCreatedInRange(today(), today().plusDays(1));
+    }
+
+    private static long completedToday(TodoService todoService) {
+        return todoService.countCompletedInRange(today(), today().plusDays(1));
+    }
+
+    private static LocalDateTime today() {
+        return LocalDate.now().atStartOfDay();
+    }
+
+    private static double applied(ConfigurableApplicationContext context) {
+        return context.getBean(MeterRegistry.class).get("todo.change.log.applied").counter().count();
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.DailyCompletionLatencyDeltaRepository;
+import com.example.todoapp.repository.DailyCompletionLatencyRepository;
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.CompletionLatency;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.TodoBulkService;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Integration tests for the completion latency analytics.
+ *
+ * Verifies that the per-day latency sketches are maintained by to-do mutations, that
+ * compacting the appended changes leaves them unchanged, and that range percentiles
+ * combining whole days and partial edges match the exact values to within the sketch's
+ * accuracy.
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+class CompletionLatencyIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBulkService bulkService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DailyTodoStatsRepository statsRepository;
+
+    @Autowired
+    private DailyCompletionLatencyRepository latencyRepository;
+
+    @Autowired
+    private DailyCompletionLatencyDeltaRepository latencyDeltaRepository;
+
+    @Autowired
+    private TodoArchiveRepository archiveRepository;
+
+    /**
+     * Starts every test from an empty table, archive, rollup and set of sketches.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        archiveRepository.deleteAll();
+        statsRepository.deleteAll();
+        latencyRepository.deleteAll();
+        latencyDeltaRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that a multi-day range with partial edges matches the exact percentiles of
+     * the items completed in it, with one sketch per day of completion.
+     */
+    @Test
+    void rangeLatencyShouldMatchExactPercentiles() {
+        LocalDateTime base = LocalDate.of(2024, 3, 10).atStartOfDay();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime created = base.plusMinutes(37L * i);
+            todoRepository.save(Todo.builder()
+                    .name("Task " + i)
+                    .createdAt(created)
+                    .completedAt(created.plusMinutes(1 + (long) i * i))
+                    .status(Todo.Status.COMPLETED)
+                    .build());
+        }
+        dailyStatsService.rebuild();
+
+        LocalDateTime start = base.plusHours(7);
+        LocalDateTime end = base.plusDays(20).plusHours(13);
+        List<Long> exact = todoRepository.findAll().stream()
+                .filter(todo -> !todo.getCompletedAt().isBefore(start) && !todo.getCompletedAt().isAfter(end))
+                .map(todo -> Duration.between(todo.getCreatedAt(), todo.getCompletedAt()).toSeconds())
+                .sorted()
+                .toList();
+        CompletionLatency latency = todoService.getCompletionLatency(start, end);
+
+        assertThat(latency.getCount()).isEqualTo(exact.size());
+        assertThat(latencyRepository.count()).isEqualTo(todoRepository.findAll().stream()
+                .map(todo -> todo.getCompletedAt().toLocalDate()).distinct().count());
+        assertWithinAccuracy(latency.getP50(), exact.get((int) (0.5 * (exact.size() - 1))));
+        assertWithinAccuracy(latency.getP90(), exact.get((int) (0.9 * (exact.size() - 1))));
+        assertWithinAccuracy(latency.getP99(), exact.get((int) (0.99 * (exact.size() - 1))));
+        assertWithinAccuracy(latency.getMax(), exact.get(exact.size() - 1));
+        assertThat(seconds(latency.getMean()))
+                .isCloseTo(exact.stream().mapToLong(Long::longValue).average().orElseThrow(), within(0.001));
+    }
+
+    /**
+     * Verifies that toggles, bulk completions and reopens and deletes keep the sketches in
+     * step, so they match a rebuild from the items.
+     */
+    @Test
+    void mutationsShouldMaintainSketches() {
+        LocalDateTime created = LocalDateTime.now().minusHours(5);
+        List<Todo> todos = List.of(
+                save("Toggled", created), save("Bulk A", created.plusHours(1)), save("Bulk B", created.plusHours(2)),
+                save("Reopened", created), save("Deleted", created.plusHours(3)));
+        todoService.toggleStatus(todos.get(0).getId());
+        bulkService.completeAll(todos.stream().skip(1).map(Todo::getId).toList());
+        bulkService.reopenAll(List.of(todos.get(3).getId()));
+        todoService.deleteTodo(todos.get(4).getId());
+
+        LocalDateTime from = LocalDate.now().minusDays(1).atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(1).atStartOfDay();
+        CompletionLatency maintained = todoService.getCompletionLatency(from, to);
+        assertThat(maintained.getCount()).isEqualTo(3);
+        assertWithinAccuracy(maintained.getMax(), 5 * 3600);
+
+        dailyStatsService.rebuild();
+        assertThat(todoService.getCompletionLatency(from, to)).isEqualTo(maintained);
+    }
+
+    /**
+     * Verifies that mutations only append changes, and that folding them into the day
+     * sketches, in several batches, leaves the latency unchanged.
+     */
+    @Test
+    void compactionShouldFoldChangesWithoutChangingLatency() {
+        LocalDateTime created = LocalDateTime.now().minusHours(5);
+        List<Todo> todos = List.of(save("First", created), save("Second", created.plusHours(1)),
+                save("Third", created.plusHours(2)));
+        todos.forEach(todo -> todoService.toggleStatus(todo.getId()));
+        todoService.toggleStatus(todos.get(1).getId());
+
+        LocalDateTime from = LocalDate.now().minusDays(1).atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(1).atStartOfDay();
+        CompletionLatency appended = todoService.getCompletionLatency(from, to);
+        assertThat(appended.getCount()).isEqualTo(2);
+        assertThat(latencyRepository.count()).isZero();
+        assertThat(latencyDeltaRepository.count()).isEqualTo(4);
+
+        assertThat(dailyStatsService.compactLatencies(3)).isEqualTo(3);
+        assertThat(todoService.getCompletionLatency(from, to)).isEqualTo(appended);
+        assertThat(dailyStatsService.compactLatencies(3)).isEqualTo(1);
+        assertThat(dailyStatsService.compactLatencies(3)).isZero();
+
+        assertThat(latencyDeltaRepository.count()).isZero();
+        assertThat(latencyRepository.count()).isEqualTo(1);
+        assertThat(todoService.getCompletionLatency(from, to)).isEqualTo(appended);
+    }
+
+    private Todo save(String name, LocalDateTime createdAt) {
+        return todoRepository.save(Todo.builder()
+                .name(name)
+                .createdAt(createdAt)
+                .status(Todo.Status.PENDING)
+                .build());
+    }
+
+    /**
+     * Asserts that a latency from the sketches is within 1% of the exact number of seconds.
+     */
+    private static void assertWithinAccuracy(Duration actual, long exactSeconds) {
+        assertThat(seconds(actual)).isCloseTo(exactSeconds, within(exactSeconds * 0.01 + 0.001));
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the per-day analytics rollup.
+ *
+ * Verifies that the rollup is maintained by to-do mutations and that range
+ * counts combining whole days and partial edges match a direct count.
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+class DailyStatsIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DailyTodoStatsRepository statsRepository;
+
+    /**
+     * Starts every test from an empty table and rollup.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        statsRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that create, toggle and delete keep today's rollup row in step.
+     */
+    @Test
+    void mutationsShouldMaintainRollup() {
+        Todo first = todoService.createTodo("First");
+        Todo second = todoService.createTodo("Second");
+        todoService.toggleStatus(first.getId());
+
+        LocalDate today = LocalDate.now();
+        assertThat(statsRepository.findById(today)).hasValueSatisfying(day -> {
+            assertThat(day.getCreatedCount()).isEqualTo(2);
+            assertThat(day.getCompletedCount()).isEqualTo(1);
+        });
+
+        todoService.toggleStatus(first.getId());
+        todoService.deleteTodo(second.getId());
+
+        assertThat(statsRepository.findById(today)).hasValueSatisfying(day -> {
+            assertThat(day.getCreatedCount()).isEqualTo(1);
+            assertThat(day.getCompletedCount()).isZero();
+        });
+    }
+
+    /**
+     * Verifies that a multi-day range with partial edges matches a direct database count.
+     */
+    @Test
+    void rangeCountsShouldMatchDirectCounts() {
+        LocalDateTime base = LocalDate.of(2024, 3, 10).atStartOfDay();
+        for (int hour = 0; hour < 24 * 5; hour += 5) {
+            LocalDateTime created = base.plusHours(hour);
+            todoRepository.save(Todo.builder()
+                    .name("Task " + hour)
+                    .createdAt(created)
+                    .completedAt(hour % 2 == 0 ? created.plusHours(30) : null)
+                    .status(hour % 2 == 0 ? Todo.Status.COMPLETED : Todo.Status.PENDING)
+                    .build());
+        }
+        dailyStatsService.rebuild();
+
+        LocalDateTime start = base.plusHours(7);
+        LocalDateTime end = base.plusDays(3).plusHours(13);
+
+        assertThat(dailyStatsService.countCreated(start, end))
+                .isEqualTo(todoRepository.countByCreatedAtBetween(start, end));
+        assertThat(dailyStatsService.countCompleted(start, end))
+                .isEqualTo(todoRepository.countByCompletedAtBetween(start, end));
+        assertThat(dailyStatsService.countCreated(base, base.plusDays(5)))
+                .isEqualTo(todoRepository.count());
+    }
+}
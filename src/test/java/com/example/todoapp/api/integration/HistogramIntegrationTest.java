@@ -0,0 +1,138 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.HistogramBucket;
+import com.example.todoapp.service.HistogramGranularity;
+import com.example.todoapp.service.HistogramService;
+import com.example.todoapp.service.TodoReadCache;
+import com.example.todoapp.service.TodoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the analytics histogram.
+ *
+ * Verifies the bucket counts against direct database counts for every granularity
+ * and that closed buckets are reused from the cache until a mutation touches them.
+ */
+@SpringBootTest(properties = "todo.cache.enabled=true")
+@ActiveProfiles("junit")
+class HistogramIntegrationTest {
+
+    @Autowired
+    private HistogramService histogramService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoReadCache readCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Monday 2024-03-04, the start of the seeded data.
+     */
+    private static final LocalDateTime BASE = LocalDate.of(2024, 3, 4).atStartOfDay();
+
+    /**
+     * Seeds one item every 7 hours over three weeks, completing every third one an hour later.
+     */
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAll();
+        for (int hour = 0; hour < 24 * 21; hour += 7) {
+            boolean completed = hour % 3 == 0;
+            todoRepository.save(Todo.builder()
+                    .name("Item " + hour)
+                    .status(completed ? Todo.Status.COMPLETED : Todo.Status.PENDING)
+                    .createdAt(BASE.plusHours(hour))
+                    .completedAt(completed ? BASE.plusHours(hour + 1) : null)
+                    .build());
+        }
+        dailyStatsService.rebuild();
+        readCache.invalidateAll();
+    }
+
+    /**
+     * Verifies that every bucket, including the clipped edges, matches a direct count.
+     */
+    @Test
+    void bucketsShouldMatchDirectCounts() {
+        LocalDateTime start = BASE.plusDays(1).plusHours(5);
+        LocalDateTime end = BASE.plusDays(17).plusHours(3);
+        for (HistogramGranularity granularity : HistogramGranularity.values()) {
+            List<HistogramBucket> buckets = histogramService.histogram(granularity, start, end);
+
+            assertThat(buckets.get(0).getStart()).isEqualTo(start);
+            assertThat(buckets.get(buckets.size() - 1).getEnd()).isEqualTo(end);
+            for (HistogramBucket bucket : buckets) {
+                assertThat(bucket.getCreated()).as("%s created %s", granularity, bucket.getStart())
+                        .isEqualTo(todoRepository.countCreatedBetweenExclusive(bucket.getStart(), bucket.getEnd()));
+                assertThat(bucket.getCompleted()).as("%s completed %s", granularity, bucket.getStart())
+                        .isEqualTo(todoRepository.countCompletedBetweenExclusive(bucket.getStart(), bucket.getEnd()));
+            }
+            assertThat(buckets.stream().mapToLong(HistogramBucket::getCreated).sum())
+                    .isEqualTo(todoRepository.countCreatedBetweenExclusive(start, end));
+        }
+        assertThat(histogramService.histogram(HistogramGranularity.WEEK, start, end)).hasSize(3);
+    }
+
+    /**
+     * Verifies that an overlapping query is served from cached closed buckets and that
+     * deleting an item refreshes only the bucket it was counted in.
+     */
+    @Test
+    void closedBucketsShouldBeCachedAndInvalidated() {
+        LocalDateTime start = BASE;
+        LocalDateTime end = BASE.plusDays(14);
+        histogramService.histogram(HistogramGranularity.DAY, start, end);
+
+        double hitsBefore = hits();
+        List<HistogramBucket> overlapping = histogramService.histogram(HistogramGranularity.DAY, start.plusDays(7), end);
+        assertThat(hits()).isEqualTo(hitsBefore + 7);
+
+        Todo first = todoRepository.findAll().stream()
+                .filter(todo -> todo.getCreatedAt().equals(BASE.plusDays(7)))
+                .findFirst().orElseThrow();
+        long createdBefore = overlapping.get(0).getCreated();
+        todoService.deleteTodo(first.getId());
+
+        List<HistogramBucket> refreshed = histogramService.histogram(HistogramGranularity.DAY, start.plusDays(7), end);
+        assertThat(refreshed.get(0).getCreated()).isEqualTo(createdBefore - 1);
+        assertThat(refreshed.subList(1, 7)).isEqualTo(overlapping.subList(1, 7));
+    }
+
+    /**
+     * Verifies that a range needing too many buckets is rejected.
+     */
+    @Test
+    void tooManyBucketsShouldBeRejected() {
+        assertThatThrownBy(() -> histogramService.histogram(HistogramGranularity.HOUR, BASE, BASE.plusYears(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "todoBuckets").tag("result", "hit").functionCounter().count();
+    }
+}
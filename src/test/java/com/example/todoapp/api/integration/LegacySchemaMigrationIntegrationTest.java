@@ -0,0 +1,99 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for migrating a database created by the original release.
+ *
+ * Seeds an H2 database with the schema Hibernate's ddl-auto=update created for the
+ * original entity, a todo table with an IDENTITY id and nothing else, and starts the
+ * application on it. Flyway has to baseline it, bring it up to the current schema and
+ * keep its rows, so that validation and the index drift check pass.
+ */
+class LegacySchemaMigrationIntegrationTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext context;
+
+    /**
+     * Creates the original schema with three rows, one of them without a creation time,
+     * and starts the application on it.
+     */
+    @BeforeAll
+    static void startOnLegacyDatabase() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "sa");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table todo (id bigint generated by default as identity, "
+                    + "completed_at timestamp(6), created_at timestamp(6), name varchar(255), "
+                    + "status varchar(255) check (status in ('PENDING','COMPLETED')), primary key (id))");
+            statement.execute("insert into todo (id, name, status, created_at) "
+                    + "values (1, 'Legacy pending', 'PENDING', current_timestamp - interval '2' day)");
+            statement.execute("insert into todo (id, name, status, created_at, completed_at) "
+                    + "values (2, 'Legacy completed', 'COMPLETED', current_timestamp - interval '1' day, current_timestamp)");
+            statement.execute("insert into todo (id, name, status) values (500, 'Legacy undated', 'PENDING')");
+        }
+        context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("junit")
+                .run("--spring.datasource.url=" + URL);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) context.close();
+    }
+
+    /**
+     * Verifies that the database was baselined at version 0 and every migration applied on top.
+     */
+    @Test
+    void shouldBaselineAndApplyEveryMigration() {
+        MigrationInfo[] applied = context.getBean(Flyway.class).info().applied();
+
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("0");
+        assertThat(applied[0].getState()).isEqualTo(MigrationState.BASELINE);
+        assertThat(Arrays.stream(applied).skip(1).map(MigrationInfo::getState)).containsOnly(MigrationState.SUCCESS);
+        assertThat(Arrays.stream(applied).map(info -> info.getVersion().getVersion())).contains("1", "1.1", "2", "6", "8");
+    }
+
+    /**
+     * Verifies that the legacy rows are listed, counted from the rollup and its latency
+     * sketches filled by the migrations, and that new items get IDs past the highest legacy ID.
+     */
+    @Test
+    void shouldKeepLegacyRowsAndContinueTheirIds() {
+        TodoService todoService = context.getBean(TodoService.class);
+
+        assertThat(todoService.getTodoPage(TodoSort.OLDEST, 10, null, null).getTodos())
+                .extracting(TodoSummary::getName)
+                .contains("Legacy pending", "Legacy completed", "Legacy undated");
+        assertThat(todoService.countCompletedInRange(LocalDate.now().atStartOfDay(),
+                LocalDate.now().plusDays(1).atStartOfDay())).isEqualTo(1);
+        assertThat(todoService.getCompletionLatency(LocalDate.now().atStartOfDay(),
+                LocalDate.now().plusDays(1).atStartOfDay()).getCount()).isEqualTo(1);
+
+        assertThat(todoService.createTodo("After the upgrade").getId()).isGreaterThan(500);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.config.MetricsConfiguration;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the instrumentation layer.
+ *
+ * Drives a few requests and checks that the service timers, query counts, render
+ * times, pool gauges and Hibernate statistics appear in the Prometheus scrape.
+ */
+@SpringBootTest(properties = "todo.metrics.high-cardinality=true")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("junit")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Verifies that the hot-path meters are exported, with histogram buckets when
+     * high-cardinality metrics are on.
+     */
+    @Test
+    void shouldExposeHotPathMetrics() throws Exception {
+        mockMvc.perform(post("/add").param("name", "Measured")).andExpect(status().is3xxRedirection());
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+        mockMvc.perform(get("/analytics")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("todo_service_seconds_count{class=\"com.example.todoapp.service.TodoService\",exception=\"none\",method=\"createTodo\"")
+                .contains("todo_service_seconds_bucket{class=\"com.example.todoapp.service.TodoService\",exception=\"none\",method=\"getTodoPage\"")
+                .contains("todo_http_queries_count{uri=\"/\"")
+                .contains("todo_view_render_seconds_count{view=\"index\"")
+                .contains("todo_view_render_seconds_count{view=\"analytics\"")
+                .contains("todo_db_pool_saturation")
+                .contains("hikaricp_connections_pending")
+                .contains("hibernate_statements_total");
+        assertThat(scrape).doesNotContain("view=\"redirect:/\"");
+    }
+
+    /**
+     * Verifies that with high-cardinality metrics off the "exception" tag is dropped
+     * and no histogram buckets are published.
+     */
+    @Test
+    void lowCardinalityShouldDropExceptionTagAndBuckets() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsConfiguration().cardinalityFilter(false));
+
+        Timer timer = Timer.builder("todo.service").tag("method", "createTodo").tag("exception", "none").register(registry);
+        timer.record(Duration.ofMillis(5));
+
+        assertThat(timer.getId().getTag("exception")).isNull();
+        assertThat(timer.getId().getTag("method")).isEqualTo("createTodo");
+        assertThat(timer.takeSnapshot().histogramCounts()).isEmpty();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for the rendered-page cache.
+ *
+ * Checks that unchanged pages are answered with 304 or from memory without reaching
+ * the service, that every committed change produces a new ETag, and that large pages
+ * are served gzipped to clients that accept it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "todo.page-cache.enabled=true")
+@ActiveProfiles("junit")
+class RenderedPageCacheIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @SpyBean
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Starts every test from a list holding one item.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        todoService.createTodo("Seed");
+    }
+
+    /**
+     * Verifies that a request with the current ETag is answered with 304 without
+     * reading the list, also when a proxy has weakened the tag.
+     */
+    @Test
+    void shouldAnswerUnchangedPageWithNotModified() {
+        ResponseEntity<String> first = get("/", null, false);
+        String etag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        double before = meterRegistry.counter("todo.page.not.modified").count();
+
+        clearInvocations(todoService);
+        ResponseEntity<String> second = get("/", etag, false);
+        ResponseEntity<String> weak = get("/", "W/" + etag, false);
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(weak.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        verify(todoService, never()).getTodoPage(any(), anyInt(), any(), any());
+        assertThat(meterRegistry.counter("todo.page.not.modified").count()).isEqualTo(before + 2);
+    }
+
+    /**
+     * Verifies that the kept page is served until a change commits, after which the
+     * old ETag no longer matches and the page shows the change.
+     */
+    @Test
+    void shouldRenderAgainAfterChange() {
+        ResponseEntity<String> first = get("/", null, false);
+        String etag = first.getHeaders().getETag();
+
+        clearInvocations(todoService);
+        ResponseEntity<String> kept = get("/", null, false);
+        assertThat(kept.getBody()).isEqualTo(first.getBody());
+        assertThat(kept.getHeaders().getETag()).isEqualTo(etag);
+        verify(todoService, never()).getTodoPage(any(), anyInt(), any(), any());
+
+        todoService.createTodo("Fresh Task");
+        ResponseEntity<String> changed = get("/", etag, false);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(changed.getBody()).contains("Fresh Task");
+        assertThat(get("/?sort=oldest", null, false).getHeaders().getETag())
+                .isNotEqualTo(changed.getHeaders().getETag());
+    }
+
+    /**
+     * Verifies that the analytics page is cached the same way and follows status changes.
+     */
+    @Test
+    void shouldCacheAnalyticsPage() {
+        String etag = get("/analytics", null, false).getHeaders().getETag();
+        assertThat(get("/analytics", etag, false).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        Todo todo = todoRepository.findAll().get(0);
+        todoService.toggleStatus(todo.getId());
+
+        ResponseEntity<String> changed = get("/analytics", etag, false);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    /**
+     * Verifies that large pages are gzipped for clients that accept it, under their own ETag.
+     */
+    @Test
+    void shouldCompressLargePages() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            todoService.createTodo("Compressed Task " + i);
+        }
+
+        ResponseEntity<byte[]> plain = getBytes("/", false);
+        ResponseEntity<byte[]> gzipped = getBytes("/", true);
+
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag());
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipped.getBody().length).isLessThan(plain.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(new String(plain.getBody(), StandardCharsets.UTF_8))
+                    .contains("Compressed Task 39");
+        }
+    }
+
+    private ResponseEntity<String> get(String path, String ifNoneMatch, boolean gzip) {
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(ifNoneMatch, gzip)), String.class);
+    }
+
+    private ResponseEntity<byte[]> getBytes(String path, boolean gzip) {
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(null, gzip)), byte[].class);
+    }
+
+    private static HttpHeaders headers(String ifNoneMatch, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        headers.set(HttpHeaders.ACCEPT_ENCODING, gzip ? "gzip" : "identity");
+        return headers;
+    }
+}
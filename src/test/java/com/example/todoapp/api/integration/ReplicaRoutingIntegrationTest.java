@@ -0,0 +1,163 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.config.ReplicaStickinessFilter;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.service.TodoReadCache;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for read-replica routing, with a second in-memory H2 database
+ * standing in for the replica.
+ *
+ * Rows are written to each database directly, without replication, so every read shows
+ * which database served it. The read cache and the rendered-page cache are on, as in
+ * production, so the tests also show that pinned requests are not served from them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "todo.replicas.enabled=true",
+        "todo.replicas.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "todo.replicas.max-lag=1s",
+        "todo.replicas.health-check-interval=1h",
+        "todo.cache.enabled=true",
+        "todo.page-cache.enabled=true"
+})
+@ActiveProfiles("junit")
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final long MAX_LAG_MILLIS = 1000;
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoReadCache readCache;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+
+    /**
+     * Creates the replica's schema from the same migrations as the primary.
+     */
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "sa");
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load().migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Starts every test from two empty databases and an empty read cache, once reads may use
+     * the replica again.
+     */
+    @BeforeEach
+    void clean() throws InterruptedException {
+        primary = new JdbcTemplate(primaryDataSource);
+        primary.update("delete from todo");
+        replica.update("delete from todo");
+        readCache.invalidateAll();
+        Thread.sleep(MAX_LAG_MILLIS + 100);
+    }
+
+    /**
+     * Verifies that reads come from the replica, writes go to the primary, and reads stay on
+     * the primary for the maximum lag after a change. The page read from the primary stays
+     * cached, as a replica would have caught up by then; once it is dropped, the replica
+     * serves the list again.
+     */
+    @Test
+    void shouldReadFromReplicaAndWriteToPrimary() throws InterruptedException {
+        insert(replica, 1_000_001L, "Replica Only");
+        assertThat(listedNames()).containsExactly("Replica Only");
+
+        todoService.createTodo("Primary Only");
+        assertThat(primary.queryForObject("select count(*) from todo where name = 'Primary Only'", Long.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from todo", Long.class)).isEqualTo(1);
+        assertThat(listedNames()).containsExactly("Primary Only");
+
+        Thread.sleep(MAX_LAG_MILLIS + 100);
+        assertThat(listedNames()).containsExactly("Primary Only");
+        readCache.invalidateAll();
+        assertThat(listedNames()).containsExactly("Replica Only");
+    }
+
+    /**
+     * Verifies that a POST sets the stickiness cookie and that requests carrying a current
+     * cookie read their own writes from the primary, past the page and read caches filled
+     * from the replica, without putting primary rows into them.
+     */
+    @Test
+    void shouldReadOwnWritesAfterPost() {
+        insert(replica, 1_000_001L, "Replica Row");
+        insert(primary, 1_000_002L, "Primary Row");
+
+        assertThat(getIndex(null)).contains("Replica Row").doesNotContain("Primary Row");
+        assertThat(getIndex(cookie(System.currentTimeMillis() + 60_000))).contains("Primary Row").doesNotContain("Replica Row");
+        assertThat(getIndex(cookie(System.currentTimeMillis() - 1))).contains("Replica Row");
+        assertThat(getIndex(null)).contains("Replica Row").doesNotContain("Primary Row");
+
+        HttpHeaders form = new HttpHeaders();
+        form.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        ResponseEntity<String> posted = restTemplate.postForEntity("/add", new HttpEntity<>("name=Sticky Task", form), String.class);
+        assertThat(posted.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+        String setCookie = posted.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith(ReplicaStickinessFilter.COOKIE + "=").contains("HttpOnly");
+
+        assertThat(getIndex(setCookie.substring(0, setCookie.indexOf(';')))).contains("Sticky Task");
+    }
+
+    private List<String> listedNames() {
+        return todoService.getTodoPage(TodoSort.NEWEST, 50, null, null).getTodos().stream()
+                .map(TodoSummary::getName)
+                .toList();
+    }
+
+    private String getIndex(String cookie) {
+        HttpHeaders headers = new HttpHeaders();
+        if (cookie != null) headers.set(HttpHeaders.COOKIE, cookie);
+        return restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+    }
+
+    private static String cookie(long until) {
+        return ReplicaStickinessFilter.COOKIE + "=" + until;
+    }
+
+    private static void insert(JdbcTemplate jdbc, long id, String name) {
+        jdbc.update("insert into todo (id, name, created_at, status, version) values (?, ?, ?, 'PENDING', 0)",
+                id, name, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.repository.SchemaDriftCheck;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the schema migrations on the H2 test database.
+ *
+ * Verifies that all migrations were applied, that the list and analytics queries
+ * are planned on the indexes the migrations create, and that the startup check
+ * rejects a schema whose indexes have drifted.
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Verifies that every migration was applied successfully.
+     */
+    @Test
+    void allMigrationsShouldBeApplied() {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertThat(applied).extracting(info -> info.getVersion().getVersion()).contains("1", "2", "3");
+        assertThat(Arrays.stream(applied).map(MigrationInfo::getState)).containsOnly(MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    /**
+     * Verifies that the analytics range counts and the pending count use their indexes.
+     */
+    @Test
+    void analyticsQueriesShouldUseIndexes() {
+        assertThat(plan("select count(*) from todo where created_at >= timestamp '2024-03-01 00:00:00' "
+                + "and created_at < timestamp '2024-03-08 00:00:00'"))
+                .containsIgnoringCase("idx_todo_created_at_id");
+        assertThat(plan("select count(*) from todo where completed_at >= timestamp '2024-03-01 00:00:00' "
+                + "and completed_at < timestamp '2024-03-08 00:00:00'"))
+                .containsIgnoringCase("idx_todo_completed_at");
+        assertThat(plan("select count(*) from todo where status = 'PENDING'"))
+                .containsIgnoringCase("idx_todo_pending_created_at");
+    }
+
+    /**
+     * Verifies that a page of the list view seeks into the covering index on the creation timestamp.
+     */
+    @Test
+    void listPageShouldBeReadFromCoveringIndex() {
+        String plan = plan("select id, name, status, created_at, completed_at, version from todo "
+                + "where created_at <= timestamp '2024-03-08 00:00:00' "
+                + "order by created_at desc, id desc fetch first 50 rows only");
+        assertThat(plan).containsIgnoringCase("idx_todo_created_at_id: created_at <=");
+    }
+
+    /**
+     * Verifies that the startup check fails once a required index is missing.
+     */
+    @Test
+    void driftCheckShouldRejectMissingIndex() throws Exception {
+        SchemaDriftCheck check = new SchemaDriftCheck(dataSource);
+        check.afterPropertiesSet();
+
+        jdbcTemplate.execute("drop index idx_todo_completed_at");
+        try {
+            assertThatThrownBy(check::afterPropertiesSet)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("idx_todo_completed_at");
+        } finally {
+            jdbcTemplate.execute("create index idx_todo_completed_at on todo (completed_at)");
+        }
+    }
+
+    private String plan(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.ArchivedTodo;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.CompletionLatency;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.HistogramBucket;
+import com.example.todoapp.service.HistogramGranularity;
+import com.example.todoapp.service.HistogramService;
+import com.example.todoapp.service.TodoArchiveService;
+import com.example.todoapp.service.TodoArchiver;
+import com.example.todoapp.service.TodoBulkService;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the archive tier.
+ *
+ * Archives old completed items in small batches and checks that range counts and
+ * histograms are unchanged, that the primary table and the search index no longer
+ * hold the items, that the archive can be paged through, and that bulk deletes reach
+ * archived items.
+ */
+@SpringBootTest(properties = {"todo.archive.min-age=30d", "todo.archive.batch-size=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("junit")
+class TodoArchiveIntegrationTest {
+
+    /**
+     * Completion time of the old items, in the middle of a day so that ranges can start inside it.
+     */
+    private static final LocalDateTime OLD_COMPLETION = LocalDateTime.now().minusDays(200)
+            .truncatedTo(ChronoUnit.DAYS).withHour(12);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoArchiver archiver;
+
+    @Autowired
+    private TodoArchiveService archiveService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBulkService todoBulkService;
+
+    @Autowired
+    private HistogramService histogramService;
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoArchiveRepository archiveRepository;
+
+    /**
+     * Seeds three old completed items, a recently completed one and an old pending one.
+     */
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAll();
+        archiveRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            save("Old done " + i, OLD_COMPLETION.minusDays(1).plusMinutes(i), OLD_COMPLETION.plusMinutes(i));
+        }
+        save("Recent done", LocalDateTime.now().minusDays(12), LocalDateTime.now().minusDays(10));
+        save("Old pending", OLD_COMPLETION.minusDays(1), null);
+        dailyStatsService.rebuild();
+        todoSearchService.buildIndex();
+    }
+
+    /**
+     * Verifies that archiving moves only old completed items and leaves all analytics unchanged.
+     */
+    @Test
+    void shouldMoveOldCompletedItemsWithoutChangingAnalytics() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime midDay = OLD_COMPLETION.minusHours(1);
+        long createdBefore = todoService.countCreatedInRange(now.minusDays(300), now);
+        long completedBefore = todoService.countCompletedInRange(now.minusDays(300), now);
+        long completedFromMidDay = todoService.countCompletedInRange(midDay, now);
+        List<HistogramBucket> hoursBefore = histogramService.histogram(HistogramGranularity.HOUR,
+                OLD_COMPLETION.minusHours(2), OLD_COMPLETION.plusHours(2));
+        CompletionLatency latencyFromMidDay = todoService.getCompletionLatency(midDay, now);
+
+        assertThat(archiver.archive()).isEqualTo(3);
+
+        assertThat(todoRepository.findAll()).extracting(Todo::getName)
+                .containsExactlyInAnyOrder("Recent done", "Old pending");
+        assertThat(archiveRepository.count()).isEqualTo(3);
+        assertThat(todoService.countCreatedInRange(now.minusDays(300), now)).isEqualTo(createdBefore);
+        assertThat(todoService.countCompletedInRange(now.minusDays(300), now)).isEqualTo(completedBefore);
+        assertThat(todoService.countCompletedInRange(midDay, now)).isEqualTo(completedFromMidDay).isEqualTo(4);
+        assertThat(todoService.getCompletionLatency(midDay, now)).isEqualTo(latencyFromMidDay)
+                .extracting(CompletionLatency::getCount).isEqualTo(4L);
+        assertThat(histogramService.histogram(HistogramGranularity.HOUR,
+                OLD_COMPLETION.minusHours(2), OLD_COMPLETION.plusHours(2))).isEqualTo(hoursBefore);
+        assertThat(todoSearchService.search("done", 0, 10).getTotal()).isEqualTo(1);
+
+        assertThat(archiver.archive()).isZero();
+    }
+
+    /**
+     * Verifies that the archive page lists archived items newest first, with a cursor to older ones.
+     */
+    @Test
+    void shouldPageThroughArchive() throws Exception {
+        archiver.archive();
+
+        mockMvc.perform(get("/archive").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Old done 2")))
+                .andExpect(content().string(containsString("Old done 1")))
+                .andExpect(content().string(not(containsString("Old done 0"))))
+                .andExpect(content().string(containsString("Older")));
+
+        Long cursor = archiveService.getArchivePage(null, 2).getNextCursor();
+        mockMvc.perform(get("/archive").param("size", "2").param("after", cursor.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Old done 0")))
+                .andExpect(content().string(not(containsString("Older"))));
+    }
+
+    /**
+     * Verifies that an item archived by another instance counts without any local state
+     * being told of it.
+     */
+    @Test
+    void shouldCountItemsArchivedElsewhere() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime midDay = OLD_COMPLETION.minusHours(1);
+        assertThat(todoService.countCompletedInRange(midDay, now)).isEqualTo(4);
+
+        Todo old = todoRepository.findAll().stream()
+                .filter(todo -> todo.getName().equals("Old done 0")).findFirst().orElseThrow();
+        archiveRepository.save(new ArchivedTodo(old.getId(), old.getName(), old.getCreatedAt(),
+                old.getCompletedAt(), now));
+        todoRepository.deleteById(old.getId());
+
+        assertThat(todoService.countCompletedInRange(midDay, now)).isEqualTo(4);
+    }
+
+    /**
+     * Verifies that deleting by ID and clearing completed items remove archived items, and
+     * that the rollup afterwards matches one rebuilt from the remaining rows.
+     */
+    @Test
+    void bulkDeletesShouldReachArchivedItems() {
+        archiver.archive();
+        List<Long> archived = archiveRepository.findAll().stream().map(ArchivedTodo::getId).sorted().toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(todoBulkService.deleteAll(List.of(archived.get(0))).getAffected()).isEqualTo(1);
+        assertThat(todoBulkService.deleteCompletedBefore(OLD_COMPLETION.plusDays(1)).getAffected()).isEqualTo(2);
+
+        assertThat(archiveRepository.count()).isZero();
+        assertThat(todoService.countCompletedInRange(OLD_COMPLETION.minusHours(1), now)).isEqualTo(1);
+        long created = todoService.countCreatedInRange(now.minusDays(300), now);
+        long completed = todoService.countCompletedInRange(now.minusDays(300), now);
+        CompletionLatency latency = todoService.getCompletionLatency(now.minusDays(300), now);
+        dailyStatsService.rebuild();
+        assertThat(created).isEqualTo(todoService.countCreatedInRange(now.minusDays(300), now)).isEqualTo(2);
+        assertThat(completed).isEqualTo(todoService.countCompletedInRange(now.minusDays(300), now)).isEqualTo(1);
+        assertThat(latency).isEqualTo(todoService.getCompletionLatency(now.minusDays(300), now));
+    }
+
+    private void save(String name, LocalDateTime createdAt, LocalDateTime completedAt) {
+        todoRepository.save(Todo.builder().name(name).createdAt(createdAt).completedAt(completedAt)
+                .status(completedAt == null ? Todo.Status.PENDING : Todo.Status.COMPLETED).build());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.TodoBulkService;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for clearing completed items in batches.
+ *
+ * Runs with a batch size of two, so that clearing five items takes three transactions.
+ */
+@SpringBootTest(properties = "todo.bulk.max-ids=2")
+@ActiveProfiles("junit")
+class TodoBulkBatchingIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBulkService todoBulkService;
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoArchiveRepository archiveRepository;
+
+    /**
+     * Starts from an empty table and archive with a matching rollup and search index.
+     */
+    @BeforeEach
+    void reset() {
+        todoRepository.deleteAll();
+        archiveRepository.deleteAll();
+        dailyStatsService.rebuild();
+        todoSearchService.buildIndex();
+    }
+
+    /**
+     * Verifies that every batch is deleted, including a final partial one, and that the
+     * rollup and the search index follow.
+     */
+    @Test
+    void shouldDeleteCompletedBeforeInBatches() {
+        List<Long> done = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            done.add(todoService.createTodo("Archived report " + i).getId());
+        }
+        todoService.createTodo("Open report");
+        todoBulkService.completeAll(done.subList(0, 2));
+        todoBulkService.completeAll(done.subList(2, 4));
+        todoBulkService.completeAll(done.subList(4, 5));
+
+        assertThat(todoBulkService.deleteCompletedBefore(LocalDateTime.now().plusMinutes(1)).getAffected())
+                .isEqualTo(5);
+
+        assertThat(todoRepository.count()).isEqualTo(1);
+        assertThat(todoSearchService.search("report", 0, 10).getTotal()).isEqualTo(1);
+        LocalDateTime from = LocalDate.now().minusDays(1).atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(2).atStartOfDay();
+        assertThat(dailyStatsService.countCreated(from, to)).isEqualTo(todoRepository.countByCreatedAtBetween(from, to));
+        assertThat(dailyStatsService.countCompleted(from, to)).isZero();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.config.QueryCounter;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.TodoBulkService;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the JSON API and its bulk operations.
+ *
+ * Checks the affected counts, that the statement count does not grow with the number
+ * of items, and that the daily rollup and the search index stay in step with the table.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("junit")
+class TodoBulkIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBulkService todoBulkService;
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    /**
+     * Starts from an empty table with a matching rollup and search index.
+     */
+    @BeforeEach
+    void reset() {
+        todoRepository.deleteAll();
+        dailyStatsService.rebuild();
+        todoSearchService.buildIndex();
+    }
+
+    /**
+     * Verifies the JSON endpoints and their affected counts, which skip missing and unchanged items.
+     */
+    @Test
+    void shouldReportAffectedCounts() throws Exception {
+        List<Long> ids = create("Bulk item", 3);
+
+        mockMvc.perform(get("/api/todos/" + ids.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Bulk item 0"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+        mockMvc.perform(post("/api/todos/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(ids.get(0), ids.get(1))))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"affected\": 2}"));
+        mockMvc.perform(post("/api/todos/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(ids.get(0), ids.get(1), ids.get(2))))
+                .andExpect(content().json("{\"affected\": 1}"));
+        mockMvc.perform(post("/api/todos/reopen").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(ids.get(0), -1L)))
+                .andExpect(content().json("{\"affected\": 1}"));
+        mockMvc.perform(post("/api/todos/delete").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(ids.get(0), ids.get(1), -1L)))
+                .andExpect(content().json("{\"affected\": 2}"));
+        mockMvc.perform(get("/api/todos/" + ids.get(0)))
+                .andExpect(status().isNotFound());
+
+        assertThat(todoRepository.count()).isEqualTo(1);
+        assertRollupMatchesTable();
+    }
+
+    /**
+     * Verifies that empty ID sets are rejected.
+     */
+    @Test
+    void shouldRejectEmptyIdSet() throws Exception {
+        mockMvc.perform(post("/api/todos/delete").contentType(MediaType.APPLICATION_JSON).content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Verifies that completing or deleting many items costs as many statements as a few.
+     */
+    @Test
+    void shouldUseConstantNumberOfStatements() {
+        List<Long> few = create("Few", 2);
+        List<Long> many = create("Many", 200);
+        // Creates today's latency sketch row, so neither measured completion inserts it
+        List<Long> warmUp = create("Warm-up", 1);
+        todoBulkService.completeAll(warmUp);
+
+        assertThat(statements(() -> todoBulkService.completeAll(many)))
+                .isEqualTo(statements(() -> todoBulkService.completeAll(few)));
+        assertThat(statements(() -> todoBulkService.deleteAll(many)))
+                .isEqualTo(statements(() -> todoBulkService.deleteAll(few)));
+        todoBulkService.deleteAll(warmUp);
+        assertThat(todoRepository.count()).isZero();
+        assertRollupMatchesTable();
+    }
+
+    /**
+     * Verifies that clearing completed items keeps pending ones and removes the deleted
+     * ones from the rollup and the search index.
+     */
+    @Test
+    void shouldDeleteCompletedBefore() throws Exception {
+        List<Long> done = create("Archived report", 4);
+        create("Open report", 2);
+        todoBulkService.completeAll(done);
+
+        mockMvc.perform(delete("/api/todos/completed")
+                        .param("before", LocalDateTime.now().plusMinutes(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"affected\": 4}"));
+
+        assertThat(todoRepository.count()).isEqualTo(2);
+        assertThat(todoSearchService.search("report", 0, 10).getTotal()).isEqualTo(2);
+        assertRollupMatchesTable();
+    }
+
+    private List<Long> create(String prefix, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(todoService.createTodo(prefix + " " + i).getId());
+        }
+        return ids;
+    }
+
+    private int statements(Runnable operation) {
+        queryCounter.reset();
+        operation.run();
+        return queryCounter.count();
+    }
+
+    private static String json(Long... ids) {
+        return List.of(ids).stream().map(String::valueOf).collect(Collectors.joining(", ", "{\"ids\": [", "]}"));
+    }
+
+    /**
+     * Compares the rollup counts around today with counts taken directly from the table.
+     */
+    private void assertRollupMatchesTable() {
+        LocalDateTime from = LocalDate.now().minusDays(1).atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(2).atStartOfDay();
+        assertThat(dailyStatsService.countCreated(from, to)).isEqualTo(todoRepository.countByCreatedAtBetween(from, to));
+        assertThat(dailyStatsService.countCompleted(from, to))
+                .isEqualTo(todoRepository.countByCompletedAtBetween(from, to));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrency tests for status toggles and optimistic versioning.
+ *
+ * Hammers a single row from many threads and checks that no toggle is lost.
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+class TodoConcurrencyIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int TOGGLES_PER_THREAD = 25;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DailyTodoStatsRepository statsRepository;
+
+    /**
+     * Starts every test from an empty table and rollup.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        statsRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that concurrent toggles of one row are all applied: the version counts
+     * every toggle and the final status and rollup match the parity of the total.
+     */
+    @Test
+    void concurrentTogglesShouldNotBeLost() throws Exception {
+        Todo todo = todoService.createTodo("Contended");
+        int total = THREADS * TOGGLES_PER_THREAD + 1;
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < TOGGLES_PER_THREAD; i++) {
+                    todoService.toggleStatus(todo.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        todoService.toggleStatus(todo.getId());
+
+        Todo result = todoRepository.findById(todo.getId()).orElseThrow();
+        assertThat(result.getVersion()).isEqualTo(total);
+        assertThat(result.getStatus()).isEqualTo(Todo.Status.COMPLETED);
+        assertThat(result.getCompletedAt()).isNotNull();
+        assertThat(statsRepository.findById(LocalDate.now()))
+                .hasValueSatisfying(day -> assertThat(day.getCompletedCount()).isEqualTo(1));
+    }
+
+    /**
+     * Verifies that saving a stale copy of an entity fails instead of overwriting a newer update.
+     */
+    @Test
+    void staleEntityUpdateShouldBeRejected() {
+        Todo todo = todoService.createTodo("Versioned");
+        Todo stale = todoRepository.findById(todo.getId()).orElseThrow();
+
+        todoService.toggleStatus(todo.getId());
+        stale.setName("Overwrite");
+
+        assertThatThrownBy(() -> todoRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoArchiveRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoArchiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the streaming export endpoint.
+ *
+ * Exports more rows than the flush threshold to make sure chunked output
+ * contains every row exactly once in both formats, archived ones included.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "todo.export.flush-rows=7")
+@ActiveProfiles("junit")
+class TodoExportIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoArchiveRepository archiveRepository;
+
+    @Autowired
+    private TodoArchiver archiver;
+
+    /**
+     * Seeds 25 items, one with a name that needs CSV quoting.
+     */
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAll();
+        archiveRepository.deleteAll();
+        List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            todos.add(Todo.builder().name("Task " + i).status(Todo.Status.PENDING).build());
+        }
+        todos.add(Todo.builder().name("Say \"hi\", please").status(Todo.Status.COMPLETED).build());
+        todoRepository.saveAll(todos);
+    }
+
+    /**
+     * Verifies that the NDJSON export contains one JSON object per line for every row.
+     */
+    @Test
+    void shouldExportNdjson() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/export", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(25).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(lines[0]).contains("\"name\":\"Task 0\"");
+    }
+
+    /**
+     * Verifies that the CSV export has a header, one record per row and quoted names.
+     */
+    @Test
+    void shouldExportCsv() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/export?format=csv", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String[] lines = response.getBody().split("\n");
+        assertThat(lines).hasSize(26);
+        assertThat(lines[0]).isEqualTo("id,name,status,createdAt,completedAt");
+        assertThat(lines[25]).contains("\"Say \"\"hi\"\", please\",COMPLETED");
+    }
+
+    /**
+     * Verifies that archived items are exported after the primary ones, as completed and without a version.
+     */
+    @Test
+    void shouldExportArchivedItems() {
+        LocalDateTime completedAt = LocalDateTime.now().minusDays(200).truncatedTo(ChronoUnit.SECONDS);
+        todoRepository.save(Todo.builder().name("Archived task").status(Todo.Status.COMPLETED)
+                .createdAt(completedAt.minusDays(1)).completedAt(completedAt).build());
+        assertThat(archiver.archive()).isEqualTo(1);
+
+        String[] ndjson = restTemplate.getForEntity("/export", String.class).getBody().split("\n");
+        assertThat(ndjson).hasSize(26);
+        assertThat(ndjson[25]).contains("\"name\":\"Archived task\"", "\"status\":\"COMPLETED\"")
+                .doesNotContain("\"version\"");
+
+        String[] csv = restTemplate.getForEntity("/export?format=csv", String.class).getBody().split("\n");
+        assertThat(csv).hasSize(27);
+        assertThat(csv[26]).contains("\"Archived task\",COMPLETED," + completedAt.minusDays(1));
+    }
+}
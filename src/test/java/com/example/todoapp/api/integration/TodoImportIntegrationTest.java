@@ -0,0 +1,139 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.DailyTodoStatsRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.ImportResult;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.service.TodoVersionStamp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the bulk import.
+ *
+ * Uses a small chunk size so that uploads span several transactions.
+ */
+@SpringBootTest(properties = "todo.import.chunk-size=4")
+@ActiveProfiles("junit")
+class TodoImportIntegrationTest {
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DailyTodoStatsRepository statsRepository;
+
+    @Autowired
+    private TodoVersionStamp versionStamp;
+
+    /**
+     * Starts every test from an empty table and rollup.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        statsRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that a JSON array spanning several chunks is fully imported with defaults applied.
+     */
+    @Test
+    void shouldImportJsonArray() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":999,\"name\":\"Task ").append(i).append("\"}");
+        }
+        json.append(']');
+
+        ImportResult result = todoImportService.importTodos(TodoImportService.Format.JSON, stream(json.toString()));
+
+        assertThat(result.getImported()).isEqualTo(10);
+        List<Todo> todos = todoRepository.findAll();
+        assertThat(todos).hasSize(10)
+                .allMatch(todo -> todo.getStatus() == Todo.Status.PENDING && todo.getCreatedAt() != null);
+        assertThat(todos).extracting(Todo::getId).doesNotHaveDuplicates();
+        assertThat(statsRepository.findById(LocalDate.now()))
+                .hasValueSatisfying(day -> assertThat(day.getCreatedCount()).isEqualTo(10));
+    }
+
+    /**
+     * Verifies that CSV with quoted fields and timestamps is imported and counted in the rollup.
+     */
+    @Test
+    void shouldImportCsv() throws Exception {
+        String csv = "id,name,status,createdAt,completedAt\n"
+                + "1,\"Buy milk, eggs\",PENDING,2024-02-01T08:00,\n"
+                + "2,\"Say \"\"hi\"\"\",COMPLETED,2024-02-01T09:00,2024-02-02T10:00\n"
+                + "\n"
+                + "3,Plain,,,\n";
+
+        ImportResult result = todoImportService.importTodos(TodoImportService.Format.CSV, stream(csv));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(todoRepository.findAll()).extracting(Todo::getName)
+                .containsExactlyInAnyOrder("Buy milk, eggs", "Say \"hi\"", "Plain");
+        assertThat(todoRepository.countByCompletedAtBetween(
+                LocalDateTime.of(2024, 2, 2, 0, 0), LocalDateTime.of(2024, 2, 3, 0, 0))).isEqualTo(1);
+        assertThat(statsRepository.findById(LocalDate.of(2024, 2, 1)))
+                .hasValueSatisfying(day -> assertThat(day.getCreatedCount()).isEqualTo(2));
+    }
+
+    /**
+     * Verifies that an invalid row is reported as an IllegalArgumentException.
+     */
+    @Test
+    void shouldRejectRowWithoutName() {
+        assertThatThrownBy(() -> todoImportService.importTodos(TodoImportService.Format.JSON, stream("[{\"status\":\"PENDING\"}]")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Verifies that chunks committed before a bad row stay imported and still advance the
+     * version stamp, so cached pages do not keep hiding them.
+     */
+    @Test
+    void failedImportShouldAnnounceCommittedChunks() {
+        String stamp = versionStamp.current();
+        String csv = "name,createdAt\n" + "A,\nB,\nC,\nD,\nE,\nF,not-a-date\n";
+
+        assertThatThrownBy(() -> todoImportService.importTodos(TodoImportService.Format.CSV, stream(csv)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(todoRepository.findAll()).extracting(Todo::getName).containsExactlyInAnyOrder("A", "B", "C", "D");
+        assertThat(versionStamp.current()).isNotEqualTo(stamp);
+    }
+
+    /**
+     * Verifies that malformed JSON, at the start of the upload or after valid rows, is
+     * reported as an IllegalArgumentException rather than an internal error.
+     */
+    @Test
+    void shouldRejectMalformedJson() {
+        for (String body : List.of("{\"name\": ", "[{\"name\":\"A\"}, {\"name\" \"B\"}]", "{\"name\":\"A\"}\n{oops}")) {
+            assertThatThrownBy(() -> todoImportService.importTodos(TodoImportService.Format.JSON, stream(body)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the live updates.
+ *
+ * Opens the event stream and checks that committed creates, toggles and deletes arrive
+ * on it as single rows rendered from the index template, and that the page script is
+ * served with the list.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("junit")
+class TodoLiveUpdatesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    /**
+     * Verifies that every kind of change is pushed to an open stream after it commits.
+     */
+    @Test
+    void shouldPushCommittedChangesToOpenStreams() throws Exception {
+        MockHttpServletResponse stream = mockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        Todo created = todoService.createTodo("Water the plants");
+        String row = "id=\"todo-" + created.getId() + "\"";
+        awaitContent(stream, body -> body.contains("event:created") && body.contains(row)
+                && body.contains("Water the plants"));
+
+        todoService.toggleStatus(created.getId());
+        awaitContent(stream, body -> body.contains("event:updated") && body.contains("completed-bg"));
+
+        todoService.deleteTodo(created.getId());
+        awaitContent(stream, body -> body.contains("event:deleted\ndata:" + created.getId()));
+
+        assertThat(stream.getContentType()).startsWith("text/event-stream");
+    }
+
+    /**
+     * Verifies that the list page includes the live update script and the scripted add
+     * answers with a single row.
+     */
+    @Test
+    void shouldServeScriptAndRowFragments() throws Exception {
+        String page = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(page).contains("new EventSource('/events')").contains("data-prepend=\"true\"");
+
+        String row = mockMvc.perform(post("/add").param("name", "Fragment task").header("X-Todo-Fragment", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(row.strip()).startsWith("<li").endsWith("</li>").contains("Fragment task");
+    }
+
+    /**
+     * Waits up to five seconds for the stream body to satisfy the condition.
+     */
+    private static void awaitContent(MockHttpServletResponse stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.test(stream.getContentAsString()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(stream.getContentAsString()).matches(condition);
+    }
+}
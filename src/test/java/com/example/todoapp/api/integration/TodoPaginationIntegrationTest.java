@@ -0,0 +1,142 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoPage;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for keyset pagination of the to-do list.
+ *
+ * Walks the pages forwards and backwards against H2 and checks that every row
+ * is visited exactly once in the expected order.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("junit")
+class TodoPaginationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    /**
+     * Seeds seven items one minute apart; even-numbered ones are completed.
+     * Two items share a timestamp to exercise the ID tie-breaker.
+     */
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAll();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 7; i++) {
+            todoRepository.save(Todo.builder()
+                    .name("Task " + i)
+                    .createdAt(base.plusMinutes(Math.min(i, 5)))
+                    .status(i % 2 == 0 ? Todo.Status.COMPLETED : Todo.Status.PENDING)
+                    .build());
+        }
+    }
+
+    /**
+     * Verifies that paging forward through the newest-first list visits every row once
+     * and that the previous cursor leads back to the same pages.
+     */
+    @Test
+    void shouldPageForwardAndBackward() {
+        List<List<String>> pages = new ArrayList<>();
+        TodoPage page = todoService.getTodoPage(TodoSort.NEWEST, 3, null, null);
+        assertThat(page.getPrevCursor()).isNull();
+        pages.add(names(page));
+        while (page.getNextCursor() != null) {
+            page = todoService.getTodoPage(TodoSort.NEWEST, 3, page.getNextCursor(), null);
+            pages.add(names(page));
+        }
+
+        assertThat(pages).containsExactly(
+                List.of("Task 6", "Task 5", "Task 4"),
+                List.of("Task 3", "Task 2", "Task 1"),
+                List.of("Task 0"));
+
+        TodoPage back = todoService.getTodoPage(TodoSort.NEWEST, 3, null, page.getPrevCursor());
+        assertThat(names(back)).containsExactly("Task 3", "Task 2", "Task 1");
+        back = todoService.getTodoPage(TodoSort.NEWEST, 3, null, back.getPrevCursor());
+        assertThat(names(back)).containsExactly("Task 6", "Task 5", "Task 4");
+        assertThat(back.getPrevCursor()).isNull();
+        assertThat(back.getNextCursor()).isNotNull();
+    }
+
+    /**
+     * Verifies the oldest-first order.
+     */
+    @Test
+    void shouldSortOldestFirst() {
+        TodoPage page = todoService.getTodoPage(TodoSort.OLDEST, 4, null, null);
+        assertThat(names(page)).containsExactly("Task 0", "Task 1", "Task 2", "Task 3");
+        page = todoService.getTodoPage(TodoSort.OLDEST, 4, page.getNextCursor(), null);
+        assertThat(names(page)).containsExactly("Task 4", "Task 5", "Task 6");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    /**
+     * Verifies that pending items come first and that paging crosses the status boundary.
+     */
+    @Test
+    void shouldSortPendingFirst() {
+        TodoPage page = todoService.getTodoPage(TodoSort.PENDING_FIRST, 4, null, null);
+        assertThat(names(page)).containsExactly("Task 5", "Task 3", "Task 1", "Task 6");
+        page = todoService.getTodoPage(TodoSort.PENDING_FIRST, 4, page.getNextCursor(), null);
+        assertThat(names(page)).containsExactly("Task 4", "Task 2", "Task 0");
+    }
+
+    /**
+     * Verifies that malformed cursors are rejected as invalid arguments, whichever key
+     * fails to parse.
+     */
+    @Test
+    void shouldRejectMalformedCursors() {
+        for (String cursor : List.of("PENDING~garbage~1", "PENDING~2024-01-01T09:00~x", "BOGUS~2024-01-01T09:00~1", "1~2")) {
+            assertThatThrownBy(() -> todoService.getTodoPage(TodoSort.PENDING_FIRST, 3, cursor, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    /**
+     * Verifies that the list page falls back to the first page for a cursor with a
+     * malformed date instead of failing.
+     */
+    @Test
+    void indexShouldFallBackToFirstPageForMalformedDate() throws Exception {
+        mockMvc.perform(get("/").param("size", "3").param("after", "PENDING~garbage~1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("todos", hasSize(3)));
+    }
+
+    private static List<String> names(TodoPage page) {
+        return page.getTodos().stream().map(TodoSummary::getName).toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the read cache.
+ *
+ * Checks that repeated reads are served from the cache and that mutations
+ * through the service invalidate exactly the affected entries.
+ */
+@SpringBootTest(properties = "todo.cache.enabled=true")
+@ActiveProfiles("junit")
+class TodoReadCacheIntegrationTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Starts every test from an empty table and a clean cache.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+        todoService.createTodo("Seed");
+    }
+
+    /**
+     * Verifies that a repeated page read is a hit and that creating and toggling
+     * items are visible on the next read.
+     */
+    @Test
+    void pagesShouldBeCachedAndInvalidated() {
+        double hitsBefore = hits("todoPages");
+        todoService.getTodoPage(TodoSort.NEWEST, 10, null, null);
+        todoService.getTodoPage(TodoSort.NEWEST, 10, null, null);
+        assertThat(hits("todoPages")).isEqualTo(hitsBefore + 1);
+
+        Todo added = todoService.createTodo("Added");
+        assertThat(todoService.getTodoPage(TodoSort.NEWEST, 10, null, null).getTodos())
+                .extracting(TodoSummary::getName).containsExactly("Added", "Seed");
+
+        todoService.toggleStatus(added.getId());
+        assertThat(todoService.getTodoPage(TodoSort.NEWEST, 10, null, null).getTodos().get(0).getStatus())
+                .isEqualTo(Todo.Status.COMPLETED);
+    }
+
+    /**
+     * Verifies that only counts whose range contains the changed timestamp are invalidated.
+     */
+    @Test
+    void countsShouldBeInvalidatedByRange() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime past = now.minusYears(1);
+        long current = todoService.countCreatedInRange(now.minusHours(1), now.plusHours(1));
+        todoService.countCreatedInRange(past, past.plusDays(1));
+
+        todoService.createTodo("Counted");
+        double hitsBefore = hits("todoCounts");
+
+        assertThat(todoService.countCreatedInRange(now.minusHours(1), now.plusHours(1))).isEqualTo(current + 1);
+        assertThat(todoService.countCreatedInRange(past, past.plusDays(1))).isZero();
+        assertThat(hits("todoCounts")).isEqualTo(hitsBefore + 1);
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoSummary;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.service.TodoSearchIndex;
+import com.example.todoapp.service.TodoSearchResult;
+import com.example.todoapp.service.TodoSearchService;
+import com.example.todoapp.service.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the name search.
+ *
+ * Verifies that the index is built from existing rows and follows creates, imports
+ * and deletes, that results are paged in rank order, and that the database fallback
+ * answers while the index is unavailable.
+ */
+@SpringBootTest
+@ActiveProfiles("junit")
+class TodoSearchIntegrationTest {
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private TodoSearchIndex searchIndex;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    /**
+     * Seeds rows directly in the table and rebuilds the index from it.
+     */
+    @BeforeEach
+    void seed() {
+        todoRepository.deleteAll();
+        for (int i = 1; i <= 5; i++) {
+            todoRepository.save(Todo.builder().name("Quarterly report part " + i)
+                    .status(Todo.Status.PENDING).createdAt(LocalDateTime.now()).build());
+        }
+        todoSearchService.buildIndex();
+    }
+
+    /**
+     * Verifies that rebuilt rows are found and paged, with the rank order kept across pages.
+     */
+    @Test
+    void shouldPageThroughIndexedMatches() {
+        todoService.createTodo("Quarterly");
+
+        TodoSearchResult first = todoSearchService.search("quarterly", 0, 4);
+        assertThat(first.getTotal()).isEqualTo(6);
+        assertThat(first.getTodos()).extracting(TodoSummary::getName)
+                .containsExactly("Quarterly", "Quarterly report part 5", "Quarterly report part 4",
+                        "Quarterly report part 3");
+        assertThat(first.hasNext()).isTrue();
+
+        TodoSearchResult second = todoSearchService.search("quarterly", 1, 4);
+        assertThat(second.getTodos()).extracting(TodoSummary::getName)
+                .containsExactly("Quarterly report part 2", "Quarterly report part 1");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    /**
+     * Verifies that committed creates, imports and deletes are reflected in the results.
+     */
+    @Test
+    void shouldFollowMutations() throws Exception {
+        Todo created = todoService.createTodo("Renew passport");
+        todoImportService.importTodos(TodoImportService.Format.CSV, new ByteArrayInputStream(
+                "name\nPassport photos\n".getBytes(StandardCharsets.UTF_8)));
+        assertThat(todoSearchService.search("passp", 0, 10).getTodos()).extracting(TodoSummary::getName)
+                .containsExactly("Passport photos", "Renew passport");
+
+        todoService.deleteTodo(created.getId());
+        assertThat(todoSearchService.search("passp", 0, 10).getTodos()).extracting(TodoSummary::getName)
+                .containsExactly("Passport photos");
+    }
+
+    /**
+     * Verifies that searches are answered from the database while the index is being built.
+     */
+    @Test
+    void shouldFallBackToDatabaseWhileBuilding() {
+        searchIndex.beginBuild();
+        try {
+            TodoSearchResult result = todoSearchService.search("REPORT PART", 0, 2);
+            assertThat(result.getTotal()).isEqualTo(5);
+            assertThat(result.getTodos()).extracting(TodoSummary::getName)
+                    .containsExactly("Quarterly report part 5", "Quarterly report part 4");
+        } finally {
+            todoSearchService.buildIndex();
+        }
+    }
+}
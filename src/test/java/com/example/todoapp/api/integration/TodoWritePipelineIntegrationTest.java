@@ -0,0 +1,119 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoWritePipeline;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the group-commit write pipeline.
+ *
+ * A long linger time makes concurrent submissions land in the same batch.
+ */
+@SpringBootTest(properties = {
+        "todo.write-pipeline.enabled=true",
+        "todo.write-pipeline.max-linger-ms=200",
+        "todo.write-pipeline.max-batch-size=50"
+})
+@ActiveProfiles("junit")
+class TodoWritePipelineIntegrationTest {
+
+    private static final int THREADS = 20;
+
+    @Autowired
+    private TodoWritePipeline writePipeline;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Starts every test from an empty table.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that concurrent creates are all acknowledged after commit and share batches.
+     */
+    @Test
+    void concurrentCreatesShouldBeCommittedInBatches() throws Exception {
+        List<Todo> created = runConcurrently(i -> writePipeline.createTodo("Batched " + i));
+
+        assertThat(created).allMatch(todo -> todo.getId() != null);
+        assertThat(todoRepository.count()).isEqualTo(THREADS);
+        DistributionSummary batchSizes = meterRegistry.get("todo.write.batch.size").summary();
+        assertThat(batchSizes.max()).isGreaterThan(1);
+        assertThat(meterRegistry.get("todo.write.queue.depth").gauge().value()).isZero();
+    }
+
+    /**
+     * Verifies that an even number of toggles on one item leaves it unchanged,
+     * and that a delete in the same burst wins over toggles.
+     */
+    @Test
+    void redundantMutationsShouldCollapse() throws Exception {
+        Todo toggled = todoService.createTodo("Toggled");
+        Todo deleted = todoService.createTodo("Deleted");
+
+        runConcurrently(i -> {
+            if (i < 4) writePipeline.toggleStatus(toggled.getId());
+            else if (i < 8) writePipeline.toggleStatus(deleted.getId());
+            else writePipeline.deleteTodo(deleted.getId());
+            return null;
+        });
+
+        assertThat(todoRepository.findById(toggled.getId()).orElseThrow().getStatus())
+                .isEqualTo(Todo.Status.PENDING);
+        assertThat(todoRepository.findById(deleted.getId())).isEmpty();
+        assertThat(meterRegistry.get("todo.write.coalesced").counter().count()).isPositive();
+    }
+
+    private <T> List<T> runConcurrently(Task<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.run(index);
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Task<T> {
+        T run(int index);
+    }
+}
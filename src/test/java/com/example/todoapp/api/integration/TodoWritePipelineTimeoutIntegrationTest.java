@@ -0,0 +1,104 @@
+package com.example.todoapp.api.integration;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.service.TodoWritePipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for ack timeouts of the write pipeline.
+ *
+ * Blocks the writer on a row lock held by the test, so that one mutation is stuck in its
+ * transaction and the next one is stuck in the queue when their callers time out.
+ */
+@SpringBootTest(properties = {
+        "todo.write-pipeline.enabled=true",
+        "todo.write-pipeline.max-linger-ms=1",
+        "todo.write-pipeline.ack-timeout-ms=150"
+})
+@ActiveProfiles("junit")
+class TodoWritePipelineTimeoutIntegrationTest {
+
+    /**
+     * How long the test holds the row lock; below H2's one-second lock timeout.
+     */
+    private static final long LOCK_HOLD_MILLIS = 500;
+
+    @Autowired
+    private TodoWritePipeline writePipeline;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Starts every test from an empty table.
+     */
+    @BeforeEach
+    void clean() {
+        todoRepository.deleteAll();
+    }
+
+    /**
+     * Verifies that a timed-out mutation still queued is rejected and never applied,
+     * while one the writer had already taken is awaited past the timeout and applied once.
+     */
+    @Test
+    void timedOutMutationShouldOnlyBeRejectedIfNotYetTaken() throws Exception {
+        Todo locked = todoService.createTodo("Locked");
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CompletableFuture<Void> lockHolder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("select id from todo where id = ? for update", locked.getId());
+                    lockHeld.countDown();
+                    sleep(LOCK_HOLD_MILLIS);
+                }));
+        assertThat(lockHeld.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> toggle = CompletableFuture.runAsync(() -> writePipeline.toggleStatus(locked.getId()));
+        sleep(50);
+        assertThatThrownBy(() -> writePipeline.createTodo("Queued behind the lock"))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        toggle.get(5, TimeUnit.SECONDS);
+        lockHolder.get(5, TimeUnit.SECONDS);
+        assertThat(todoRepository.findById(locked.getId()).orElseThrow().getStatus())
+                .isEqualTo(Todo.Status.COMPLETED);
+
+        writePipeline.createTodo("After the lock");
+        assertThat(todoRepository.findAll()).extracting(Todo::getName)
+                .containsExactlyInAnyOrder("Locked", "After the lock");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
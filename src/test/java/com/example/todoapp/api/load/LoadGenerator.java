@@ -0,0 +1,157 @@
+package com.example.todoapp.api.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running application over HTTP with a weighted mix of TodoController requests.
+ *
+ * In closed-loop mode a fixed number of clients each send one request at a time, so
+ * the offered load drops when the server slows down. In open-loop mode requests are
+ * started at a fixed rate regardless of how long earlier ones take, and latency is
+ * measured from each request's scheduled start, so queueing delay is not hidden
+ * (no coordinated omission). Requests started during the warmup are not recorded.
+ *
+ * Toggles and deletes target IDs from a pool of existing items; a delete removes its ID
+ * from the pool, and when the pool is empty such operations are sent as adds instead.
+ */
+final class LoadGenerator {
+
+    private final URI base;
+    private final LoadSettings settings;
+    private final List<Long> ids;
+    private final HttpClient client;
+    private final LoadReport report = new LoadReport();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param base the base URI of the running application
+     * @param settings the run configuration
+     * @param ids IDs of existing items for toggles and deletes
+     */
+    LoadGenerator(URI base, LoadSettings settings, List<Long> ids) {
+        this.base = base;
+        this.settings = settings;
+        this.ids = new ArrayList<>(ids);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Runs the warmup and the measured period, then waits for outstanding requests.
+     *
+     * @return the measurements of the measured period
+     * @throws InterruptedException if interrupted while running
+     */
+    LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long stopAt = measureFrom + settings.duration().toNanos();
+        if (settings.openLoop()) {
+            runOpenLoop(start, measureFrom, stopAt);
+        } else {
+            runClosedLoop(measureFrom, stopAt);
+        }
+        return report;
+    }
+
+    private void runClosedLoop(long measureFrom, long stopAt) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < stopAt) {
+                    LoadOperation operation = settings.nextOperation();
+                    HttpRequest request = request(operation);
+                    if (request == null) {
+                        operation = LoadOperation.ADD;
+                        request = request(operation);
+                    }
+                    long started = System.nanoTime();
+                    boolean ok = send(request);
+                    if (started >= measureFrom) report.record(operation, System.nanoTime() - started, ok);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(settings.warmup().plus(settings.duration()).toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void runOpenLoop(long start, long measureFrom, long stopAt) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= stopAt) break;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            LoadOperation next = settings.nextOperation();
+            HttpRequest request = request(next);
+            if (request == null) {
+                next = LoadOperation.ADD;
+                request = request(next);
+            }
+            LoadOperation operation = next;
+            boolean measured = intended >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) report.drop(operation);
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.release();
+                if (measured) {
+                    report.record(operation, System.nanoTime() - intended, error == null && response.statusCode() < 400);
+                }
+            });
+        }
+        inFlight.tryAcquire(settings.maxInFlight(), 60, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Builds the request for an operation, or returns null if it needs an ID and none is left.
+     */
+    private HttpRequest request(LoadOperation operation) {
+        long id = 0;
+        if (operation.needsId()) {
+            Long picked = pickId(operation == LoadOperation.DELETE);
+            if (picked == null) return null;
+            id = picked;
+        }
+        return operation.request(base, id, sequence.incrementAndGet());
+    }
+
+    private synchronized Long pickId(boolean remove) {
+        if (ids.isEmpty()) return null;
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        if (!remove) return ids.get(index);
+        Long last = ids.remove(ids.size() - 1);
+        return index == ids.size() ? last : ids.set(index, last);
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
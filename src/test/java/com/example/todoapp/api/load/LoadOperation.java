@@ -0,0 +1,67 @@
+package com.example.todoapp.api.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Locale;
+
+/**
+ * The TodoController endpoints driven by the load generator.
+ */
+enum LoadOperation {
+
+    INDEX("GET /"),
+    ADD("POST /add"),
+    TOGGLE("POST /toggle/{id}"),
+    DELETE("POST /delete/{id}"),
+    ANALYTICS("GET /analytics");
+
+    /**
+     * Label used in the report.
+     */
+    private final String label;
+
+    LoadOperation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    /**
+     * Whether the operation needs the ID of an existing item.
+     */
+    boolean needsId() {
+        return this == TOGGLE || this == DELETE;
+    }
+
+    /**
+     * Builds the request for this operation.
+     *
+     * @param base the base URI of the running application
+     * @param id the target item for toggle and delete, ignored otherwise
+     * @param sequence a number making added item names unique
+     * @return the request
+     */
+    HttpRequest request(URI base, long id, long sequence) {
+        return switch (this) {
+            case INDEX -> HttpRequest.newBuilder(base.resolve("/")).GET().build();
+            case ADD -> HttpRequest.newBuilder(base.resolve("/add"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("name=Load+task+" + sequence))
+                    .build();
+            case TOGGLE -> HttpRequest.newBuilder(base.resolve("/toggle/" + id))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            case DELETE -> HttpRequest.newBuilder(base.resolve("/delete/" + id))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            case ANALYTICS -> HttpRequest.newBuilder(base.resolve("/analytics")).GET().build();
+        };
+    }
+
+    /**
+     * Parses an operation name such as "toggle".
+     */
+    static LoadOperation fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.todoapp.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms, error and drop counts per endpoint for one load run.
+ *
+ * Latencies are recorded in microseconds in HdrHistograms with three significant digits.
+ * {@link #write} stores a summary with throughput and p50/p99/p99.9 per endpoint next to
+ * one ".hgrm" percentile distribution per endpoint, which the HdrHistogram plotter can
+ * overlay to compare runs.
+ */
+final class LoadReport {
+
+    /**
+     * Highest latency that can be recorded: one minute.
+     */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> dropped = new EnumMap<>(LoadOperation.class);
+
+    LoadReport() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param operation the endpoint
+     * @param latencyNanos the time from the intended start to the response
+     * @param ok false if the request failed or returned an error status
+     */
+    void record(LoadOperation operation, long latencyNanos, boolean ok) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS);
+        latencies.get(operation).recordValue(micros);
+        if (!ok) errors.get(operation).increment();
+    }
+
+    /**
+     * Records an open-loop request that was not sent because too many were outstanding.
+     *
+     * @param operation the endpoint
+     */
+    void drop(LoadOperation operation) {
+        dropped.get(operation).increment();
+    }
+
+    long totalCount() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Formats one line per endpoint with count, throughput, errors, drops and latency percentiles.
+     *
+     * @param settings the settings of the run
+     * @return the summary table
+     */
+    String summary(LoadSettings settings) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "run=%s mode=%s duration=%ss %s mix=%s%n",
+                settings.label(), settings.mode(), settings.duration().toSeconds(),
+                settings.openLoop() ? "rate=" + settings.rate() + "/s" : "concurrency=" + settings.concurrency(),
+                settings.mix()));
+        out.append(String.format(Locale.ROOT, "%-20s %8s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0 && dropped.get(operation).sum() == 0) continue;
+            total.add(histogram);
+            line(out, operation.label(), histogram, errors.get(operation).sum(), dropped.get(operation).sum(), seconds);
+        }
+        line(out, "total", total, totalErrors(), dropped.values().stream().mapToLong(LongAdder::sum).sum(), seconds);
+        return out.toString();
+    }
+
+    /**
+     * Writes the summary and the per-endpoint percentile distributions to a new run directory.
+     *
+     * @param reportRoot the directory holding all runs
+     * @param settings the settings of the run
+     * @return the run directory
+     * @throws IOException if writing fails
+     */
+    Path write(Path reportRoot, LoadSettings settings) throws IOException {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path dir = Files.createDirectories(reportRoot.resolve(settings.label() + "-" + settings.mode() + "-" + timestamp));
+        Files.writeString(dir.resolve("summary.txt"), summary(settings));
+        for (LoadOperation operation : LoadOperation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) continue;
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(dir.resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return dir;
+    }
+
+    private static void line(StringBuilder out, String label, Histogram histogram,
+                             long errors, long dropped, double seconds) {
+        out.append(String.format(Locale.ROOT, "%-20s %8d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, dropped,
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
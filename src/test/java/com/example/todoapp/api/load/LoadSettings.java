@@ -0,0 +1,85 @@
+package com.example.todoapp.api.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Configuration of a load run, read from "load.*" system properties.
+ *
+ * @param mode        "closed" (fixed number of clients, each waiting for its response)
+ *                    or "open" (fixed arrival rate, independent of response times)
+ * @param duration    measured run time
+ * @param warmup      run time before measuring starts
+ * @param concurrency number of clients in closed-loop mode
+ * @param rate        requests per second in open-loop mode
+ * @param maxInFlight open-loop requests allowed to be outstanding; more are counted as dropped
+ * @param seedRows    items created before the run for toggles and deletes to target
+ * @param mix         relative weight of each operation
+ * @param label       name of the run, used in the report file name
+ */
+record LoadSettings(String mode, Duration duration, Duration warmup, int concurrency, int rate,
+                    int maxInFlight, int seedRows, Map<LoadOperation, Integer> mix, String label) {
+
+    /**
+     * Default operation mix: mostly reads, with toggles as the most common write.
+     */
+    static final String DEFAULT_MIX = "index=50,add=10,toggle=25,delete=5,analytics=10";
+
+    /**
+     * Reads the settings, with defaults sized for a short smoke run.
+     *
+     * @return the settings
+     */
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                System.getProperty("load.mode", "closed"),
+                Duration.ofSeconds(Long.getLong("load.duration", 2)),
+                Duration.ofSeconds(Long.getLong("load.warmup", 1)),
+                Integer.getInteger("load.concurrency", 4),
+                Integer.getInteger("load.rate", 100),
+                Integer.getInteger("load.max-in-flight", 1000),
+                Integer.getInteger("load.seed", 1000),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                System.getProperty("load.label", "run"));
+    }
+
+    boolean openLoop() {
+        return "open".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Picks a random operation according to the mix weights.
+     *
+     * @return the operation
+     */
+    LoadOperation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    /**
+     * Parses a mix such as "index=50,toggle=50".
+     *
+     * @param value the comma-separated operation weights
+     * @return the weights by operation
+     * @throws IllegalArgumentException if the mix is malformed or has no positive weight
+     */
+    static Map<LoadOperation, Integer> parseMix(String value) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) throw new IllegalArgumentException("Invalid mix entry: " + part);
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) mix.put(LoadOperation.fromName(pair[0]), weight);
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("The mix needs at least one positive weight");
+        return mix;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.todoapp.api.load;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load-test harness: boots the application on H2 on a random port and drives it
+ * with the LoadGenerator.
+ *
+ * Skipped unless "load.mode" is set, so the default test run does not boot a server
+ * and write reports. {@code -Dload.mode=closed} alone makes a two-second closed-loop
+ * smoke run. Real runs are configured with further "load.*" system properties, for example:
+ * <pre>
+ * mvn test -Dtest=TodoLoadTest -Dload.mode=open -Dload.rate=500 -Dload.duration=60 \
+ *     -Dload.warmup=10 -Dload.label=before
+ * </pre>
+ * Other properties: load.concurrency, load.max-in-flight, load.seed and
+ * load.mix (e.g. "index=50,add=10,toggle=25,delete=5,analytics=10").
+ * Each run writes summary.txt and one .hgrm file per endpoint to
+ * target/load-reports/&lt;label&gt;-&lt;mode&gt;-&lt;timestamp&gt;.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("junit")
+@EnabledIfSystemProperty(named = "load.mode", matches = "open|closed")
+class TodoLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    /**
+     * Seeds the table, runs the configured load and writes the report.
+     */
+    @Test
+    void runLoad() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        todoRepository.deleteAll();
+        List<Long> ids = todoRepository.saveAll(IntStream.range(0, settings.seedRows())
+                        .mapToObj(i -> Todo.builder().name("Seed " + i).status(Todo.Status.PENDING).build())
+                        .toList())
+                .stream().map(Todo::getId).toList();
+
+        LoadReport report = new LoadGenerator(URI.create("http://localhost:" + port), settings, ids).run();
+        Path dir = report.write(Path.of("target", "load-reports"), settings);
+        log.info("Load test summary:\n{}", report.summary(settings));
+        log.info("Load report written to {}", dir.toAbsolutePath());
+
+        assertThat(report.totalCount()).isPositive();
+        assertThat(report.totalErrors()).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.todoapp.api.service;
+
+import com.example.todoapp.service.LatencySketch;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the LatencySketch class.
+ *
+ * Verifies the accuracy of the quantiles, removal, merging and the compact encoding.
+ */
+class LatencySketchTest {
+
+    /**
+     * Verifies that quantiles stay within 1% of the exact values and the mean is exact
+     * for latencies spread from seconds to months.
+     */
+    @Test
+    void quantilesShouldStayWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        long[] latencies = new long[10_000];
+        LatencySketch sketch = new LatencySketch();
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (long) Math.exp(random.nextDouble() * Math.log(90 * 86400));
+            sketch.add(latencies[i], 1);
+        }
+        Arrays.sort(latencies);
+
+        for (double q : new double[]{0, 0.5, 0.9, 0.99, 1}) {
+            long exact = latencies[(int) (q * (latencies.length - 1))];
+            assertThat(sketch.quantile(q).toMillis() / 1000.0).isCloseTo(exact, within(exact * 0.01 + 0.01));
+        }
+        assertThat(sketch.max().toMillis() / 1000.0).isCloseTo(latencies[latencies.length - 1],
+                within(latencies[latencies.length - 1] * 0.01));
+        assertThat(sketch.mean().toMillis())
+                .isEqualTo(Math.round(Arrays.stream(latencies).sum() * 1000.0 / latencies.length));
+    }
+
+    /**
+     * Verifies that removing latencies restores the earlier distribution and that an empty
+     * sketch has no quantiles.
+     */
+    @Test
+    void removeShouldUndoAdd() {
+        LocalDateTime created = LocalDateTime.of(2024, 3, 10, 9, 0);
+        LatencySketch sketch = new LatencySketch().add(created, created.plusMinutes(5));
+        sketch.add(created, created.plusDays(3)).remove(created, created.plusDays(3));
+
+        assertThat(sketch.getCount()).isEqualTo(1);
+        assertThat(sketch.max()).isEqualTo(sketch.quantile(0.5));
+        assertThat(sketch.mean()).isEqualTo(Duration.ofMinutes(5));
+
+        sketch.remove(created, created.plusMinutes(5));
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isNull();
+        assertThat(sketch.mean()).isNull();
+    }
+
+    /**
+     * Verifies that merging per-day sketches gives the same sketch as adding every latency to one.
+     */
+    @Test
+    void mergeShouldMatchSingleSketch() {
+        LatencySketch all = new LatencySketch();
+        LatencySketch merged = new LatencySketch();
+        for (int day = 0; day < 30; day++) {
+            LatencySketch daily = new LatencySketch();
+            for (long seconds = 0; seconds < 5000; seconds += 37 + day) {
+                daily.add(seconds, 1);
+                all.add(seconds, 1);
+            }
+            merged.merge(LatencySketch.fromBytes(daily.toBytes()));
+        }
+
+        assertThat(merged.toBytes()).isEqualTo(all.toBytes());
+        assertThat(merged.quantile(0.9)).isEqualTo(all.quantile(0.9));
+    }
+
+    /**
+     * Verifies that a day's sketch round-trips through its encoding in a few bytes per bucket,
+     * and that foreign bytes are rejected.
+     */
+    @Test
+    void encodingShouldRoundTripCompactly() {
+        LatencySketch sketch = new LatencySketch().add(0, 3).add(45, 2).add(3600, 1).add(86400 * 7, 4);
+        byte[] bytes = sketch.toBytes();
+        LatencySketch decoded = LatencySketch.fromBytes(bytes);
+
+        assertThat(bytes.length).isLessThan(24);
+        assertThat(decoded.getCount()).isEqualTo(10);
+        assertThat(decoded.toBytes()).isEqualTo(bytes);
+        assertThat(decoded.quantile(0.99)).isEqualTo(sketch.quantile(0.99));
+        assertThat(LatencySketch.fromBytes(null).isEmpty()).isTrue();
+        assertThatThrownBy(() -> LatencySketch.fromBytes(new byte[]{9, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todoapp.api.service;
+
+import com.example.todoapp.service.TodoSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the TodoSearchIndex class.
+ *
+ * Verifies prefix and substring matching, ranking, incremental updates and the memory budget.
+ */
+class TodoSearchIndexTest {
+
+    private TodoSearchIndex index;
+
+    /**
+     * Builds an index over a handful of names.
+     */
+    @BeforeEach
+    void setup() {
+        index = new TodoSearchIndex(true, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        index.beginBuild();
+        index.addBuilt(1L, "Buy milk");
+        index.addBuilt(2L, "Call the plumber");
+        index.addBuilt(3L, "Milk the cows");
+        index.addBuilt(4L, "Buttermilk pancakes");
+        index.addBuilt(5L, "milk");
+        index.finishBuild();
+    }
+
+    /**
+     * Verifies that matches are ranked exact name, name prefix, word prefix, then substring.
+     */
+    @Test
+    void shouldRankExactThenPrefixThenWordThenSubstring() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids("MILK")).containsExactly(5L, 3L, 1L, 4L);
+    }
+
+    /**
+     * Verifies that one- and two-character terms only match the start of a word.
+     */
+    @Test
+    void shortTermsShouldMatchWordPrefixes() {
+        assertThat(ids("b")).containsExactly(1L, 4L);
+        assertThat(ids("pl")).containsExactly(2L);
+        assertThat(ids("il")).isEmpty();
+    }
+
+    /**
+     * Verifies that every term of a query must match.
+     */
+    @Test
+    void allTermsShouldMatch() {
+        assertThat(ids("milk bu")).containsExactly(1L, 4L);
+        assertThat(ids("milk plumb")).isEmpty();
+    }
+
+    /**
+     * Verifies that grams occurring in another order are not reported as a match.
+     */
+    @Test
+    void candidatesShouldBeVerified() {
+        index.add(6L, "abcd bcdx");
+        assertThat(ids("bcdx")).containsExactly(6L);
+        assertThat(ids("abcdx")).isEmpty();
+    }
+
+    /**
+     * Verifies that added and removed items are reflected immediately outside a transaction.
+     */
+    @Test
+    void shouldApplyIncrementalUpdates() {
+        index.add(7L, "Milkshake");
+        index.remove(5L);
+        assertThat(ids("milk")).containsExactly(7L, 3L, 1L, 4L);
+
+        index.remove(7L);
+        index.remove(3L);
+        assertThat(ids("milk")).containsExactly(1L, 4L);
+    }
+
+    /**
+     * Verifies that an item deleted during a rebuild is not added back by the rebuild.
+     */
+    @Test
+    void rebuildShouldNotResurrectDeletedItems() {
+        index.beginBuild();
+        index.remove(1L);
+        index.addBuilt(1L, "Buy milk");
+        index.addBuilt(3L, "Milk the cows");
+        index.finishBuild();
+        assertThat(ids("milk")).containsExactly(3L);
+    }
+
+    /**
+     * Verifies that the number of ranked matches is capped, keeping the newest ones.
+     */
+    @Test
+    void shouldTruncateAtMaxMatches() {
+        TodoSearchIndex.Matches matches = index.search("milk", 2);
+        assertThat(matches.truncated()).isTrue();
+        assertThat(matches.ids()).containsExactly(5L, 4L);
+    }
+
+    /**
+     * Verifies that the index stops serving searches once it outgrows its budget.
+     */
+    @Test
+    void shouldDisableItselfWhenOverBudget() {
+        TodoSearchIndex small = new TodoSearchIndex(true, DataSize.ofKilobytes(4), new SimpleMeterRegistry());
+        small.beginBuild();
+        for (long id = 1; id <= 100; id++) {
+            small.addBuilt(id, "Task number " + id);
+        }
+        small.finishBuild();
+        assertThat(small.isReady()).isFalse();
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 100).ids();
+    }
+}
@@ -1,11 +1,22 @@
 package com.example.todoapp.api.service;
 
 import com.example.todoapp.model.Todo;
+import com.example.todoapp.model.TodoState;
 import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.service.DailyStatsService;
+import com.example.todoapp.service.TodoChangeEvent;
+import com.example.todoapp.service.TodoChangeLog;
+import com.example.todoapp.service.TodoReadCache;
+import com.example.todoapp.service.TodoSearchIndex;
 import com.example.todoapp.service.TodoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -19,6 +30,11 @@ import static org.mockito.Mockito.*;
  */
 class TodoServiceTest {
 
+    /**
+     * Creation timestamp of the items returned by {@link #state}.
+     */
+    private static final LocalDateTime STATE_CREATED_AT = LocalDateTime.now().minusDays(2);
+
     /**
      * The service under test, with mock dependencies injected.
      */
@@ -31,6 +47,36 @@ class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
+    /**
+     * A mock of the DailyStatsService, used to verify rollup maintenance.
+     */
+    @Mock
+    private DailyStatsService dailyStatsService;
+
+    /**
+     * A disabled read cache, so that every read reaches the mocks.
+     */
+    @Spy
+    private TodoReadCache readCache = new TodoReadCache(false, Duration.ofSeconds(30), 10, 10, 10, 10, new SimpleMeterRegistry());
+
+    /**
+     * A real search index, so that creates and deletes can be checked against it.
+     */
+    @Spy
+    private TodoSearchIndex searchIndex = new TodoSearchIndex(true, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+    /**
+     * A mock change log, used to verify that every mutation is logged for the other instances.
+     */
+    @Mock
+    private TodoChangeLog changeLog;
+
+    /**
+     * A mock event publisher, used to verify the change events.
+     */
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Initializes Mockito annotations before each test.
      */
@@ -68,53 +114,94 @@ class TodoServiceTest {
 
         assertThat(result.getName()).isEqualTo(name);
         assertThat(result.getStatus()).isEqualTo(Todo.Status.PENDING);
+        verify(searchIndex).add(1L, name);
+        verify(changeLog).appendCreated(any(Todo.class));
+        verify(eventPublisher).publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.CREATED, 1L));
     }
 
     /**
-     * Verifies that deleteTodo() calls the repository's deleteById() method with the correct ID.
+     * Verifies that deleteTodo() deletes the loaded entity and removes it from the daily rollup.
      */
     @Test
     void deleteTodo_shouldDeleteById() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Todo todo = Todo.builder().id(1L).name("Task").createdAt(createdAt).status(Todo.Status.PENDING).build();
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+
         todoService.deleteTodo(1L);
-        verify(todoRepository, times(1)).deleteById(1L);
+
+        verify(todoRepository, times(1)).delete(todo);
+        verify(dailyStatsService).recordDeleted(createdAt, null);
+        verify(searchIndex).remove(1L);
+        verify(changeLog).appendDeleted(todo);
+        verify(eventPublisher).publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.DELETED, 1L));
     }
 
     /**
-     * Verifies that toggleStatus() changes a to-do from PENDING to COMPLETED and
-     * sets the completedAt timestamp.
+     * Verifies that createTodo() records the creation in the daily rollup.
      */
     @Test
-    void toggleStatus_shouldSwitchStatusToCompleted() {
-        Todo todo = Todo.builder()
-                .id(1L)
-                .name("Task")
-                .status(Todo.Status.PENDING)
-                .build();
+    void createTodo_shouldRecordCreatedInRollup() {
+        when(todoRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        Todo result = todoService.createTodo("Task");
+
+        verify(dailyStatsService).recordCreated(result.getCreatedAt());
+    }
 
-        todoService.toggleStatus(1L);
+    /**
+     * Verifies that toggleStatus() changes a to-do from PENDING to COMPLETED with a
+     * version-guarded update and records the completion in the rollup.
+     */
+    @Test
+    void toggleStatus_shouldSwitchStatusToCompleted() {
+        when(todoRepository.findStateById(1L)).thenReturn(Optional.of(state(Todo.Status.PENDING, null, 3)));
+        when(todoRepository.toggleStatus(eq(1L), eq(3L), any(), eq(Todo.Status.COMPLETED), eq(Todo.Status.PENDING)))
+                .thenReturn(1);
 
-        assertThat(todo.getStatus()).isEqualTo(Todo.Status.COMPLETED);
+        assertThat(todoService.toggleStatus(1L)).contains(Todo.Status.COMPLETED);
+        verify(dailyStatsService).recordCompleted(eq(STATE_CREATED_AT), any());
+        verify(eventPublisher).publishEvent(new TodoChangeEvent(TodoChangeEvent.Kind.UPDATED, 1L));
     }
 
     /**
      * Verifies that toggleStatus() changes a to-do from COMPLETED to PENDING
-     * and clears the completedAt timestamp.
+     * and removes the previous completion from the rollup.
      */
     @Test
     void toggleStatus_shouldSwitchStatusToPending() {
-        Todo todo = Todo.builder()
-                .id(1L)
-                .name("Task")
-                .status(Todo.Status.COMPLETED)
-                .build();
+        LocalDateTime completedAt = LocalDateTime.now().minusDays(1);
+        when(todoRepository.findStateById(1L)).thenReturn(Optional.of(state(Todo.Status.COMPLETED, completedAt, 0)));
+        when(todoRepository.toggleStatus(eq(1L), eq(0L), any(), any(), any())).thenReturn(1);
 
-        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        assertThat(todoService.toggleStatus(1L)).contains(Todo.Status.PENDING);
+        verify(dailyStatsService).recordReopened(STATE_CREATED_AT, completedAt);
+        verify(changeLog).appendToggled(1L, completedAt, null);
+    }
+
+    /**
+     * Verifies that toggleStatus() re-reads the state and retries when the version changed concurrently.
+     */
+    @Test
+    void toggleStatus_shouldRetryOnVersionConflict() {
+        when(todoRepository.findStateById(1L))
+                .thenReturn(Optional.of(state(Todo.Status.PENDING, null, 0)))
+                .thenReturn(Optional.of(state(Todo.Status.COMPLETED, LocalDateTime.now(), 1)));
+        when(todoRepository.toggleStatus(eq(1L), eq(0L), any(), any(), any())).thenReturn(0);
+        when(todoRepository.toggleStatus(eq(1L), eq(1L), any(), any(), any())).thenReturn(1);
+
+        assertThat(todoService.toggleStatus(1L)).contains(Todo.Status.PENDING);
+    }
 
-        todoService.toggleStatus(1L);
+    /**
+     * Verifies that toggleStatus() does nothing for an unknown ID.
+     */
+    @Test
+    void toggleStatus_shouldIgnoreMissingTodo() {
+        when(todoRepository.findStateById(1L)).thenReturn(Optional.empty());
 
-        assertThat(todo.getStatus()).isEqualTo(Todo.Status.PENDING);
+        assertThat(todoService.toggleStatus(1L)).isEmpty();
+        verify(todoRepository, never()).toggleStatus(any(), anyLong(), any(), any(), any());
     }
 
     /**
@@ -122,12 +209,11 @@ class TodoServiceTest {
      * in the specified time range.
      */
     @Test
-    void countCreatedInRange_shouldDelegateToRepo() {
+    void countCreatedInRange_shouldDelegateToRollup() {
         LocalDateTime start = LocalDateTime.now().minusDays(7);
         LocalDateTime end = LocalDateTime.now();
 
-        when(todoRepository.findByCreatedAtBetween(start, end))
-                .thenReturn(List.of(new Todo(), new Todo()));
+        when(dailyStatsService.countCreated(start, end)).thenReturn(2L);
 
         assertThat(todoService.countCreatedInRange(start, end)).isEqualTo(2);
     }
@@ -137,13 +223,39 @@ class TodoServiceTest {
      * completed in the specified time range.
      */
     @Test
-    void countCompletedInRange_shouldDelegateToRepo() {
+    void countCompletedInRange_shouldDelegateToRollup() {
         LocalDateTime start = LocalDateTime.now().minusDays(7);
         LocalDateTime end = LocalDateTime.now();
 
-        when(todoRepository.findByCompletedAtBetween(start, end))
-                .thenReturn(List.of(new Todo()));
+        when(dailyStatsService.countCompleted(start, end)).thenReturn(1L);
 
         assertThat(todoService.countCompletedInRange(start, end)).isEqualTo(1);
     }
+
+    /**
+     * Builds a TodoState projection for stubbing the repository.
+     */
+    private static TodoState state(Todo.Status status, LocalDateTime completedAt, long version) {
+        return new TodoState() {
+            @Override
+            public Todo.Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return STATE_CREATED_AT;
+            }
+
+            @Override
+            public LocalDateTime getCompletedAt() {
+                return completedAt;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
 }